@@ -12,6 +12,7 @@ import gui.GUIViewHintDecorator;
 import gui.ReversiGUIHexPanel;
 import gui.ReversiGUISquarePanel;
 import gui.ReversiGUIView;
+import model.board.ConcurrentReversiModel;
 import model.board.IModel;
 import model.board.ReadOnlyModel;
 import model.board.ReadOnlyReversiModel;
@@ -43,7 +44,8 @@ public class ReversiWithController {
     playerColors.add(DiscColor.BLACK);
     playerColors.add(DiscColor.WHITE);
 
-    IModel actionableModel = setUpModel(playerColors);
+    // both controllers and both views use the model at once.
+    IModel actionableModel = new ConcurrentReversiModel(setUpModel(playerColors));
     ReadOnlyModel model = new ReadOnlyReversiModel(actionableModel);
 
     List<Player> players = setUpPlayers(playerColors, model);
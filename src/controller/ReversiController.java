@@ -12,7 +12,6 @@ import model.board.IModel;
 import model.cell.DiscColor;
 import player.HumanPlayer;
 import player.Player;
-import ruleskeeper.ReversiRuleKeeper;
 import ruleskeeper.RuleKeeper;
 
 /**
@@ -57,7 +56,8 @@ public class ReversiController implements IController {
     this.model = model;
     this.model.addModelListener(this);
     this.player = player;
-    this.ruleKeeper = new ReversiRuleKeeper();
+    // the model's own rule keeper, so hints follow its variant and share its cache.
+    this.ruleKeeper = model.getRuleKeeper();
     this.view = view;
     this.view.addViewListener(this);
     this.view.setPlayer(player);
@@ -313,8 +313,8 @@ public class ReversiController implements IController {
         return -1;
       } else {
         if (this.ruleKeeper.isValid(this.model, selectedCell, this.player.getPlayerColor())) {
-          return this.model
-                  .getSandwichableNeighbors(selectedCell, this.player.getPlayerColor()).size() + 1;
+          return this.ruleKeeper
+                  .flipCount(this.model, selectedCell, this.player.getPlayerColor()) + 1;
         } else {
           return -1;
         }
@@ -1,29 +1,62 @@
 package model.board;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import controller.IController;
 import model.cell.DiscColor;
 import model.cell.ICell;
+import move.Move;
+import ruleskeeper.CachingRuleKeeper;
+import ruleskeeper.ReversiRuleKeeper;
 import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
 
 /**
  * Represents the board of the hex Reversi game.
  * A hex Reversi game is represented by a hexagonal board.
  */
-public abstract class AbstractReversiModel implements IModel {
+public abstract class AbstractReversiModel implements IModel, LegalityCheck {
+  private static final DiscColor[] COLORS = DiscColor.values();
 
   protected final RuleKeeper ruleKeeper;
+  // the variant of the rules of the ReversiRuleKeeper that this board generates moves by.
+  protected final RuleVariant variant;
   protected final int layers;
-  protected final HashMap<Coordinate, ICell> grid;
+  protected final CoordinateIndex index;
+  protected final BoardTables tables; // shared by every board of this shape and size.
+  private ICell[] grid; // views of this board's cells, by their index, made when first asked for.
+  // the color ordinal of each cell, packed two bits per cell and shared with copies of this board
+  // until either side changes it, unless a subclass stores colors itself.
+  private ChunkedColors colors;
+  private long discHash; // the Zobrist key of the discs on the board.
+  private int[] counts; // the number of cells of each color, by color ordinal.
+  // the legal moves of each color under the default rules, by color ordinal, null until asked for.
+  private BitSet[] legalMoves;
+  private BitSet changedCells; // cells recolored since the legal moves were last brought up to date.
+  private CellSet[] legalMoveViews;
+  private DiscFeatures features; // the frontier and stable discs of every color.
+  private long generation; // bumped whenever the position changes, so cached answers expire.
+  // the generation at which each color's mobility was last worked out, by color ordinal.
+  private long[] mobilityGenerations;
+  private boolean[] noMoves; // whether each color had no legal move at that generation.
   protected DiscColor whoseTurn;
-  protected final List<DiscColor> playerColors;
+  protected final List<DiscColor> playerColors; // in turn order, never rotated.
+  private int turn; // the index in playerColors of the player whose turn it is.
   protected Status gameState;
   protected boolean pass;
+  private int passes; // the number of passes in a row, the game ending when every player passed.
   protected final ICell cellType;
+  protected int ply; // the number of moves made on this model that can still be undone.
   protected List<IController> listenerList = new ArrayList<>();
 
   /**
@@ -37,7 +70,7 @@ public abstract class AbstractReversiModel implements IModel {
    * @throws IllegalArgumentException if the given rule keeper is null,
    *                                 or if the given cell is null,
    *                                 or if the given number of layers is less than 1.
-   *                                 or if the given list of colors is not at least of size 2,
+   *                                 or if the given list of colors is not of size 2,
    *                                 or if the given list of colors contains a NONE color,
    *                                 or if the given list of colors contains a null color,
    *                                 or if the given list of colors contains a duplicate color,
@@ -45,31 +78,79 @@ public abstract class AbstractReversiModel implements IModel {
    */
   protected AbstractReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
                             int layers, List<DiscColor> playerColors) {
+    this(ruleKeeper, typeCell, layers, playerColors, false);
+  }
+
+  /**
+   * Constructor of a board that may allow more than two players, one per disc color. Players
+   * take turns in the order of the given colors, and every player starts with discs where the
+   * board's geometry puts the starting discs of that many players.
+   * INVARIANT: the given number of layers is not less than 1.
+   * @param ruleKeeper the rule keeper to use for this board.
+   * @param typeCell the type of cell to fill the grid width.
+   * @param layers the number of layers in this board.
+   * @param playerColors the player colors, in turn order.
+   * @param multiplayer whether more than two players may play.
+   * @throws IllegalArgumentException if the given rule keeper is null,
+   *                                 or if the given cell is null,
+   *                                 or if the given number of layers is less than 1.
+   *                                 or if the given list of colors is not of size 2,
+   *                                 or not at least of size 2 for a multiplayer board,
+   *                                 or if the given list of colors contains a NONE color,
+   *                                 or if the given list of colors contains a null color,
+   *                                 or if the given list of colors contains a duplicate color,
+   *                                 or if the given list of colors is null,
+   *                                 or if the board has no starting discs for that many players.
+   */
+  protected AbstractReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+                            int layers, List<DiscColor> playerColors, boolean multiplayer) {
     this.constructorExceptions(ruleKeeper, typeCell, layers);
-    this.playerColorsExceptions(playerColors);
+    this.playerColorsExceptions(playerColors, multiplayer);
     this.cellType = typeCell;
     this.ruleKeeper = ruleKeeper;
+    this.variant = ReversiRuleKeeper.variantOf(ruleKeeper);
     this.layers = layers;
-    this.playerColors = playerColors;
-    this.grid = new HashMap<>();
+    this.playerColors = new ArrayList<>(playerColors);
+    this.tables = BoardTables.of(this.makeIndex(layers));
+    this.index = this.tables.getIndex();
+    this.initCounts();
+    this.initStorage();
     this.gameState = null; //game has not yet been started so game state is null.
     this.fillGrid(cellType);
   }
 
   /**
-   * Create a copy of the given model.
+   * Create a copy of the given model. A copy of a board of the same shape and size shares its
+   * cell storage with the original until either of them changes, so copying costs the same
+   * however large the board is.
    *
    * @param model the model to copy.
    */
   public AbstractReversiModel(IModel model) {
-    this.cellType = model.getCellAt(new Coordinate(0, 0)).makeCell();
-    this.ruleKeeper = model.getRuleKeeper();
     this.layers = model.getNumLayers();
+    this.tables = BoardTables.of(this.makeIndex(this.layers));
+    this.index = this.tables.getIndex();
+    this.initCounts();
+    this.initStorage();
+    if (!this.shareStorage(model)) {
+      for (int i = 0; i < this.index.size(); i++) {
+        this.recolor(i, model.getCellAt(this.index.coordinateOf(i)).getColor());
+      }
+    }
+    // any copied cell will do, since (0, 0) is not a coordinate on every board.
+    this.cellType = model.getCellAt(this.index.coordinateOf(0)).makeCell();
+    this.ruleKeeper = model.getRuleKeeper();
+    this.variant = ReversiRuleKeeper.variantOf(this.ruleKeeper);
+    // the copied colors start with whoever's turn it is.
     this.playerColors = new ArrayList<>(model.getPlayerColors());
     this.whoseTurn = model.getTurn();
     this.gameState = model.getGameState();
     this.pass = model.getPass();
-    this.grid = model.getCopyOfAllCoords();
+    if (model instanceof AbstractReversiModel) {
+      this.passes = ((AbstractReversiModel) model).passes;
+    } else {
+      this.passes = this.pass ? 1 : 0;
+    }
     this.listenerList = new ArrayList<>(this.listenerList);
   }
 
@@ -93,22 +174,28 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Throws an exception if the given list of colors is not at least of size 2,
+   * Throws an exception if the given list of colors is not of size 2 (or not at least of size 2
+   * for a multiplayer board),
    * if the given list of colors contains a NONE color,
    * if the given list of colors contains a null color,
    * if the given list of colors contains a duplicate color.
    *
    * @param playerColors the player colors (to be able to play with different colors).
+   * @param multiplayer  whether more than two players may play.
    */
-  protected void playerColorsExceptions(List<DiscColor> playerColors) {
+  protected void playerColorsExceptions(List<DiscColor> playerColors, boolean multiplayer) {
     if (playerColors == null) {
       throw new IllegalArgumentException("Colors cannot be null.");
-    } else if (playerColors.size() != 2) {
+    } else if (!multiplayer && playerColors.size() != 2) {
       throw new IllegalArgumentException("Must have 2 players.");
-    } else if (playerColors.contains(DiscColor.NONE) || playerColors.contains(null)) {
-      throw new IllegalArgumentException("Cannot have a player with no color.");
+    } else if (playerColors.size() < 2) {
+      throw new IllegalArgumentException("Must have at least 2 players.");
     } else {
       for (int i = 0; i < playerColors.size(); i++) {
+        // immutable lists cannot be asked whether they contain null.
+        if (playerColors.get(i) == null || playerColors.get(i) == DiscColor.NONE) {
+          throw new IllegalArgumentException("Cannot have a player with no color.");
+        }
         for (int j = i + 1; j < playerColors.size(); j++) {
           if (playerColors.get(i) == playerColors.get(j)) {
             throw new IllegalArgumentException("Cannot have duplicate colors.");
@@ -126,8 +213,11 @@ public abstract class AbstractReversiModel implements IModel {
   public void startGame() {
     this.gameAlreadyStartedException();
     this.gameState = Status.PLAYING;
+    this.turn = 0;
     this.whoseTurn = this.playerColors.get(0);
     this.pass = false;
+    this.passes = 0;
+    this.positionChanged();
     this.notifyModelHasChanged();
   }
 
@@ -150,9 +240,159 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Fills this grid with cells for all possible coordinates of Hex Reversi board.
+   * Fills this grid with the starting discs of the board, where its geometry puts them for the
+   * number of players of this game.
+   * The cells themselves are views made by this class, which all start out empty.
+   *
+   * @param cell the type of cell of this board.
+   * @throws IllegalArgumentException if the board has no starting discs for that many players.
+   */
+  protected void fillGrid(ICell cell) {
+    Coordinate[][] discs = this.index.getStartingDiscs(this.playerColors.size());
+    for (int player = 0; player < discs.length; player++) {
+      for (Coordinate coord : discs[player]) {
+        this.changeCellColor(coord, this.playerColors.get(player));
+      }
+    }
+  }
+
+  /**
+   * Returns the view of the cell at the given index, making it the first time it is asked for,
+   * so that copies of this board that are only read never make any. Giant boards do not keep
+   * their views, since an array of views would cost as much as the board is large.
+   *
+   * @param cell the index of the cell.
+   * @return a write-through view of the cell.
+   */
+  private ICell cellView(int cell) {
+    if (!this.tables.isPrecomputed()) {
+      return new BoardCell(cell);
+    }
+    // views of the same cell are interchangeable, so readers racing to make one are harmless.
+    ICell[] views = this.grid;
+    if (views == null) {
+      views = new ICell[this.index.size()];
+      this.grid = views;
+    }
+    ICell view = views[cell];
+    if (view == null) {
+      view = new BoardCell(cell);
+      views[cell] = view;
+    }
+    return view;
+  }
+
+  /**
+   * Takes a snapshot of the storage of the given model and everything kept up to date alongside
+   * it, if the model is a board of the same shape and size that also uses the default storage.
+   *
+   * @param model the model being copied.
+   * @return whether the storage was shared; if not, the cells still have to be copied one by one.
+   */
+  private boolean shareStorage(IModel model) {
+    if (this.colors == null || !(model instanceof AbstractReversiModel)) {
+      return false;
+    }
+    AbstractReversiModel other = (AbstractReversiModel) model;
+    if (other.colors == null || !other.index.equals(this.index)) {
+      return false;
+    }
+    this.colors = other.colors.snapshot();
+    this.discHash = other.discHash;
+    this.counts = other.counts.clone();
+    this.changedCells = (BitSet) other.changedCells.clone();
+    this.features = other.features.copy(this::colorAt);
+    for (int i = 0; i < COLORS.length; i++) {
+      if (other.legalMoves[i] != null) {
+        this.legalMoves[i] = (BitSet) other.legalMoves[i].clone();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sets up the color counts of an empty board.
+   */
+  private void initCounts() {
+    this.counts = new int[COLORS.length];
+    this.counts[DiscColor.NONE.ordinal()] = this.index.size();
+    this.legalMoves = new BitSet[COLORS.length];
+    this.changedCells = new BitSet();
+    this.legalMoveViews = new CellSet[COLORS.length];
+    this.features = new DiscFeatures(this.tables, this::colorAt);
+    this.mobilityGenerations = new long[COLORS.length];
+    Arrays.fill(this.mobilityGenerations, -1L);
+    this.noMoves = new boolean[COLORS.length];
+  }
+
+  /**
+   * Sets up empty storage for the colors of this board's cells.
+   * Called from the constructors, before any cell is colored and before the fields of any
+   * subclass are set. Subclasses that store colors themselves override this together with
+   * colorAt and setColorAt.
+   */
+  protected void initStorage() {
+    this.colors = new ChunkedColors(this.index.size(), (byte) DiscColor.NONE.ordinal());
+  }
+
+  /**
+   * Returns the color of the cell at the given index, straight from storage.
+   *
+   * @param cell the index of the cell.
+   * @return the color of the cell.
+   */
+  protected DiscColor colorAt(int cell) {
+    return COLORS[this.colors.get(cell)];
+  }
+
+  /**
+   * Stores the given color for the cell at the given index. Only recolor may call this, so that
+   * everything kept up to date alongside the colors sees every change.
+   *
+   * @param cell  the index of the cell.
+   * @param color the new color of the cell.
+   */
+  protected void setColorAt(int cell, DiscColor color) {
+    this.colors.set(cell, (byte) color.ordinal());
+  }
+
+  /**
+   * Changes the color of the cell at the given index. Every change of a cell's color goes through
+   * here, whether it comes from a move, an undo or a cell of this board being changed directly.
+   *
+   * @param cell  the index of the cell.
+   * @param color the new color of the cell.
+   */
+  protected void recolor(int cell, DiscColor color) {
+    DiscColor previous = this.colorAt(cell);
+    if (previous == color) {
+      return;
+    }
+    this.discHash ^= Zobrist.disc(cell, previous) ^ Zobrist.disc(cell, color);
+    this.counts[previous.ordinal()]--;
+    this.counts[color.ordinal()]++;
+    this.changedCells.set(cell);
+    this.setColorAt(cell, color);
+    this.features.recolored(cell, previous, color);
+    this.positionChanged();
+  }
+
+  /**
+   * Records that the position changed (a cell, whose turn it is, the pass flag or the status of
+   * the game), so that answers cached for the previous position are worked out again.
    */
-  protected abstract void fillGrid(ICell cell);
+  protected void positionChanged() {
+    this.generation++;
+  }
+
+  /**
+   * Makes the coordinate index of a board of this shape with the given number of layers.
+   * Called from the constructors, before the fields of any subclass are set.
+   *
+   * @param layers the number of layers of the board.
+   * @return the coordinate index of the board.
+   */
+  protected abstract CoordinateIndex makeIndex(int layers);
 
   /**
    * Returns a list of coordinates of 1st degree neighbors of the same color.
@@ -167,17 +407,14 @@ public abstract class AbstractReversiModel implements IModel {
   @Override
   public List<Coordinate> getLikeNeighbors(Coordinate coord, DiscColor player) {
     this.gameNotYetStartedException();
-    this.invalidCoordinateException(coord);
+    int origin = this.validIndexOf(coord);
     this.invalidPlayerColorException(player);
 
-    List<Coordinate> neighbors = this.getNeighbors(coord);
-    // turns ALL neighbors coordinates to ALL neighboring coordinates of opposite color
     List<Coordinate> likeNeighbors = new ArrayList<>();
-    for (Coordinate c : neighbors) {
-      ICell neighbor = this.getCellAt(c);
+    for (int neighbor : this.tables.neighbors(origin)) {
       // if player's turn color, add to list.
-      if (neighbor.getColor() == player) {
-        likeNeighbors.add(c);
+      if (this.colorAt(neighbor) == player) {
+        likeNeighbors.add(this.index.coordinateOf(neighbor));
       }
     }
     return likeNeighbors;
@@ -199,14 +436,24 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Get the neighboring cells' coordinates of the cell at the given coordinate.
+   * Get the neighboring cells' coordinates of the cell at the given coordinate,
+   * in the board's neighbor order. The neighbors only depend on the shape of the board, so they
+   * are read from its tables whether or not the game has started.
    *
    * @param coord the coordinate of the cell to get the neighbors of.
    * @return the neighboring cells' coordinates of the cell at the given coordinate.
    * @throws IllegalArgumentException if the given coordinate is invalid.
-   * @throws IllegalStateException    if the game has not yet been started.
    */
-  public abstract List<Coordinate> getNeighbors(Coordinate coord);
+  @Override
+  public List<Coordinate> getNeighbors(Coordinate coord) {
+    int origin = this.validIndexOf(coord);
+
+    List<Coordinate> neighbors = new ArrayList<>();
+    for (int neighbor : this.tables.neighbors(origin)) {
+      neighbors.add(this.index.coordinateOf(neighbor));
+    }
+    return neighbors;
+  }
 
   /**
    * Returns whether the given coordinate is a corner or not.
@@ -217,7 +464,10 @@ public abstract class AbstractReversiModel implements IModel {
    * @throws IllegalStateException    if the game has not yet been started.
    */
   @Override
-  public abstract boolean isCorner(Coordinate coord);
+  public boolean isCorner(Coordinate coord) {
+    this.gameNotYetStartedException();
+    return this.tables.isCorner(this.validIndexOf(coord));
+  }
 
   /**
    * Change the cell color at the given coordinates to the given disc color.
@@ -231,7 +481,7 @@ public abstract class AbstractReversiModel implements IModel {
     this.invalidCoordinateException(coord);
     this.invalidPlayerColorException(color);
 
-    ICell cell = this.grid.get(coord);
+    ICell cell = this.cellView(this.index.indexOf(coord));
     if (color == DiscColor.NONE) {
       throw new IllegalArgumentException("Cannot remove a cell's color.");
     }
@@ -257,8 +507,7 @@ public abstract class AbstractReversiModel implements IModel {
    */
   @Override
   public ICell getCellAt(Coordinate coord) {
-    this.invalidCoordinateException(coord);
-    return this.grid.get(coord);
+    return this.cellView(this.validIndexOf(coord));
   }
 
   /**
@@ -268,32 +517,42 @@ public abstract class AbstractReversiModel implements IModel {
    *                               or if the game has not yet been started.
    */
   @Override
-  public void pass() {
+  public MoveRecord pass() {
     this.gameNotYetStartedException();
     this.gameIsOverException();
 
+    MoveRecord record = this.makeRecord(new int[0], new byte[0]);
+    this.passTurn();
+    return record;
+  }
+
+  /**
+   * Passes the turn to the next player, ending the game once every player passed in a row.
+   */
+  protected void passTurn() {
     this.switchPass();
     this.nextTurn();
   }
 
   /**
-   * Changes whose turn it is to the opposite DiscColor after a player makes a move.
+   * Gives the turn to the next player in turn order after a player makes a move.
    */
   protected void nextTurn() {
-    DiscColor passing = this.playerColors.remove(0);
-    this.playerColors.add(passing);
+    this.turn = (this.turn + 1) % this.playerColors.size();
     this.whoseTurn = this.getTurn();
+    this.positionChanged();
   }
 
   /**
-   * To check if there are two consecutive passes, which would make the game over.
+   * To check if every player passed in a row, which would make the game over.
    */
   protected void switchPass() {
-    if (pass) {
+    this.passes++;
+    if (this.passes >= this.playerColors.size()) {
       this.gameState = Status.TIED;
-    } else {
-      pass = true;
     }
+    pass = true;
+    this.positionChanged();
   }
 
   /**
@@ -303,7 +562,7 @@ public abstract class AbstractReversiModel implements IModel {
    */
   @Override
   public DiscColor getTurn() {
-    return this.playerColors.get(0);
+    return this.playerColors.get(this.turn);
   }
 
   /**
@@ -319,41 +578,135 @@ public abstract class AbstractReversiModel implements IModel {
   @Override
   public List<Coordinate> getSandwichableNeighbors(Coordinate origin, DiscColor player) {
     this.gameNotYetStartedException();
-    this.invalidCoordinateException(origin);
+    int start = this.validIndexOf(origin);
     this.invalidPlayerColorException(player);
 
-    List<Coordinate> oppositeNeighbors = this.getOppositeNeighbors(origin, player);
     List<Coordinate> sandwichableNeighbors = new ArrayList<>();
-    List<Coordinate> possibleSandwichableNeighbors = new ArrayList<>();
-
-    // checks all opposite neighbors.
-    while (!oppositeNeighbors.isEmpty()) {
-      Coordinate c = oppositeNeighbors.get(0);
-      // adds transitions from origin to 2nd degree neighbor to check
-      Coordinate coord = this.getNextCoordinate(origin, c);
-      if (this.grid.containsKey(coord)) {
-        if (this.getCellAt(coord).getColor() == player) {
-          possibleSandwichableNeighbors.add(c);
-          sandwichableNeighbors.addAll(possibleSandwichableNeighbors);
-          possibleSandwichableNeighbors.clear();
-          oppositeNeighbors.remove(c);
-        } else if (this.getCellAt(coord).getColor() == this.getCellAt(c).getColor()) {
-          oppositeNeighbors.remove(c);
-          possibleSandwichableNeighbors.add(c);
-          oppositeNeighbors.add(0, coord);
-        } else {
-          oppositeNeighbors.remove(c);
-          possibleSandwichableNeighbors.clear();
+    // checks the ray of every opposite neighbor.
+    for (int d = 0; d < this.tables.numDirections(); d++) {
+      int length = this.sandwichedAlong(start, d, player);
+      for (int i = 0, cell = start; i < length; i++) {
+        cell = this.tables.step(cell, d);
+        Coordinate sandwiched = this.index.coordinateOf(cell);
+        // lines that wrap around a board without edges can sandwich a disc twice.
+        if (!sandwichableNeighbors.contains(sandwiched)) {
+          sandwichableNeighbors.add(sandwiched);
         }
-      } else {
-        possibleSandwichableNeighbors.clear();
       }
-      // out of range
-      oppositeNeighbors.remove(c);
     }
     return sandwichableNeighbors;
   }
 
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate, scanning
+   * the lines from the cell straight on this board's storage.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public BitSet flipMask(Coordinate coord, DiscColor player) {
+    this.gameNotYetStartedException();
+    int cell = this.validIndexOf(coord);
+    this.invalidPlayerColorException(player);
+    return this.flipsAt(cell, player);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * scanning the lines from the cell straight on this board's storage.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public int flipCount(Coordinate coord, DiscColor player) {
+    this.gameNotYetStartedException();
+    int cell = this.validIndexOf(coord);
+    this.invalidPlayerColorException(player);
+    return this.flipCountAt(cell, player);
+  }
+
+  /**
+   * Returns the discs the given player would flip by playing on the cell at the given index.
+   *
+   * @param origin the index of the cell.
+   * @param player a player of this game.
+   * @return the indices of the cells of the flipped discs.
+   */
+  protected BitSet flipsAt(int origin, DiscColor player) {
+    BitSet flips = new BitSet();
+    for (int d = 0; d < this.tables.numDirections(); d++) {
+      int length = this.sandwichedAlong(origin, d, player);
+      for (int i = 0, cell = origin; i < length; i++) {
+        cell = this.tables.step(cell, d);
+        flips.set(cell);
+      }
+    }
+    return flips;
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing on the cell at the given
+   * index. Lines on a board with edges never share a cell other than the origin, so the lengths
+   * of the sandwiched lines add up without building anything.
+   *
+   * @param origin the index of the cell.
+   * @param player a player of this game.
+   * @return the number of discs flipped.
+   */
+  protected int flipCountAt(int origin, DiscColor player) {
+    if (!this.index.hasEdges()) {
+      // lines that wrap around can sandwich a disc twice.
+      return this.flipsAt(origin, player).cardinality();
+    }
+    int count = 0;
+    for (int d = 0; d < this.tables.numDirections(); d++) {
+      count += this.sandwichedAlong(origin, d, player);
+    }
+    return count;
+  }
+
+  /**
+   * Returns how many cells in the given direction from the origin the player would sandwich:
+   * the line must start with discs of a single other color and end on one of the player's discs.
+   * The line is walked one step at a time, so it stops as soon as the answer is known.
+   *
+   * @param origin    the index of the cell the player would play on.
+   * @param direction the index of the direction, in the board's neighbor order.
+   * @param player    the player color to sandwich for.
+   * @return the number of discs sandwiched in that direction, 0 if there are none.
+   */
+  protected int sandwichedAlong(int origin, int direction, DiscColor player) {
+    int next = this.tables.step(origin, direction);
+    if (next < 0) {
+      return 0;
+    }
+    DiscColor line = this.colorAt(next);
+    if (line == DiscColor.NONE || line == player) {
+      return 0;
+    }
+    // a line on a board without edges ends when it comes back around to the origin.
+    for (int length = 1; (next = this.tables.step(next, direction)) >= 0 && next != origin;
+         length++) {
+      DiscColor color = this.colorAt(next);
+      if (color == player) {
+        return length;
+      } else if (color != line) {
+        return 0;
+      }
+    }
+    return 0; // out of range
+  }
+
   /**
    * Returns a list of coordinates of 1st degree neighbors of the opposite color.
    *
@@ -367,53 +720,24 @@ public abstract class AbstractReversiModel implements IModel {
   @Override
   public List<Coordinate> getOppositeNeighbors(Coordinate origin, DiscColor player) {
     this.gameNotYetStartedException();
-    this.invalidCoordinateException(origin);
+    int start = this.validIndexOf(origin);
     this.invalidPlayerColorException(player);
 
-    List<Coordinate> neighbors = this.getNeighbors(origin);
-    // turns ALL neighbors coordinates to ALL neighboring coordinates of opposite color
     List<Coordinate> oppositeNeighbors = new ArrayList<>();
-    for (Coordinate c : neighbors) {
-      ICell neighbor = this.getCellAt(c);
+    for (int neighbor : this.tables.neighbors(start)) {
+      DiscColor color = this.colorAt(neighbor);
       // if is of opposing player turn's color, add to list.
-      if (neighbor.getColor() != DiscColor.NONE) {
-        if (neighbor.getColor() != player) {
-          oppositeNeighbors.add(c);
-        }
+      if (color != DiscColor.NONE && color != player) {
+        oppositeNeighbors.add(this.index.coordinateOf(neighbor));
       }
     }
     return oppositeNeighbors;
   }
 
-  /**
-   * Returns the next coordinate in the direction of the given coordinate.
-   *
-   * @param origin the origin coordinate.
-   * @param c      the coordinate to get the next coordinate of.
-   * @return the next coordinate in the direction of the given coordinate.
-   */
-  protected Coordinate getNextCoordinate(Coordinate origin, Coordinate c) {
-    this.gameNotYetStartedException();
-    this.invalidCoordinateException(origin);
-    this.invalidCoordinateException(c);
-
-    int transitionRow = (c.getRow() - origin.getRow());
-    int transitionCol = (c.getCol() - origin.getCol());
-    while (transitionRow > 1 || transitionRow < -1) {
-      transitionRow = transitionRow / 2;
-    }
-    while (transitionCol > 1 || transitionCol < -1) {
-      transitionCol = transitionCol / 2;
-    }
-    int newRow = c.getRow() + transitionRow;
-    int newCol = c.getCol() + transitionCol;
-    return new Coordinate(newRow, newCol);
-  }
-
   /**
    * Throws an exception if the game is over.
    */
-  private void gameIsOverException() {
+  protected void gameIsOverException() {
     if (this.gameState != Status.PLAYING) {
       throw new IllegalStateException("Game is over.");
     }
@@ -429,7 +753,7 @@ public abstract class AbstractReversiModel implements IModel {
    * @throws IllegalStateException    if the game is over, or if the game has not yet been started.
    */
   @Override
-  public void playDisc(Coordinate coord) {
+  public MoveRecord playDisc(Coordinate coord) {
     this.gameNotYetStartedException();
     this.gameIsOverException();
     this.invalidCoordinateException(coord);
@@ -437,18 +761,121 @@ public abstract class AbstractReversiModel implements IModel {
     List<Coordinate> coordOfCellsToChangeColor =
         this.ruleKeeper.playDisc(this, coord);
 
+    // remember what the cells were before changing them, so the move can be undone.
+    int[] cells = new int[coordOfCellsToChangeColor.size()];
+    byte[] previousColors = new byte[cells.length];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = this.validIndexOf(coordOfCellsToChangeColor.get(i));
+      previousColors[i] = (byte) this.colorAt(cells[i]).ordinal();
+    }
+    MoveRecord record = this.makeRecord(cells, previousColors);
+
     //change the color of the cells that need to be changed.
     for (Coordinate c : coordOfCellsToChangeColor) {
       this.changeCellColor(c, this.whoseTurn);
     }
 
+    this.endTurn();
+    return record;
+  }
+
+  /**
+   * Ends the turn of the player who just played a disc: the next player gets the turn,
+   * and passes right away if they have nowhere to go and the rules pass for them.
+   */
+  protected void endTurn() {
     // player played a move so not a double pass
     this.pass = false;
+    this.passes = 0;
     // next player's turn
     this.nextTurn();
     // nowhere for the new player to go, auto-pass.
-    if (this.noPossibleMoves(this.whoseTurn)) {
-      this.pass();
+    if (this.variant.autoPass() && this.hasNoMoves(this.whoseTurn)) {
+      this.passTurn();
+    }
+  }
+
+  /**
+   * Makes the record of a move that is about to be made, from the current turn,
+   * pass flag and status of the game.
+   *
+   * @param cells          the indices of the cells the move changes, the played cell first.
+   * @param previousColors the color ordinal of each of those cells before the move.
+   * @return the record of the move.
+   */
+  protected MoveRecord makeRecord(int[] cells, byte[] previousColors) {
+    this.ply++;
+    return new MoveRecord(cells, previousColors, this.whoseTurn, this.passes,
+            this.gameState, this.ply);
+  }
+
+  /**
+   * Takes back the move of the given record, restoring the cells it changed,
+   * whose turn it was, the pass flag and the status of the game exactly.
+   *
+   * @param record the record returned by the last playDisc or pass on this model.
+   * @throws IllegalArgumentException if the given record is null.
+   * @throws IllegalStateException    if the given record is not the last move made on this model.
+   */
+  @Override
+  public void undo(MoveRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Move record cannot be null.");
+    } else if (record.getPly() != this.ply) {
+      throw new IllegalStateException("Can only undo the last move made on this model.");
+    }
+    for (int i = record.numChanged() - 1; i >= 0; i--) {
+      this.recolor(record.cellAt(i), record.previousColorAt(i));
+    }
+    // give the turn back to the player who made the move.
+    this.turn = this.playerColors.indexOf(record.getPreviousTurn());
+    this.whoseTurn = this.getTurn();
+    this.passes = record.getPreviousPasses();
+    this.pass = this.passes > 0;
+    this.gameState = record.getPreviousGameState();
+    this.ply--;
+    this.positionChanged();
+  }
+
+  /**
+   * Plays the given moves in order, taking back the ones already played if one of them fails,
+   * and notifies the listeners once at the end.
+   *
+   * @param moves the moves to play, a move without a coordinate being a pass.
+   * @throws IllegalArgumentException if the list or one of its moves is null, or if a move is
+   *                                  on an invalid coordinate.
+   * @throws IllegalStateException    if a move is invalid, if the game is over before the last
+   *                                  move, or if the game has not yet been started.
+   */
+  @Override
+  public void replay(List<Move> moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Moves cannot be null.");
+    }
+    for (Move move : moves) {
+      if (move == null) {
+        throw new IllegalArgumentException("Moves cannot be null.");
+      }
+    }
+    this.gameNotYetStartedException();
+
+    MoveRecord[] records = new MoveRecord[moves.size()];
+    int played = 0;
+    try {
+      for (Move move : moves) {
+        Optional<Coordinate> coord = move.getMoveCoordinate();
+        records[played] = coord.isPresent() ? this.playDisc(coord.get()) : this.pass();
+        played++;
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      // take back the moves already played, last first.
+      for (int i = played - 1; i >= 0; i--) {
+        this.undo(records[i]);
+      }
+      throw e;
+    }
+    if (played > 0) {
+      this.notifyModelHasChanged();
     }
   }
 
@@ -473,13 +900,11 @@ public abstract class AbstractReversiModel implements IModel {
   public int getPlayerScore(DiscColor player) {
     this.gameNotYetStartedException();
 
-    int score = 0;
-    for (Coordinate c : this.getCopyOfAllCoords().keySet()) {
-      if (this.grid.get(c).getColor() == player) {
-        score++;
-      }
+    // the counts are kept up to date by recolor, so no cell has to be looked at.
+    if (player == null) {
+      return 0;
     }
-    return score;
+    return this.counts[player.ordinal()];
   }
 
   /**
@@ -493,13 +918,17 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Returns a list of the players' disc colors.
+   * Returns a list of the players' disc colors, in turn order from the player whose turn it is.
    *
    * @return a list of the players' disc colors.
    */
   @Override
   public List<DiscColor> getPlayerColors() {
-    return new ArrayList<>(this.playerColors);
+    List<DiscColor> colors = new ArrayList<>(this.playerColors.size());
+    for (int i = 0; i < this.playerColors.size(); i++) {
+      colors.add(this.playerColors.get((this.turn + i) % this.playerColors.size()));
+    }
+    return colors;
   }
 
   /**
@@ -515,7 +944,8 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Returns the color of the other player.
+   * Returns the color of the other player, the one whose turn is next in a game of more than
+   * two players.
    *
    * @return the color of the other player.
    * @throws IllegalStateException if the game has not yet been started.
@@ -523,15 +953,13 @@ public abstract class AbstractReversiModel implements IModel {
   @Override
   public DiscColor getOtherPlayerColor() {
     this.gameNotYetStartedException();
-    if (this.playerColors.get(0) == this.whoseTurn) {
-      return this.playerColors.get(1);
-    } else {
-      return this.whoseTurn;
-    }
+    return this.playerColors.get((this.turn + 1) % this.playerColors.size());
   }
 
   /**
-   * Returns a copy of the grid of this model.
+   * Returns a copy of the grid of this model. The copied cells are views over a snapshot of this
+   * board's packed storage, so copying does not make a cell object per cell and then recolor it;
+   * changing a copied cell changes neither this board nor any other copied cell.
    *
    * @return a copy of the grid of this model.
    * @throws IllegalStateException if the game has not yet been started.
@@ -539,20 +967,58 @@ public abstract class AbstractReversiModel implements IModel {
   public HashMap<Coordinate, ICell> getCopyOfAllCoords() {
     this.gameNotYetStartedException();
 
+    ChunkedColors copy = this.copyColors();
     HashMap<Coordinate, ICell> copyGrid = new HashMap<>();
-    for (Coordinate c : this.grid.keySet()) {
-      ICell cellToCopy = this.grid.get(c);
-      ICell copyCell = cellToCopy.makeCell();
-
-      //change color if necessary
-      if (cellToCopy.getColor() != copyCell.getColor()) {
-        copyCell.changeColor(cellToCopy.getColor());
-      }
-      copyGrid.put(c, copyCell);
+    for (int i = 0; i < this.index.size(); i++) {
+      copyGrid.put(this.tables.coordinate(i), new CopiedCell(copy, i, this.cellType));
     }
     return copyGrid;
   }
 
+  /**
+   * Returns a copy of the colors of this board's cells that later changes to the board do not
+   * affect: a snapshot of the default storage, or a packed copy of a subclass's storage.
+   *
+   * @return the copied colors.
+   */
+  private ChunkedColors copyColors() {
+    if (this.colors != null) {
+      return this.colors.snapshot();
+    }
+    ChunkedColors copy = new ChunkedColors(this.index.size(), (byte) DiscColor.NONE.ordinal());
+    for (int i = 0; i < this.index.size(); i++) {
+      copy.set(i, (byte) this.colorAt(i).ordinal());
+    }
+    return copy;
+  }
+
+  /**
+   * Calls the given visitor with the coordinate and disc color of every cell of the board,
+   * in row-major order, without copying the board or allocating a coordinate per cell.
+   *
+   * @param visitor the visitor to call with every cell.
+   * @throws IllegalArgumentException if the given visitor is null.
+   */
+  @Override
+  public void forEachCell(CellVisitor visitor) {
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null.");
+    }
+    for (int i = 0; i < this.index.size(); i++) {
+      visitor.visit(this.tables.coordinate(i), this.colorAt(i));
+    }
+  }
+
+  /**
+   * Returns whether the given coordinate is a cell of the board.
+   *
+   * @param coord the coordinate to check.
+   * @return whether the coordinate is on the board, false if it is null.
+   */
+  @Override
+  public boolean contains(Coordinate coord) {
+    return this.index.contains(coord);
+  }
 
   /**
    * Throws an exception if the given coordinate is invalid.
@@ -562,17 +1028,42 @@ public abstract class AbstractReversiModel implements IModel {
    *                                  or if the given coordinate is null.
    */
   protected void invalidCoordinateException(Coordinate coord) {
+    this.validIndexOf(coord);
+  }
+
+  /**
+   * Returns the index of the given coordinate on this board.
+   *
+   * @param coord the coordinate to get the index of.
+   * @return the index of the given coordinate.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given coordinate is null.
+   */
+  protected int validIndexOf(Coordinate coord) {
     if (coord == null) {
       throw new IllegalArgumentException("Coordinate cannot be null.");
-    } else if (!this.grid.containsKey(coord)) {
+    }
+    int i = this.index.indexOf(coord);
+    if (i < 0) {
       throw new IllegalArgumentException("Invalid coordinate.");
     }
+    return i;
+  }
+
+  /**
+   * Returns the coordinate index of this board.
+   *
+   * @return the coordinate index of this board.
+   */
+  @Override
+  public CoordinateIndex getCoordinateIndex() {
+    return this.index;
   }
 
   /**
    * Returns whether the game is over or not. The game is over when there are no more valid moves
-   * for both players (i.e., when the board is full). A game is also over if the two players both
-   * pass their turns (even if there are still valid moves on the board).
+   * for any player (i.e., when the board is full). A game is also over if every player passes
+   * their turn in a row (even if there are still valid moves on the board).
    *
    * @return whether the game is over or not.
    * @throws IllegalStateException if the game has not yet been started.
@@ -582,11 +1073,14 @@ public abstract class AbstractReversiModel implements IModel {
     this.gameNotYetStartedException();
     if (gameState != Status.PLAYING) { //if game state is TIED or WON.
       return true;
-    } else if (this.noPossibleMoves(this.whoseTurn)) {
-      if (this.noPossibleMoves(this.getOtherPlayerColor())) {
-        gameState = Status.WON; // this player can't move and the other player can't move.
-        return true;
+    } else if (this.hasNoMoves(this.whoseTurn)) {
+      for (DiscColor player : this.playerColors) {
+        if (!this.hasNoMoves(player)) {
+          return false; // game is still going.
+        }
       }
+      gameState = Status.WON; // no player can move.
+      return true;
     }
     return false; // game is still going.
   }
@@ -615,8 +1109,9 @@ public abstract class AbstractReversiModel implements IModel {
   }
 
   /**
-   * Returns the winner of the game.
-   * If the game is tied, returns an empty optional.
+   * Returns the winner of the game, the player with the highest score, or with the lowest if the
+   * rules say the fewest discs win.
+   * If the game is tied (two or more players share the best score), returns an empty optional.
    * If the game is over and a player won, returns an optional of the winner.
    *
    * @return the winner of the game.
@@ -626,22 +1121,45 @@ public abstract class AbstractReversiModel implements IModel {
   @Override
   public Optional<DiscColor> getWinner() {
     this.gameNotYetStartedException();
-    DiscColor player1 = this.whoseTurn;
-    DiscColor player2 = this.getOtherPlayerColor();
-    int player1Score = this.getPlayerScore(this.whoseTurn);
-    int player2Score = this.getPlayerScore(this.getOtherPlayerColor());
-    if (this.getGameState() != Status.PLAYING) {
-      if (player1Score > player2Score) {
-        return Optional.of(player1);
-      } else if (player1Score < player2Score) {
-        return Optional.of(player2);
-      } else {
-        this.gameState = Status.TIED;
-        return Optional.empty();
-      }
-    } else {
+    if (this.getGameState() == Status.PLAYING) {
       throw new IllegalStateException("Game is not over yet.");
     }
+    DiscColor winner = null;
+    int best = -1;
+    boolean tied = false;
+    for (DiscColor player : this.playerColors) {
+      // with the fewest discs winning, a player is scored by the cells they do not hold.
+      int score = this.variant.fewestDiscsWin()
+          ? this.index.size() - this.getPlayerScore(player) : this.getPlayerScore(player);
+      if (score > best) {
+        winner = player;
+        best = score;
+        tied = false;
+      } else if (score == best) {
+        tied = true;
+      }
+    }
+    if (tied) {
+      this.gameState = Status.TIED;
+      return Optional.empty();
+    }
+    return Optional.of(winner);
+  }
+
+  /**
+   * Returns whether the given player has no legal move, working it out with noPossibleMoves only
+   * once per position: asking again before the position changes costs nothing.
+   *
+   * @param player the player to check.
+   * @return whether the player cannot make any move.
+   */
+  private boolean hasNoMoves(DiscColor player) {
+    int color = player.ordinal();
+    if (this.mobilityGenerations[color] != this.generation) {
+      this.noMoves[color] = this.noPossibleMoves(player);
+      this.mobilityGenerations[color] = this.generation;
+    }
+    return this.noMoves[color];
   }
 
   /**
@@ -649,13 +1167,303 @@ public abstract class AbstractReversiModel implements IModel {
    *
    * @return whether the current player can make any moves
    */
-  private boolean noPossibleMoves(DiscColor player) {
-    for (Coordinate c : this.grid.keySet()) {
-      if (this.ruleKeeper.isValid(this, c, player)) {
-        return false;
+  protected boolean noPossibleMoves(DiscColor player) {
+    if (this.usesDefaultRules()) {
+      return this.legalMoveBits(player).isEmpty();
+    }
+    return this.ruleKeeper.legalMoves(this, player).isEmpty();
+  }
+
+  /**
+   * Returns whether this model follows the rules of the ReversiRuleKeeper, in any of its
+   * variants, in which case legal moves can be worked out by the model itself instead of asking
+   * the rule keeper cell by cell. A cache of such a rule keeper keeps the same rules, so it is
+   * looked through.
+   *
+   * @return whether this model uses the default rules.
+   */
+  protected boolean usesDefaultRules() {
+    RuleKeeper rules = this.ruleKeeper;
+    while (rules instanceof CachingRuleKeeper) {
+      rules = ((CachingRuleKeeper) rules).getDelegate();
+    }
+    return rules.getClass() == ReversiRuleKeeper.class;
+  }
+
+  /**
+   * Returns the set of cells where the given player can play right now.
+   * The set is a read-only view that always reflects the current board:
+   * with the default rules it is kept up to date as cells change color,
+   * otherwise every query asks the rule keeper about every cell.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the coordinates of the player's legal moves, in board order.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   */
+  @Override
+  public Set<Coordinate> getLegalMoves(DiscColor player) {
+    this.gameNotYetStartedException();
+    this.invalidPlayerColorException(player);
+
+    CellSet view = this.legalMoveViews[player.ordinal()];
+    if (view == null) {
+      view = new CellSet(() -> this.legalMoveBits(player));
+      this.legalMoveViews[player.ordinal()] = view;
+    }
+    return view;
+  }
+
+  /**
+   * Returns the discs of the given player that can never be flipped again under the rules of
+   * the ReversiRuleKeeper. The set is a read-only view that always reflects the current board;
+   * it is kept up to date as moves are made, so reading it does not look at the whole board.
+   *
+   * @param player the player to get the stable discs of.
+   * @return the coordinates of the player's stable discs, in board order.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   */
+  @Override
+  public Set<Coordinate> getStableDiscs(DiscColor player) {
+    this.gameNotYetStartedException();
+    this.invalidPlayerColorException(player);
+    return new CellSet(() -> this.features.stable(player));
+  }
+
+  /**
+   * Returns the discs of the given player that are next to an empty cell. The set is a
+   * read-only view that always reflects the current board; it is kept up to date as cells
+   * change color, so reading it does not look at the whole board.
+   *
+   * @param player the player to get the frontier discs of.
+   * @return the coordinates of the player's frontier discs, in board order.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   */
+  @Override
+  public Set<Coordinate> getFrontierDiscs(DiscColor player) {
+    this.gameNotYetStartedException();
+    this.invalidPlayerColorException(player);
+    return new CellSet(() -> this.features.frontier(player));
+  }
+
+  /**
+   * Returns the indices of the stable discs of the given player, brought up to date.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's stable discs; not to be modified.
+   */
+  BitSet stableDiscBits(DiscColor player) {
+    return this.features.stable(player);
+  }
+
+  /**
+   * Returns the indices of the frontier discs of the given player.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's frontier discs; not to be modified.
+   */
+  BitSet frontierDiscBits(DiscColor player) {
+    return this.features.frontier(player);
+  }
+
+  /**
+   * Returns the indices of the cells where the given player can play right now.
+   * With the default rules, the cached sets are first brought up to date: only the empty cells
+   * that can see a recolored cell (along a line of discs of one color) are checked again.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's legal moves; not to be modified.
+   */
+  protected BitSet legalMoveBits(DiscColor player) {
+    if (!this.usesDefaultRules()) {
+      return this.ruleKeeper.legalMoves(this, player).toBitSet();
+    }
+    if (!this.changedCells.isEmpty()) {
+      this.updateLegalMoves();
+    }
+    BitSet moves = this.legalMoves[player.ordinal()];
+    if (moves == null) {
+      moves = this.findLegalMoves(player);
+      this.legalMoves[player.ordinal()] = moves;
+    }
+    return moves;
+  }
+
+  /**
+   * Works out every legal move of the given player under the default rules. A legal move is
+   * next to a disc, so with the default storage only the empty neighbors of the discs on the
+   * board (its frontier) are checked: the work grows with the number of discs, not with the
+   * size of the board. Boards with enough discs, or enough cells for storage of their own, are
+   * scanned a chunk of cells at a time on several threads.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's legal moves.
+   */
+  private BitSet findLegalMoves(DiscColor player) {
+    if (this.colors == null) {
+      return ParallelMoveGenerator.scan(this.index.size(), this.index.size(),
+          (from, to, moves) -> {
+            for (int i = from; i < to; i++) {
+              if (this.isLegalAt(i, player)) {
+                moves.set(i);
+              }
+            }
+          });
+    }
+    int discs = this.index.size() - this.counts[DiscColor.NONE.ordinal()];
+    // a chunk checks the neighbors of its own discs, which may lie in the chunks next to it.
+    return ParallelMoveGenerator.scan(this.index.size(), discs, (from, to, moves) -> {
+      BitSet checked = new BitSet();
+      for (int disc = this.colors.nextChanged(from); disc >= 0 && disc < to;
+           disc = this.colors.nextChanged(disc + 1)) {
+        for (int d = 0; d < this.tables.numDirections(); d++) {
+          int cell = this.tables.step(disc, d);
+          if (cell >= 0 && !checked.get(cell)) {
+            checked.set(cell);
+            if (this.isLegalAt(cell, player)) {
+              moves.set(cell);
+            }
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Checks again every cell whose legality may have changed since the cached legal moves were
+   * last brought up to date. An empty cell only looks at its neighbors and along a line of discs
+   * of one color, so walking out from every recolored cell over such lines, up to and including
+   * the first empty cell, finds every cell that has to be checked.
+   */
+  private void updateLegalMoves() {
+    BitSet affected = new BitSet();
+    for (int cell = this.changedCells.nextSetBit(0); cell >= 0;
+         cell = this.changedCells.nextSetBit(cell + 1)) {
+      affected.set(cell);
+      for (int d = 0; d < this.tables.numDirections(); d++) {
+        DiscColor line = null;
+        for (int other = this.tables.step(cell, d); other >= 0 && other != cell;
+             other = this.tables.step(other, d)) {
+          DiscColor color = this.colorAt(other);
+          if (color == DiscColor.NONE) {
+            affected.set(other);
+            break;
+          } else if (line == null) {
+            line = color;
+          } else if (color != line) {
+            break;
+          }
+        }
+      }
+    }
+    this.changedCells.clear();
+    for (DiscColor player : COLORS) {
+      BitSet moves = this.legalMoves[player.ordinal()];
+      if (moves == null) {
+        continue;
+      }
+      for (int cell = affected.nextSetBit(0); cell >= 0; cell = affected.nextSetBit(cell + 1)) {
+        moves.set(cell, this.isLegalAt(cell, player));
       }
     }
-    return true;
+  }
+
+  /**
+   * Returns whether the given player can play at the given coordinate under the rules of the
+   * ReversiRuleKeeper, scanning the lines from the cell straight on this board's storage.
+   * Only reads the board, so it never brings any cached answer up to date.
+   *
+   * @param coord  the coordinate to check.
+   * @param player the player who would play there.
+   * @return whether the move is legal.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet been started.
+   */
+  @Override
+  public boolean isLegalMove(Coordinate coord, DiscColor player) {
+    this.gameNotYetStartedException();
+    int cell = this.validIndexOf(coord);
+    this.invalidPlayerColorException(player);
+    return this.isLegalAt(cell, player);
+  }
+
+  /**
+   * Returns every legal move of the given player under the rules of the ReversiRuleKeeper.
+   * With the default rules this is a copy of the cached legal moves; otherwise the board is
+   * scanned, without asking the rule keeper.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the player's legal moves, by the index of their cells in board order.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet been started.
+   */
+  @Override
+  public MoveSet legalMoves(DiscColor player) {
+    this.invalidPlayerColorException(player);
+    this.gameNotYetStartedException();
+    BitSet moves = this.usesDefaultRules() ? this.legalMoveBits(player)
+        : this.findLegalMoves(player);
+    return new MoveSet(moves, this.index::coordinateOf);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves under
+   * the rules of the ReversiRuleKeeper. On a board with many legal moves the counts are worked
+   * out on several threads.
+   *
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of legalMoves(player).toArray().
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet been started.
+   */
+  @Override
+  public int[] flipCounts(DiscColor player) {
+    int[] moves = this.legalMoves(player).toArray();
+    return ParallelMoveGenerator.flipCounts(moves, cell -> this.flipCountAt(cell, player));
+  }
+
+  /**
+   * Returns the variant of the rules of the ReversiRuleKeeper this board generates moves by: the
+   * variant of its rule keeper, or the rules of this game for any other rule keeper.
+   *
+   * @return the rule variant.
+   */
+  @Override
+  public RuleVariant getRuleVariant() {
+    return this.variant;
+  }
+
+  /**
+   * Returns whether the given player can play on the cell at the given index, following the
+   * rules of the ReversiRuleKeeper in this board's variant: the cell is empty and it sandwiches
+   * a line of discs of one other color or, if the variant allows it, it is next to one of the
+   * player's discs.
+   *
+   * @param cell   the index of the cell.
+   * @param player the player who would play there.
+   * @return whether the move is legal.
+   */
+  protected boolean isLegalAt(int cell, DiscColor player) {
+    if (this.colorAt(cell) != DiscColor.NONE) {
+      return false;
+    }
+    if (this.variant.allowsAdjacentMoves()) {
+      for (int d = 0; d < this.tables.numDirections(); d++) {
+        int neighbor = this.tables.step(cell, d);
+        if (neighbor >= 0 && this.colorAt(neighbor) == player) {
+          return true;
+        }
+      }
+    }
+    for (int d = 0; d < this.tables.numDirections(); d++) {
+      if (this.sandwichedAlong(cell, d, player) > 0) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -679,4 +1487,167 @@ public abstract class AbstractReversiModel implements IModel {
       listener.run();
     }
   }
+
+  /**
+   * Returns the Zobrist key of the current position: the discs on the board,
+   * whose turn it is and whether the last move was a pass.
+   *
+   * @return the 64-bit key of the current position.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public long getPositionHash() {
+    this.gameNotYetStartedException();
+    long hash = this.discHash ^ Zobrist.turn(this.getTurn());
+    return this.pass ? hash ^ Zobrist.PASS_KEY : hash;
+  }
+
+  /**
+   * A cell of this board that reads and writes its color through the board,
+   * so that changing a cell directly keeps the board's bookkeeping up to date.
+   */
+  private final class BoardCell implements ICell {
+    private final int cell;
+
+    /**
+     * Constructs a view of the cell at the given index.
+     *
+     * @param cell the index of the cell.
+     */
+    BoardCell(int cell) {
+      this.cell = cell;
+    }
+
+    @Override
+    public DiscColor getColor() {
+      return colorAt(this.cell);
+    }
+
+    @Override
+    public void changeColor(DiscColor color) {
+      if (color == null) {
+        throw new IllegalArgumentException("Color cannot be null.");
+      } else if (this.getColor() == color) {
+        throw new IllegalArgumentException("already this color");
+      }
+      recolor(this.cell, color);
+    }
+
+    @Override
+    public String toString() {
+      return this.getColor().toString();
+    }
+
+    @Override
+    public ICell makeCell() {
+      return cellType.makeCell();
+    }
+  }
+
+  /**
+   * A cell of a copy of the grid, made by getCopyOfAllCoords: a view over a snapshot of the
+   * board's colors that only the copied cells can see.
+   */
+  private static final class CopiedCell implements ICell {
+    private final ChunkedColors colors;
+    private final int cell;
+    private final ICell cellType;
+
+    /**
+     * Constructs a view of the given cell of the copied colors.
+     *
+     * @param colors   the copied colors.
+     * @param cell     the index of the cell.
+     * @param cellType the type of cell of the board.
+     */
+    CopiedCell(ChunkedColors colors, int cell, ICell cellType) {
+      this.colors = colors;
+      this.cell = cell;
+      this.cellType = cellType;
+    }
+
+    @Override
+    public DiscColor getColor() {
+      return COLORS[this.colors.get(this.cell)];
+    }
+
+    @Override
+    public void changeColor(DiscColor color) {
+      if (color == null) {
+        throw new IllegalArgumentException("Color cannot be null.");
+      } else if (this.getColor() == color) {
+        throw new IllegalArgumentException("already this color");
+      }
+      this.colors.set(this.cell, (byte) color.ordinal());
+    }
+
+    @Override
+    public String toString() {
+      return this.getColor().toString();
+    }
+
+    @Override
+    public ICell makeCell() {
+      return this.cellType.makeCell();
+    }
+  }
+
+  /**
+   * A read-only view of a set of cells of this board, as coordinates in board order, that always
+   * reflects the cells its supplier gives.
+   */
+  private final class CellSet extends AbstractSet<Coordinate> {
+    private final Supplier<BitSet> cells;
+
+    /**
+     * Constructs a view of the cells the given supplier gives.
+     *
+     * @param cells supplies the indices of the cells, brought up to date.
+     */
+    CellSet(Supplier<BitSet> cells) {
+      this.cells = cells;
+    }
+
+    @Override
+    public Iterator<Coordinate> iterator() {
+      BitSet bits = this.cells.get();
+      return new Iterator<>() {
+        private int next = bits.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return this.next >= 0;
+        }
+
+        @Override
+        public Coordinate next() {
+          if (this.next < 0) {
+            throw new NoSuchElementException();
+          }
+          Coordinate coord = index.coordinateOf(this.next);
+          this.next = bits.nextSetBit(this.next + 1);
+          return coord;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return this.cells.get().cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.cells.get().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Coordinate)) {
+        return false;
+      }
+      int cell = index.indexOf((Coordinate) o);
+      return cell >= 0 && this.cells.get().get(cell);
+    }
+  }
 }
@@ -0,0 +1,419 @@
+package model.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import model.cell.DiscColor;
+import model.cell.ICell;
+import ruleskeeper.RuleKeeper;
+
+/**
+ * Represents a model for a square Reversi game whose discs are stored in bitboards.
+ * Every disc color owns one long mask, where each bit is a cell of the board in row-major order
+ * (the zero row and column are skipped, like they are in a regular square board).
+ * Moves are generated and flipped with shift-and-mask operations instead of walking coordinates,
+ * so a board can have at most 4 layers (8x8 cells).
+ */
+public class BitboardSquareReversiModel extends SquareReversiModel {
+  public static final int MAX_LAYERS = 4;
+  private static final DiscColor[] COLORS = DiscColor.values();
+  // (row, col) transitions in the same order as the neighbors of a square board.
+  private static final int[][] DIRECTIONS = {
+      {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+  // fields are set in initStorage, which runs before the fields of this class would be initialized.
+  private int side;
+  private long boardMask;
+  private long[] discs; // one mask per disc color ordinal, the NONE mask is never used.
+  private int[] shifts;
+  private long[] shiftMasks;
+  private BitSet[] moveSets; // the legal moves of each color at this position, by color ordinal.
+
+  /**
+   * Constructor of the class BitboardSquareReversiModel.
+   * INVARIANT: the given number of layers is between 2 and 4.
+   *
+   * @param ruleKeeper   the rule keeper to use for this board.
+   * @param typeCell     the type of cell that copies of this board's cells are made from.
+   * @param layers       the number of layers in this board (side-length divided by 2).
+   * @param playerColors the player colors (to be able to play with different colors).
+   * @throws IllegalArgumentException if the given rule keeper is null,
+   *                                  or if the given cell is null,
+   *                                  or if the given number of layers is less than 2,
+   *                                  or if the given number of layers is more than 4,
+   *                                  or if the given list of colors is not of size 2,
+   *                                  or if the given list of colors contains a NONE color,
+   *                                  or if the given list of colors contains a null color,
+   *                                  or if the given list of colors contains a duplicate color,
+   *                                  or if the given list of colors is null.
+   */
+  BitboardSquareReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+                             int layers, List<DiscColor> playerColors) {
+    super(ruleKeeper, typeCell, layers, playerColors);
+  }
+
+  /**
+   * Create a copy of the given model.
+   *
+   * @param model the model to copy.
+   * @throws IllegalArgumentException if the given model has more than 4 layers.
+   */
+  public BitboardSquareReversiModel(IModel model) {
+    super(model);
+  }
+
+  /**
+   * Sets up empty bitboards and the shift and mask tables for this board's side-length.
+   * The bit of a cell is its index, since both are compact row-major positions.
+   *
+   * @throws IllegalArgumentException if this board has more than 4 layers.
+   */
+  @Override
+  protected void initStorage() {
+    if (this.layers > MAX_LAYERS) {
+      throw new IllegalArgumentException("A bitboard can have at most "
+              + MAX_LAYERS + " layers.");
+    }
+    this.side = 2 * this.layers;
+    int numCells = this.side * this.side;
+    this.boardMask = numCells == Long.SIZE ? -1L : (1L << numCells) - 1;
+    this.discs = new long[COLORS.length];
+    this.moveSets = new BitSet[COLORS.length];
+
+    long firstCol = 0L;
+    for (int row = 0; row < this.side; row++) {
+      firstCol |= 1L << (row * this.side);
+    }
+    long lastCol = firstCol << (this.side - 1);
+    this.shifts = new int[DIRECTIONS.length];
+    this.shiftMasks = new long[DIRECTIONS.length];
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      this.shifts[d] = DIRECTIONS[d][0] * this.side + DIRECTIONS[d][1];
+      // moving sideways wraps around to the next row, so the wrapped column is masked off.
+      if (DIRECTIONS[d][1] == 1) {
+        this.shiftMasks[d] = this.boardMask & ~firstCol;
+      } else if (DIRECTIONS[d][1] == -1) {
+        this.shiftMasks[d] = this.boardMask & ~lastCol;
+      } else {
+        this.shiftMasks[d] = this.boardMask;
+      }
+    }
+  }
+
+  /**
+   * Returns the color of the cell at the given index, straight from the bitboards.
+   *
+   * @param cell the index of the cell.
+   * @return the color of the cell.
+   */
+  @Override
+  protected DiscColor colorAt(int cell) {
+    return this.colorOf(1L << cell);
+  }
+
+  /**
+   * Stores the given color for the cell at the given index in the bitboards.
+   *
+   * @param cell  the index of the cell.
+   * @param color the new color of the cell.
+   */
+  @Override
+  protected void setColorAt(int cell, DiscColor color) {
+    long bit = 1L << cell;
+    for (int i = 0; i < this.discs.length; i++) {
+      this.discs[i] &= ~bit;
+    }
+    if (color != DiscColor.NONE) {
+      this.discs[color.ordinal()] |= bit;
+    }
+  }
+
+  /**
+   * Returns the bit of the given coordinate on this board.
+   *
+   * @param coord a valid coordinate of this board.
+   * @return the bit of the given coordinate.
+   */
+  private long bitOf(Coordinate coord) {
+    return 1L << this.index.indexOf(coord);
+  }
+
+  /**
+   * Returns the coordinate of the given single-bit mask on this board.
+   *
+   * @param bit a mask with exactly one bit of this board set.
+   * @return the coordinate of the given bit.
+   */
+  private Coordinate coordinateOf(long bit) {
+    return this.index.coordinateOf(Long.numberOfTrailingZeros(bit));
+  }
+
+  /**
+   * Moves every bit of the given mask one cell in the given direction,
+   * dropping the bits that fall off the board.
+   *
+   * @param mask      the mask to shift.
+   * @param direction the index of the direction to shift in.
+   * @return the shifted mask.
+   */
+  private long shift(long mask, int direction) {
+    int amount = this.shifts[direction];
+    long shifted = amount > 0 ? mask << amount : mask >>> -amount;
+    return shifted & this.shiftMasks[direction];
+  }
+
+  /**
+   * Returns the mask of every cell that holds a disc.
+   *
+   * @return the mask of every occupied cell.
+   */
+  private long occupied() {
+    long occupied = 0L;
+    for (long mask : this.discs) {
+      occupied |= mask;
+    }
+    return occupied;
+  }
+
+  /**
+   * Returns the color of the disc on the given single-bit mask.
+   *
+   * @param bit a mask with exactly one bit of this board set.
+   * @return the color of the disc on that bit, NONE if it is empty.
+   */
+  private DiscColor colorOf(long bit) {
+    for (DiscColor color : COLORS) {
+      if ((this.discs[color.ordinal()] & bit) != 0) {
+        return color;
+      }
+    }
+    return DiscColor.NONE;
+  }
+
+  /**
+   * Returns the mask of every empty cell where the given player can play, according to the
+   * rules of the ReversiRuleKeeper in this board's variant: playing there sandwiches a line of
+   * discs of a single other color or, if the variant allows it, the cell is next to one of the
+   * player's discs.
+   *
+   * @param player the player to generate the moves of.
+   * @return the mask of the player's legal moves.
+   */
+  private long legalMoveMask(DiscColor player) {
+    long own = this.discs[player.ordinal()];
+    long empty = this.boardMask & ~this.occupied();
+    long moves = 0L;
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      long next = this.shift(own, d);
+      if (this.variant.allowsAdjacentMoves()) {
+        moves |= next; // a like neighbor is a legal move on its own.
+      }
+      for (DiscColor other : COLORS) {
+        long opponent = this.discs[other.ordinal()];
+        if (other == player || opponent == 0L) {
+          continue;
+        }
+        // grow lines of the opponent's discs starting next to the player's discs.
+        long line = next & opponent;
+        long grown = line | (this.shift(line, d) & opponent);
+        while (grown != line) {
+          line = grown;
+          grown = line | (this.shift(line, d) & opponent);
+        }
+        moves |= this.shift(line, d);
+      }
+    }
+    return moves & empty;
+  }
+
+  /**
+   * Returns the mask of the discs that playing the given bit would sandwich for the player.
+   *
+   * @param move   a mask with exactly one bit of this board set.
+   * @param player the player making the move.
+   * @return the mask of the discs to flip.
+   */
+  private long flips(long move, DiscColor player) {
+    long own = this.discs[player.ordinal()];
+    long others = this.occupied() & ~own;
+    long flips = 0L;
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      long next = this.shift(move, d);
+      if ((next & others) == 0L) {
+        continue;
+      }
+      long opponent = this.discs[this.colorOf(next).ordinal()];
+      long line = 0L;
+      while ((next & opponent) != 0L) {
+        line |= next;
+        next = this.shift(next, d);
+      }
+      if ((next & own) != 0L) {
+        flips |= line;
+      }
+    }
+    return flips;
+  }
+
+
+  /**
+   * Returns the discs the given player would flip by playing on the cell at the given index,
+   * straight from the flip mask of the bitboards.
+   *
+   * @param origin the index of the cell.
+   * @param player a player of this game.
+   * @return the indices of the cells of the flipped discs.
+   */
+  @Override
+  protected BitSet flipsAt(int origin, DiscColor player) {
+    return BitSet.valueOf(new long[] {this.flips(1L << origin, player)});
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing on the cell at the given
+   * index, counting the bits of the flip mask of the bitboards.
+   *
+   * @param origin the index of the cell.
+   * @param player a player of this game.
+   * @return the number of discs flipped.
+   */
+  @Override
+  protected int flipCountAt(int origin, DiscColor player) {
+    return Long.bitCount(this.flips(1L << origin, player));
+  }
+
+  /**
+   * Returns a list of coordinates of 1st degree neighbors the origin cell can sandwich.
+   *
+   * @param origin the origin cell that was clicked on.
+   * @param player the player color to get the sandwichable neighbors of.
+   * @return a list of neighbors to sandwich with.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public List<Coordinate> getSandwichableNeighbors(Coordinate origin, DiscColor player) {
+    this.gameNotYetStartedException();
+    this.invalidCoordinateException(origin);
+    this.invalidPlayerColorException(player);
+
+    long own = this.discs[player.ordinal()];
+    long others = this.occupied() & ~own;
+    long start = this.bitOf(origin);
+    List<Coordinate> sandwichableNeighbors = new ArrayList<>();
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      long next = this.shift(start, d);
+      if ((next & others) == 0L) {
+        continue;
+      }
+      long opponent = this.discs[this.colorOf(next).ordinal()];
+      long line = 0L;
+      while ((next & opponent) != 0L) {
+        line |= next;
+        next = this.shift(next, d);
+      }
+      if ((next & own) != 0L) {
+        // add the line from the origin outwards.
+        next = this.shift(start, d);
+        while ((next & line) != 0L) {
+          sandwichableNeighbors.add(this.coordinateOf(next));
+          next = this.shift(next, d);
+        }
+      }
+    }
+    return sandwichableNeighbors;
+  }
+
+  /**
+   * Play the disc at the given coordinate, and modify
+   * the color of the cells that need to be changed accordingly.
+   * With the default rules, the move is checked and flipped on the bitboards directly.
+   *
+   * @param coord where the player is trying to play.
+   * @throws IllegalStateException    if the move is invalid.
+   * @throws IllegalArgumentException if the given coordinate is invalid.
+   * @throws IllegalStateException    if the game is over, or if the game has not yet been started.
+   */
+  @Override
+  public MoveRecord playDisc(Coordinate coord) {
+    if (!this.usesDefaultRules()) {
+      return super.playDisc(coord);
+    }
+    this.gameNotYetStartedException();
+    this.gameIsOverException();
+    this.invalidCoordinateException(coord);
+
+    DiscColor player = this.whoseTurn;
+    long move = this.bitOf(coord);
+    if ((this.legalMoveMask(player) & move) == 0L) {
+      throw new IllegalStateException("Invalid move. Can't play disc here.");
+    }
+    long flips = this.flips(move, player);
+    // the played cell comes first in the record, then the flipped discs.
+    int[] cells = new int[1 + Long.bitCount(flips)];
+    byte[] previousColors = new byte[cells.length];
+    cells[0] = Long.numberOfTrailingZeros(move);
+    previousColors[0] = (byte) DiscColor.NONE.ordinal();
+    long remaining = flips;
+    for (int i = 1; i < cells.length; i++) {
+      long bit = Long.lowestOneBit(remaining);
+      cells[i] = Long.numberOfTrailingZeros(bit);
+      previousColors[i] = (byte) this.colorOf(bit).ordinal();
+      remaining &= ~bit;
+    }
+    MoveRecord record = this.makeRecord(cells, previousColors);
+    for (int cell : cells) {
+      this.recolor(cell, player);
+    }
+
+    this.endTurn();
+    return record;
+  }
+
+  /**
+   * Returns the indices of the cells where the given player can play right now.
+   * With the default rules, the moves are the bits of the legal move mask, worked out once per
+   * position.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's legal moves; not to be modified.
+   */
+  @Override
+  protected BitSet legalMoveBits(DiscColor player) {
+    if (!this.usesDefaultRules()) {
+      return super.legalMoveBits(player);
+    }
+    BitSet moves = this.moveSets[player.ordinal()];
+    if (moves == null) {
+      moves = BitSet.valueOf(new long[] {this.legalMoveMask(player)});
+      this.moveSets[player.ordinal()] = moves;
+    }
+    return moves;
+  }
+
+  /**
+   * Records that the position changed, dropping the legal moves worked out for the previous one.
+   */
+  @Override
+  protected void positionChanged() {
+    super.positionChanged();
+    Arrays.fill(this.moveSets, null);
+  }
+
+  /**
+   * Returns an actionable copy of the board.
+   *
+   * @param model the model to get the actionable copy of.
+   * @return an actionable copy of the board.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public IModel getActionableCopyOfBoard(IModel model) {
+    this.gameNotYetStartedException();
+
+    return new BitboardSquareReversiModel(model);
+  }
+}
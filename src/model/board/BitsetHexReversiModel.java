@@ -0,0 +1,500 @@
+package model.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import model.cell.DiscColor;
+import model.cell.ICell;
+import ruleskeeper.RuleKeeper;
+
+/**
+ * Represents the board of a hex Reversi game whose discs are stored in multi-word bitsets.
+ * The hexagon is packed row by row into a long array, where every row is one bit wider than the
+ * hexagon so that moving off the side of a row lands in a padding bit instead of the next row.
+ * Every disc color owns one bitset, and every axial direction is a fixed shift of the whole
+ * bitset, so move generation works on 64 cells at a time.
+ */
+public class BitsetHexReversiModel extends HexReversiModel {
+  private static final DiscColor[] COLORS = DiscColor.values();
+  // (row, col) transitions in the same order as the neighbors of a hex board.
+  private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}, {1, -1}, {-1, 1}};
+
+  // fields are set in initStorage, which runs before the fields of this class would be initialized.
+  private int stride;
+  private int numWords;
+  private long[] boardMask;
+  private long[][] discs; // one bitset per disc color ordinal, the NONE bitset is never used.
+  private int[] shifts;
+  private int[] positions; // the bit position of each cell index.
+  private BitSet[] moveSets; // the legal moves of each color at this position, by color ordinal.
+
+  /**
+   * Constructor of the class BitsetHexReversiModel.
+   * INVARIANT: the given number of layers is not less than 1.
+   *
+   * @param ruleKeeper   the rule keeper to use for this board.
+   * @param typeCell     the type of cell that copies of this board's cells are made from.
+   * @param layers       the number of layers in this board.
+   * @param playerColors the player colors (to be able to play with different colors).
+   * @param multiplayer  whether more than two players may play.
+   * @throws IllegalArgumentException if the given rule keeper is null,
+   *                                  or if the given cell is null,
+   *                                  or if the given number of layers is less than 1,
+   *                                  or if the given list of colors is not of size 2,
+   *                                  or not of size 2 or 3 for a multiplayer board,
+   *                                  or if the given list of colors contains a NONE color,
+   *                                  or if the given list of colors contains a null color,
+   *                                  or if the given list of colors contains a duplicate color,
+   *                                  or if the given list of colors is null.
+   */
+  BitsetHexReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+                        int layers, List<DiscColor> playerColors, boolean multiplayer) {
+    super(ruleKeeper, typeCell, layers, playerColors, multiplayer);
+  }
+
+  /**
+   * Create a copy of the given model.
+   *
+   * @param model the model to copy.
+   */
+  public BitsetHexReversiModel(IModel model) {
+    super(model);
+  }
+
+  /**
+   * Sets up empty bitsets and the shift table for this board's layers.
+   */
+  @Override
+  protected void initStorage() {
+    int width = 2 * this.layers + 1;
+    this.stride = width + 1; // one padding bit at the end of every row.
+    this.numWords = (width * this.stride + Long.SIZE - 1) / Long.SIZE;
+    this.discs = new long[COLORS.length][this.numWords];
+    this.moveSets = new BitSet[COLORS.length];
+
+    this.boardMask = new long[this.numWords];
+    this.positions = new int[this.index.size()];
+    for (int i = 0; i < this.positions.length; i++) {
+      this.positions[i] = this.positionOf(this.index.rowOf(i), this.index.colOf(i));
+      setBit(this.boardMask, this.positions[i]);
+    }
+    this.shifts = new int[DIRECTIONS.length];
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      this.shifts[d] = DIRECTIONS[d][0] * this.stride + DIRECTIONS[d][1];
+    }
+  }
+
+  /**
+   * Returns the bit position of the given row and column in this board's bitsets.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the bit position of the cell.
+   */
+  private int positionOf(int row, int col) {
+    return (row + this.layers) * this.stride + col + this.layers;
+  }
+
+  /**
+   * Returns the bit position of the given coordinate in this board's bitsets.
+   *
+   * @param coord a valid coordinate of this board.
+   * @return the bit position of the coordinate.
+   */
+  private int positionOf(Coordinate coord) {
+    return this.positionOf(coord.getRow(), coord.getCol());
+  }
+
+  /**
+   * Returns the index of the cell at the given bit position in this board's coordinate index.
+   *
+   * @param position a bit position of a cell of this board.
+   * @return the index of that cell.
+   */
+  private int indexOf(int position) {
+    return this.index.indexOf(position / this.stride - this.layers,
+            position % this.stride - this.layers);
+  }
+
+  /**
+   * Returns the coordinate of the given bit position.
+   *
+   * @param position a bit position of a cell of this board.
+   * @return the coordinate of the bit position.
+   */
+  private Coordinate coordinateOf(int position) {
+    return new Coordinate(position / this.stride - this.layers,
+            position % this.stride - this.layers);
+  }
+
+  /**
+   * Returns whether the given bit position is a cell of this board.
+   *
+   * @param position the bit position to check, which can be out of range.
+   * @return whether the bit position is on the board.
+   */
+  private boolean onBoard(int position) {
+    return position >= 0 && position < this.numWords * Long.SIZE
+            && testBit(this.boardMask, position);
+  }
+
+  /**
+   * Returns the color of the disc at the given bit position.
+   *
+   * @param position a bit position of a cell of this board.
+   * @return the color of the disc at that position, NONE if it is empty.
+   */
+  private DiscColor colorOf(int position) {
+    for (DiscColor color : COLORS) {
+      if (testBit(this.discs[color.ordinal()], position)) {
+        return color;
+      }
+    }
+    return DiscColor.NONE;
+  }
+
+  /**
+   * Writes the given bitset moved one cell in the given direction into the destination,
+   * dropping the bits that fall off the board.
+   *
+   * @param source      the bitset to shift.
+   * @param direction   the index of the direction to shift in.
+   * @param destination the bitset to write to, which cannot be the source.
+   */
+  private void shift(long[] source, int direction, long[] destination) {
+    int amount = this.shifts[direction];
+    int wordShift = Math.abs(amount) / Long.SIZE;
+    int bitShift = Math.abs(amount) % Long.SIZE;
+    for (int i = 0; i < this.numWords; i++) {
+      long word;
+      if (amount > 0) { // towards higher positions.
+        int from = i - wordShift;
+        word = from >= 0 ? source[from] << bitShift : 0L;
+        if (bitShift != 0 && from - 1 >= 0) {
+          word |= source[from - 1] >>> (Long.SIZE - bitShift);
+        }
+      } else { // towards lower positions.
+        int from = i + wordShift;
+        word = from < this.numWords ? source[from] >>> bitShift : 0L;
+        if (bitShift != 0 && from + 1 < this.numWords) {
+          word |= source[from + 1] << (Long.SIZE - bitShift);
+        }
+      }
+      destination[i] = word & this.boardMask[i];
+    }
+  }
+
+  /**
+   * Returns the bitset of every empty cell where the given player can play, according to the
+   * rules of the ReversiRuleKeeper in this board's variant: playing there sandwiches a line of
+   * discs of a single other color or, if the variant allows it, the cell is next to one of the
+   * player's discs.
+   *
+   * @param player the player to generate the moves of.
+   * @return the bitset of the player's legal moves.
+   */
+  private long[] generateLegalMoves(DiscColor player) {
+    long[] own = this.discs[player.ordinal()];
+    long[] moves = new long[this.numWords];
+    long[] next = new long[this.numWords];
+    long[] line = new long[this.numWords];
+    long[] grown = new long[this.numWords];
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      this.shift(own, d, next);
+      if (this.variant.allowsAdjacentMoves()) {
+        for (int i = 0; i < this.numWords; i++) {
+          moves[i] |= next[i]; // a like neighbor is a legal move on its own.
+        }
+      }
+      for (DiscColor other : COLORS) {
+        long[] opponent = this.discs[other.ordinal()];
+        if (other == player || isEmpty(opponent)) {
+          continue;
+        }
+        // grow lines of the opponent's discs starting next to the player's discs.
+        boolean any = false;
+        for (int i = 0; i < this.numWords; i++) {
+          line[i] = next[i] & opponent[i];
+          any |= line[i] != 0L;
+        }
+        boolean growing = any;
+        while (growing) {
+          this.shift(line, d, grown);
+          growing = false;
+          for (int i = 0; i < this.numWords; i++) {
+            long added = grown[i] & opponent[i] & ~line[i];
+            growing |= added != 0L;
+            line[i] |= added;
+          }
+        }
+        if (any) {
+          this.shift(line, d, grown);
+          for (int i = 0; i < this.numWords; i++) {
+            moves[i] |= grown[i];
+          }
+        }
+      }
+    }
+    for (int i = 0; i < this.numWords; i++) {
+      long occupied = 0L;
+      for (long[] bitset : this.discs) {
+        occupied |= bitset[i];
+      }
+      moves[i] &= this.boardMask[i] & ~occupied;
+    }
+    return moves;
+  }
+
+  /**
+   * Returns the length of the line of discs of a single other color that starts next to the
+   * given position in the given direction and ends with one of the player's discs.
+   *
+   * @param position  the bit position the line starts next to.
+   * @param direction the index of the direction of the line.
+   * @param player    the player sandwiching the line.
+   * @return the number of discs sandwiched in that direction, 0 if none.
+   */
+  private int sandwichLength(int position, int direction, DiscColor player) {
+    int step = this.shifts[direction];
+    int current = position + step;
+    if (!this.onBoard(current)) {
+      return 0;
+    }
+    DiscColor lineColor = this.colorOf(current);
+    if (lineColor == DiscColor.NONE || lineColor == player) {
+      return 0;
+    }
+    int length = 0;
+    while (this.onBoard(current) && testBit(this.discs[lineColor.ordinal()], current)) {
+      length++;
+      current += step;
+    }
+    if (this.onBoard(current) && testBit(this.discs[player.ordinal()], current)) {
+      return length;
+    }
+    return 0;
+  }
+
+
+  /**
+   * Returns a list of coordinates of 1st degree neighbors the origin cell can sandwich.
+   *
+   * @param origin the origin cell that was clicked on.
+   * @param player the player color to get the sandwichable neighbors of.
+   * @return a list of neighbors to sandwich with.
+   * @throws IllegalStateException    if the game has not yet been started.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public List<Coordinate> getSandwichableNeighbors(Coordinate origin, DiscColor player) {
+    this.gameNotYetStartedException();
+    this.invalidCoordinateException(origin);
+    this.invalidPlayerColorException(player);
+
+    int position = this.positionOf(origin);
+    List<Coordinate> sandwichableNeighbors = new ArrayList<>();
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      int length = this.sandwichLength(position, d, player);
+      for (int i = 1; i <= length; i++) {
+        sandwichableNeighbors.add(this.coordinateOf(position + i * this.shifts[d]));
+      }
+    }
+    return sandwichableNeighbors;
+  }
+
+  /**
+   * Play the disc at the given coordinate, and modify
+   * the color of the cells that need to be changed accordingly.
+   * With the default rules, the move is checked and flipped on the bitsets directly.
+   *
+   * @param coord where the player is trying to play.
+   * @throws IllegalStateException    if the move is invalid.
+   * @throws IllegalArgumentException if the given coordinate is invalid.
+   * @throws IllegalStateException    if the game is over, or if the game has not yet been started.
+   */
+  @Override
+  public MoveRecord playDisc(Coordinate coord) {
+    if (!this.usesDefaultRules()) {
+      return super.playDisc(coord);
+    }
+    this.gameNotYetStartedException();
+    this.gameIsOverException();
+    this.invalidCoordinateException(coord);
+
+    DiscColor player = this.whoseTurn;
+    int position = this.positionOf(coord);
+    if (!this.isLegal(position, player)) {
+      throw new IllegalStateException("Invalid move. Can't play disc here.");
+    }
+    int[] lengths = new int[DIRECTIONS.length];
+    int numChanged = 1;
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      lengths[d] = this.sandwichLength(position, d, player);
+      numChanged += lengths[d];
+    }
+    // the played cell comes first in the record, then the flipped discs.
+    int[] cells = new int[numChanged];
+    byte[] previousColors = new byte[numChanged];
+    cells[0] = this.indexOf(position);
+    previousColors[0] = (byte) DiscColor.NONE.ordinal();
+    int changed = 1;
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      for (int i = 1; i <= lengths[d]; i++) {
+        int flipped = position + i * this.shifts[d];
+        cells[changed] = this.indexOf(flipped);
+        previousColors[changed] = (byte) this.colorOf(flipped).ordinal();
+        changed++;
+      }
+    }
+    MoveRecord record = this.makeRecord(cells, previousColors);
+    for (int cell : cells) {
+      this.recolor(cell, player);
+    }
+
+    this.endTurn();
+    return record;
+  }
+
+  /**
+   * Returns whether the given player can play at the given position.
+   *
+   * @param position a bit position of a cell of this board.
+   * @param player   the player making the move.
+   * @return whether the move is legal.
+   */
+  private boolean isLegal(int position, DiscColor player) {
+    if (this.colorOf(position) != DiscColor.NONE) {
+      return false;
+    }
+    if (this.variant.allowsAdjacentMoves()) {
+      for (int d = 0; d < DIRECTIONS.length; d++) {
+        int neighbor = position + this.shifts[d];
+        if (this.onBoard(neighbor) && testBit(this.discs[player.ordinal()], neighbor)) {
+          return true;
+        }
+      }
+    }
+    for (int d = 0; d < DIRECTIONS.length; d++) {
+      if (this.sandwichLength(position, d, player) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the color of the cell at the given index, straight from the bitsets.
+   *
+   * @param cell the index of the cell.
+   * @return the color of the cell.
+   */
+  @Override
+  protected DiscColor colorAt(int cell) {
+    return this.colorOf(this.positions[cell]);
+  }
+
+  /**
+   * Moves the cell at the given index to the bitset of the given color.
+   *
+   * @param cell  the index of the cell.
+   * @param color the new color of the cell, NONE to empty it.
+   */
+  @Override
+  protected void setColorAt(int cell, DiscColor color) {
+    int position = this.positions[cell];
+    for (long[] bitset : this.discs) {
+      bitset[position / Long.SIZE] &= ~(1L << position);
+    }
+    if (color != DiscColor.NONE) {
+      setBit(this.discs[color.ordinal()], position);
+    }
+  }
+
+  /**
+   * Returns the indices of the cells where the given player can play right now.
+   * With the default rules, the moves are generated on the bitsets once per position.
+   *
+   * @param player a player of this game.
+   * @return the indices of the player's legal moves; not to be modified.
+   */
+  @Override
+  protected BitSet legalMoveBits(DiscColor player) {
+    if (!this.usesDefaultRules()) {
+      return super.legalMoveBits(player);
+    }
+    BitSet moves = this.moveSets[player.ordinal()];
+    if (moves == null) {
+      moves = new BitSet(this.index.size());
+      long[] bitset = this.generateLegalMoves(player);
+      for (int i = 0; i < bitset.length; i++) {
+        for (long word = bitset[i]; word != 0L; word &= word - 1) {
+          moves.set(this.indexOf(i * Long.SIZE + Long.numberOfTrailingZeros(word)));
+        }
+      }
+      this.moveSets[player.ordinal()] = moves;
+    }
+    return moves;
+  }
+
+  /**
+   * Records that the position changed, dropping the legal moves generated for the previous one.
+   */
+  @Override
+  protected void positionChanged() {
+    super.positionChanged();
+    Arrays.fill(this.moveSets, null);
+  }
+
+  /**
+   * Returns an actionable copy of the board.
+   *
+   * @param model the model to get the actionable copy of.
+   * @return an actionable copy of the board.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public IModel getActionableCopyOfBoard(IModel model) {
+    this.gameNotYetStartedException();
+
+    return new BitsetHexReversiModel(model);
+  }
+
+  /**
+   * Returns whether the given bit of the given bitset is set.
+   *
+   * @param bitset   the bitset to check.
+   * @param position the bit position to check.
+   * @return whether the bit is set.
+   */
+  private static boolean testBit(long[] bitset, int position) {
+    return (bitset[position / Long.SIZE] & (1L << position)) != 0L;
+  }
+
+  /**
+   * Sets the given bit of the given bitset.
+   *
+   * @param bitset   the bitset to change.
+   * @param position the bit position to set.
+   */
+  private static void setBit(long[] bitset, int position) {
+    bitset[position / Long.SIZE] |= 1L << position;
+  }
+
+  /**
+   * Returns whether no bit of the given bitset is set.
+   *
+   * @param bitset the bitset to check.
+   * @return whether the bitset is empty.
+   */
+  private static boolean isEmpty(long[] bitset) {
+    for (long word : bitset) {
+      if (word != 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
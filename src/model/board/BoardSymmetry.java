@@ -0,0 +1,331 @@
+package model.board;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.cell.DiscColor;
+
+/**
+ * The symmetries of a board shape, used to recognize positions that are the same up to rotating
+ * or reflecting the board: hex boards have 12 symmetries and square boards have 8.
+ * Every symmetry is a rotation of the board, after a reflection across its main diagonal for the
+ * second half of them, and is linear in the row and column of a coordinate (square coordinates
+ * skip zero, so negating them stays on the board).
+ * Boards of up to BoardTables.MAX_PRECOMPUTED_CELLS cells get a permutation of their cell indices
+ * computed up front for every symmetry, so canonicalizing a position costs a few table lookups per
+ * disc. Like the board tables, the symmetries of a board are shared by every model of its shape
+ * and size, and those of the BoardTables.MAX_CACHED_SHAPES most recently asked for shapes are kept.
+ */
+public final class BoardSymmetry {
+  // the symmetries of the most recently asked for shapes, the least recently asked for dropped
+  // first.
+  private static final Map<CoordinateIndex, BoardSymmetry> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CoordinateIndex, BoardSymmetry> eldest) {
+          return this.size() > BoardTables.MAX_CACHED_SHAPES;
+        }
+      });
+  // a 60 degree turn of a hex board and a 90 degree turn of a square board, as
+  // {row from row, row from col, col from row, col from col}.
+  private static final int[] HEX_ROTATION = {1, 1, -1, 0};
+  private static final int[] SQUARE_ROTATION = {0, 1, -1, 0};
+  private static final int[] REFLECTION = {0, 1, 1, 0};
+
+  private final CoordinateIndex index;
+  private final int rotations;
+  private final int[][] matrices; // the matrix of each symmetry, identity first.
+  private final int[][] permutations; // the image of each cell under each symmetry, if computed.
+
+  /**
+   * Works out the symmetries of the board indexed by the given coordinate index.
+   *
+   * @param index the coordinate index of the board.
+   * @throws IllegalArgumentException if the board is neither a hex nor a square board.
+   */
+  private BoardSymmetry(CoordinateIndex index) {
+    int[] rotation;
+    if (index instanceof HexCoordinateIndex) {
+      rotation = HEX_ROTATION;
+      this.rotations = 6;
+    } else if (index instanceof SquareCoordinateIndex) {
+      rotation = SQUARE_ROTATION;
+      this.rotations = 4;
+    } else {
+      throw new IllegalArgumentException("Board shape has no known symmetries.");
+    }
+    this.index = index;
+    this.matrices = new int[2 * this.rotations][];
+    int[] turn = {1, 0, 0, 1};
+    for (int k = 0; k < this.rotations; k++) {
+      this.matrices[k] = turn;
+      this.matrices[k + this.rotations] = multiply(turn, REFLECTION);
+      turn = multiply(rotation, turn);
+    }
+    if (index.size() > BoardTables.MAX_PRECOMPUTED_CELLS) {
+      this.permutations = null;
+      return;
+    }
+    this.permutations = new int[this.matrices.length][index.size()];
+    for (int cell = 0; cell < index.size(); cell++) {
+      int row = index.rowOf(cell);
+      int col = index.colOf(cell);
+      for (int t = 0; t < this.matrices.length; t++) {
+        this.permutations[t][cell] = this.imageOf(t, row, col);
+      }
+    }
+  }
+
+  /**
+   * Returns the shared symmetries of the board indexed by the given coordinate index,
+   * working them out the first time a board of that shape and size is asked for.
+   *
+   * @param index the coordinate index of the board.
+   * @return the symmetries of the board.
+   * @throws IllegalArgumentException if the given index is null, or if the board is neither a
+   *                                  hex nor a square board.
+   */
+  public static BoardSymmetry of(CoordinateIndex index) {
+    if (index == null) {
+      throw new IllegalArgumentException("Coordinate index cannot be null.");
+    }
+    return CACHE.computeIfAbsent(index, BoardSymmetry::new);
+  }
+
+  /**
+   * Returns the number of symmetries of the board, the identity included.
+   *
+   * @return 12 for a hex board, 8 for a square board.
+   */
+  public int size() {
+    return this.matrices.length;
+  }
+
+  /**
+   * Returns the index of the cell the given cell is moved to by the given symmetry.
+   *
+   * @param transform the index of the symmetry.
+   * @param cell      the index of the cell.
+   * @return the index of its image.
+   * @throws IllegalArgumentException if the symmetry or the cell does not exist.
+   */
+  public int apply(int transform, int cell) {
+    this.transformException(transform);
+    if (cell < 0 || cell >= this.index.size()) {
+      throw new IllegalArgumentException("Invalid cell index.");
+    }
+    return this.image(transform, cell);
+  }
+
+  /**
+   * Returns the coordinate the given coordinate is moved to by the given symmetry.
+   *
+   * @param transform the index of the symmetry.
+   * @param coord     the coordinate to move.
+   * @return the coordinate of its image.
+   * @throws IllegalArgumentException if the symmetry does not exist, or if the coordinate is not
+   *                                  on the board.
+   */
+  public Coordinate apply(int transform, Coordinate coord) {
+    this.transformException(transform);
+    if (!this.index.contains(coord)) {
+      throw new IllegalArgumentException("Invalid coordinate.");
+    }
+    int[] m = this.matrices[transform];
+    return new Coordinate(m[0] * coord.getRow() + m[1] * coord.getCol(),
+        m[2] * coord.getRow() + m[3] * coord.getCol());
+  }
+
+  /**
+   * Returns the symmetry that undoes the given one. Reflections undo themselves, and a turn is
+   * undone by the turn that completes it to a full circle.
+   *
+   * @param transform the index of the symmetry.
+   * @return the index of its inverse.
+   * @throws IllegalArgumentException if the symmetry does not exist.
+   */
+  public int inverse(int transform) {
+    this.transformException(transform);
+    return transform >= this.rotations ? transform : (this.rotations - transform) % this.rotations;
+  }
+
+  /**
+   * Returns the canonical form of the current position of the given model: the smallest of the
+   * position hashes of its images under every symmetry, together with the symmetry that takes the
+   * position to it. Equivalent positions have the same canonical hash, and under the identity the
+   * hash of a position is its ReadOnlyModel.getPositionHash, so a cache keyed on canonical hashes
+   * stores each family of equivalent positions once.
+   *
+   * A model that knows the coordinate index of its board must have the one these symmetries
+   * were worked out for; any other model must have exactly the cells of this board.
+   *
+   * @param model the started model to canonicalize, a board of this shape and size.
+   * @return the canonical hash of its position and the symmetry that produced it.
+   * @throws IllegalArgumentException if the model is null or a board of another shape or size.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  public CanonicalPosition canonicalize(ReadOnlyModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    } else if (model.getNumLayers() != this.index.getNumLayers() || !this.indexes(model)) {
+      throw new IllegalArgumentException("Model is not a board of this shape and size.");
+    }
+    long side = Zobrist.turn(model.getTurn()) ^ (model.getPass() ? Zobrist.PASS_KEY : 0L);
+    long[] hashes = new long[this.size()];
+    Arrays.fill(hashes, side);
+    int[] cells = {0};
+    model.forEachCell((coord, color) -> {
+      int cell = this.index.indexOf(coord);
+      if (cell < 0) {
+        throw new IllegalArgumentException("Model is not a board of this shape and size.");
+      }
+      cells[0]++;
+      if (color == DiscColor.NONE) {
+        return;
+      }
+      for (int t = 0; t < hashes.length; t++) {
+        hashes[t] ^= Zobrist.disc(this.image(t, cell), color);
+      }
+    });
+    if (cells[0] != this.index.size()) {
+      throw new IllegalArgumentException("Model is not a board of this shape and size.");
+    }
+    int best = 0;
+    for (int t = 1; t < hashes.length; t++) {
+      if (hashes[t] < hashes[best]) {
+        best = t;
+      }
+    }
+    return new CanonicalPosition(hashes[best], best);
+  }
+
+  /**
+   * Returns whether the given model may be a board of the shape these symmetries were worked out
+   * for: it is, if it knows the coordinate index of its board and that index is this one.
+   *
+   * @param model the model to check.
+   * @return false if the model is known to be a board of another shape or size.
+   */
+  private boolean indexes(ReadOnlyModel model) {
+    if (model instanceof LegalityCheck) {
+      CoordinateIndex other = ((LegalityCheck) model).getCoordinateIndex();
+      return other == null || other.equals(this.index);
+    }
+    return true;
+  }
+
+  /**
+   * Throws an IllegalArgumentException if the given symmetry does not exist.
+   *
+   * @param transform the index of the symmetry.
+   */
+  private void transformException(int transform) {
+    if (transform < 0 || transform >= this.matrices.length) {
+      throw new IllegalArgumentException("Invalid symmetry.");
+    }
+  }
+
+  /**
+   * Returns the index of the image of the given cell, from the permutation tables if the board
+   * has them.
+   *
+   * @param transform the index of a symmetry.
+   * @param cell      the index of a cell.
+   * @return the index of its image.
+   */
+  private int image(int transform, int cell) {
+    if (this.permutations != null) {
+      return this.permutations[transform][cell];
+    }
+    return this.imageOf(transform, this.index.rowOf(cell), this.index.colOf(cell));
+  }
+
+  /**
+   * Works out the index of the image of the cell at the given row and column.
+   *
+   * @param transform the index of the symmetry.
+   * @param row       the row of the cell.
+   * @param col       the column of the cell.
+   * @return the index of its image.
+   */
+  private int imageOf(int transform, int row, int col) {
+    int[] m = this.matrices[transform];
+    return this.index.indexOf(m[0] * row + m[1] * col, m[2] * row + m[3] * col);
+  }
+
+  /**
+   * Multiplies two 2x2 matrices, so that the product applies the right one first.
+   *
+   * @param left  the matrix applied second.
+   * @param right the matrix applied first.
+   * @return their product.
+   */
+  private static int[] multiply(int[] left, int[] right) {
+    return new int[] {
+        left[0] * right[0] + left[1] * right[2], left[0] * right[1] + left[1] * right[3],
+        left[2] * right[0] + left[3] * right[2], left[2] * right[1] + left[3] * right[3]};
+  }
+
+  /**
+   * The canonical form of a position: its canonical hash, and the symmetry that takes the
+   * position to its canonical image. Moves read from a store keyed on canonical hashes are moves
+   * of the canonical image, and are brought back to the position with fromCanonical.
+   */
+  public final class CanonicalPosition {
+    private final long hash;
+    private final int transform;
+
+    /**
+     * Constructs the canonical form of a position.
+     *
+     * @param hash      the canonical hash of the position.
+     * @param transform the symmetry that takes the position to its canonical image.
+     */
+    private CanonicalPosition(long hash, int transform) {
+      this.hash = hash;
+      this.transform = transform;
+    }
+
+    /**
+     * Returns the canonical hash, shared by every position equivalent to this one.
+     *
+     * @return the canonical hash.
+     */
+    public long getHash() {
+      return this.hash;
+    }
+
+    /**
+     * Returns the symmetry that takes the position to its canonical image.
+     *
+     * @return the index of the symmetry.
+     */
+    public int getTransform() {
+      return this.transform;
+    }
+
+    /**
+     * Moves a coordinate of the position to the matching coordinate of its canonical image.
+     *
+     * @param coord a coordinate of the position.
+     * @return the matching coordinate of the canonical image.
+     * @throws IllegalArgumentException if the coordinate is not on the board.
+     */
+    public Coordinate toCanonical(Coordinate coord) {
+      return apply(this.transform, coord);
+    }
+
+    /**
+     * Moves a coordinate of the canonical image back to the matching coordinate of the position.
+     *
+     * @param coord a coordinate of the canonical image.
+     * @return the matching coordinate of the position.
+     * @throws IllegalArgumentException if the coordinate is not on the board.
+     */
+    public Coordinate fromCanonical(Coordinate coord) {
+      return apply(inverse(this.transform), coord);
+    }
+  }
+}
@@ -0,0 +1,280 @@
+package model.board;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Coordinate, neighbor, step and corner tables of a board shape, by cell index, compiled from the
+ * geometry its coordinate index describes.
+ * The tables only depend on the shape and number of layers of a board, so they are computed
+ * once and shared by every model of that shape, including every copy of a model. The tables of
+ * the MAX_CACHED_SHAPES most recently asked for shapes are kept for new models; a model keeps
+ * its own tables however many other shapes are asked for after it.
+ * Boards of up to MAX_PRECOMPUTED_CELLS cells get their tables computed up front; larger boards
+ * (giant boards with layers in the thousands) compute every answer from the coordinate index
+ * when asked, so that they cost memory in proportion to what is played on them, not to their area.
+ * Rays cost memory in proportion to the area of a board times its width, so only boards of up to
+ * MAX_RAY_CELLS cells get every ray computed up front; larger boards walk the step table for a
+ * ray when asked for it.
+ * Tables are immutable once built: callers must not write into the returned arrays.
+ */
+public final class BoardTables {
+  /**
+   * The largest number of cells of a board whose tables are computed up front.
+   */
+  public static final int MAX_PRECOMPUTED_CELLS = 1 << 18;
+  /**
+   * The largest number of cells of a board whose rays are computed up front.
+   */
+  public static final int MAX_RAY_CELLS = 1 << 10;
+  /**
+   * The most shapes whose tables are kept for new models at once.
+   */
+  public static final int MAX_CACHED_SHAPES = 32;
+
+  // the tables of the most recently asked for shapes, the least recently asked for dropped first.
+  private static final Map<CoordinateIndex, BoardTables> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CoordinateIndex, BoardTables> eldest) {
+          return this.size() > MAX_CACHED_SHAPES;
+        }
+      });
+
+  private final CoordinateIndex index;
+  private final int[][] directions;
+  private final int[] opposites; // the direction opposite each direction.
+  private final boolean precomputed;
+  private final Coordinate[] coordinates; // the coordinate of each cell, if precomputed.
+  // the neighbor of each cell in each direction, or -1 at the edge, by cell * directions + d.
+  private final int[] steps;
+  private final int[][] neighbors; // the neighbors of each cell, in the board's neighbor order.
+  private final BitSet corners;
+  private final int[][] rays; // the ray from each cell in each direction, if computed up front.
+
+  /**
+   * Builds the tables of the given coordinate index.
+   *
+   * @param index the coordinate index of the board.
+   */
+  private BoardTables(CoordinateIndex index) {
+    this.index = index;
+    this.directions = index.getDirections();
+    this.opposites = new int[this.directions.length];
+    for (int d = 0; d < this.directions.length; d++) {
+      for (int o = 0; o < this.directions.length; o++) {
+        if (this.directions[o][0] == -this.directions[d][0]
+            && this.directions[o][1] == -this.directions[d][1]) {
+          this.opposites[d] = o;
+        }
+      }
+    }
+    int size = index.size();
+    this.precomputed = size <= MAX_PRECOMPUTED_CELLS;
+    if (!this.precomputed) {
+      this.coordinates = null;
+      this.steps = null;
+      this.neighbors = null;
+      this.corners = null;
+      this.rays = null;
+      return;
+    }
+    this.corners = new BitSet(size);
+    this.coordinates = new Coordinate[size];
+    this.steps = new int[size * this.directions.length];
+    this.neighbors = new int[size][];
+    for (int i = 0; i < size; i++) {
+      this.coordinates[i] = index.coordinateOf(i);
+      for (int d = 0; d < this.directions.length; d++) {
+        this.steps[i * this.directions.length + d] = this.computeStep(i, d);
+      }
+      this.neighbors[i] = this.computeNeighbors(i);
+      if (index.isCorner(i)) {
+        this.corners.set(i);
+      }
+    }
+    if (size > MAX_RAY_CELLS) {
+      this.rays = null;
+      return;
+    }
+    // walks the step table just built, so each ray costs one lookup per cell on it.
+    this.rays = new int[size * this.directions.length][];
+    for (int i = 0; i < size; i++) {
+      for (int d = 0; d < this.directions.length; d++) {
+        this.rays[i * this.directions.length + d] = this.computeRay(i, d);
+      }
+    }
+  }
+
+  /**
+   * Returns the shared tables of the board indexed by the given coordinate index,
+   * building them the first time a board of that shape and size is asked for.
+   *
+   * @param index the coordinate index of the board.
+   * @return the tables of the board.
+   * @throws IllegalArgumentException if the given index is null.
+   */
+  public static BoardTables of(CoordinateIndex index) {
+    if (index == null) {
+      throw new IllegalArgumentException("Coordinate index cannot be null.");
+    }
+    return CACHE.computeIfAbsent(index, BoardTables::new);
+  }
+
+  /**
+   * Returns the coordinate index these tables were built from.
+   *
+   * @return the coordinate index of the board.
+   */
+  public CoordinateIndex getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Returns whether these tables were computed up front, which is the case for every board of
+   * up to MAX_PRECOMPUTED_CELLS cells.
+   *
+   * @return whether the tables are precomputed.
+   */
+  public boolean isPrecomputed() {
+    return this.precomputed;
+  }
+
+  /**
+   * Returns the coordinate of the given cell, shared by every caller on a precomputed board so
+   * that enumerating it does not allocate a coordinate per cell.
+   *
+   * @param cell the index of the cell.
+   * @return the coordinate of the cell.
+   */
+  public Coordinate coordinate(int cell) {
+    return this.precomputed ? this.coordinates[cell] : this.index.coordinateOf(cell);
+  }
+
+  /**
+   * Returns the number of directions a cell can have neighbors in.
+   *
+   * @return the number of directions.
+   */
+  public int numDirections() {
+    return this.directions.length;
+  }
+
+  /**
+   * Returns the direction opposite the given one, so that a direction and its opposite make up
+   * the line through a cell.
+   *
+   * @param direction the index of the direction, in the board's neighbor order.
+   * @return the index of the opposite direction.
+   */
+  public int opposite(int direction) {
+    return this.opposites[direction];
+  }
+
+  /**
+   * Returns the index of the neighbor of the given cell in the given direction.
+   * Walking a line of cells one step at a time goes from one cell to the next this way.
+   *
+   * @param cell      the index of the cell.
+   * @param direction the index of the direction, in the board's neighbor order.
+   * @return the index of the neighbor, or -1 if the cell is on the edge in that direction.
+   */
+  public int step(int cell, int direction) {
+    if (this.precomputed) {
+      return this.steps[cell * this.directions.length + direction];
+    }
+    return this.computeStep(cell, direction);
+  }
+
+  /**
+   * Returns the indices of the neighbors of the given cell, in the board's neighbor order.
+   *
+   * @param cell the index of the cell.
+   * @return the indices of its neighbors, which must not be modified.
+   */
+  public int[] neighbors(int cell) {
+    return this.precomputed ? this.neighbors[cell] : this.computeNeighbors(cell);
+  }
+
+  /**
+   * Returns whether the given cell is a corner of the board.
+   *
+   * @param cell the index of the cell.
+   * @return whether the cell is a corner.
+   */
+  public boolean isCorner(int cell) {
+    return this.precomputed ? this.corners.get(cell) : this.index.isCorner(cell);
+  }
+
+  /**
+   * Returns the indices of the cells in the given direction from the given cell,
+   * nearest first, out to the edge of the board, or until the line comes back around to the
+   * cell on a board without edges. Hot paths that may stop early walk the line with step
+   * instead.
+   *
+   * @param cell      the index of the cell.
+   * @param direction the index of the direction, in the board's neighbor order.
+   * @return the indices along the ray, which must not be modified; empty at the edge.
+   */
+  public int[] ray(int cell, int direction) {
+    if (this.rays != null) {
+      return this.rays[cell * this.directions.length + direction];
+    }
+    return this.computeRay(cell, direction);
+  }
+
+  /**
+   * Works out the ray from the given cell in the given direction, stepping along the board.
+   *
+   * @param cell      the index of the cell.
+   * @param direction the index of the direction.
+   * @return the indices along the ray, nearest first.
+   */
+  private int[] computeRay(int cell, int direction) {
+    int length = 0;
+    for (int next = this.step(cell, direction); next >= 0 && next != cell;
+         next = this.step(next, direction)) {
+      length++;
+    }
+    int[] ray = new int[length];
+    int next = cell;
+    for (int i = 0; i < length; i++) {
+      next = this.step(next, direction);
+      ray[i] = next;
+    }
+    return ray;
+  }
+
+  /**
+   * Works out the neighbor of the given cell in the given direction from the coordinate index.
+   *
+   * @param cell      the index of the cell.
+   * @param direction the index of the direction.
+   * @return the index of the neighbor, or -1 at the edge.
+   */
+  private int computeStep(int cell, int direction) {
+    return this.index.step(cell, this.directions[direction][0], this.directions[direction][1]);
+  }
+
+  /**
+   * Works out the neighbors of the given cell from the coordinate index.
+   *
+   * @param cell the index of the cell.
+   * @return the indices of its neighbors, in the board's neighbor order.
+   */
+  private int[] computeNeighbors(int cell) {
+    int count = 0;
+    int[] found = new int[this.directions.length];
+    for (int d = 0; d < this.directions.length; d++) {
+      int next = this.computeStep(cell, d);
+      if (next >= 0) {
+        found[count++] = next;
+      }
+    }
+    int[] neighbors = new int[count];
+    System.arraycopy(found, 0, neighbors, 0, count);
+    return neighbors;
+  }
+}
@@ -0,0 +1,20 @@
+package model.board;
+
+import model.cell.DiscColor;
+
+/**
+ * A function that is called with every cell of a board, in row-major order, by
+ * ReadOnlyModel.forEachCell. Enumerating a board this way allocates nothing: the coordinates
+ * handed to the visitor are shared by every board of the same shape and size.
+ */
+@FunctionalInterface
+public interface CellVisitor {
+
+  /**
+   * Visits one cell of the board.
+   *
+   * @param coord the coordinate of the cell, which is shared and must not be used as a lock.
+   * @param color the color of the disc on the cell, NONE if it is empty.
+   */
+  void visit(Coordinate coord, DiscColor color);
+}
@@ -0,0 +1,141 @@
+package model.board;
+
+import java.util.Arrays;
+
+/**
+ * The color ordinals of a board's cells, by cell index, packed two bits per cell (there are four
+ * disc colors, NONE included) and stored in fixed-size chunks that are shared copy-on-write
+ * between a board and its snapshots. Taking a snapshot copies nothing:
+ * both sides give up ownership of every chunk, and the first write on either side copies only
+ * the chunk directory and the chunk it writes to. A board with thousands of snapshots only pays
+ * for the chunks that actually changed between them.
+ * A chunk is only allocated once one of its cells is set to something other than the color the
+ * storage started with, so a giant board costs memory in proportion to the discs on it.
+ * Not thread-safe: a board and its snapshots must not be written concurrently.
+ */
+final class ChunkedColors {
+  private static final int SHIFT = 6;
+  private static final int CHUNK = 1 << SHIFT; // cells per chunk.
+  private static final int MASK = CHUNK - 1;
+  // bits per cell: enough for every DiscColor, and has to grow if a color is ever added.
+  private static final int BITS = 2;
+  private static final int CELLS_PER_WORD = Long.SIZE / BITS;
+  private static final long CELL_MASK = (1L << BITS) - 1;
+
+  private final long fill; // a word of cells that all have the color the storage started with.
+  private long[][] chunks; // null chunks have not been written to yet.
+  // which chunks only this storage can see, null while the directory itself is shared.
+  private boolean[] owned;
+
+  /**
+   * Constructs the storage of a board with the given number of cells, all of the given color.
+   *
+   * @param size  the number of cells.
+   * @param color the ordinal of the color of every cell.
+   */
+  ChunkedColors(int size, byte color) {
+    long word = 0L;
+    for (int i = 0; i < CELLS_PER_WORD; i++) {
+      word |= (color & CELL_MASK) << (i * BITS);
+    }
+    this.fill = word;
+    this.chunks = new long[(size + MASK) >>> SHIFT][];
+    this.owned = new boolean[this.chunks.length];
+  }
+
+  /**
+   * Constructs a storage that shares the given chunk directory.
+   *
+   * @param chunks the chunk directory to share.
+   * @param fill   a word of cells of the starting color.
+   */
+  private ChunkedColors(long[][] chunks, long fill) {
+    this.fill = fill;
+    this.chunks = chunks;
+    this.owned = null;
+  }
+
+  /**
+   * Returns a snapshot of this storage, in constant time. Later writes to either this storage or
+   * the snapshot are not seen by the other.
+   *
+   * @return a storage with the same colors as this one.
+   */
+  ChunkedColors snapshot() {
+    this.owned = null;
+    return new ChunkedColors(this.chunks, this.fill);
+  }
+
+  /**
+   * Returns the color ordinal of the given cell.
+   *
+   * @param cell the index of the cell.
+   * @return the ordinal of its color.
+   */
+  byte get(int cell) {
+    int offset = cell & MASK;
+    long[] chunk = this.chunks[cell >>> SHIFT];
+    long word = chunk == null ? this.fill : chunk[offset / CELLS_PER_WORD];
+    return (byte) ((word >>> ((offset % CELLS_PER_WORD) * BITS)) & CELL_MASK);
+  }
+
+  /**
+   * Sets the color ordinal of the given cell, first copying its chunk if it is shared
+   * or allocating it if it was never written to.
+   *
+   * @param cell  the index of the cell.
+   * @param color the ordinal of its new color.
+   */
+  void set(int cell, byte color) {
+    int c = cell >>> SHIFT;
+    if (this.chunks[c] == null && color == (byte) (this.fill & CELL_MASK)) {
+      return; // already the color of every cell of an unwritten chunk.
+    }
+    if (this.owned == null) {
+      this.chunks = this.chunks.clone();
+      this.owned = new boolean[this.chunks.length];
+    }
+    if (!this.owned[c]) {
+      if (this.chunks[c] == null) {
+        this.chunks[c] = new long[CHUNK / CELLS_PER_WORD];
+        Arrays.fill(this.chunks[c], this.fill);
+      } else {
+        this.chunks[c] = this.chunks[c].clone();
+      }
+      this.owned[c] = true;
+    }
+    int offset = cell & MASK;
+    int shift = (offset % CELLS_PER_WORD) * BITS;
+    long[] chunk = this.chunks[c];
+    chunk[offset / CELLS_PER_WORD] = (chunk[offset / CELLS_PER_WORD] & ~(CELL_MASK << shift))
+        | ((color & CELL_MASK) << shift);
+  }
+
+  /**
+   * Returns the first cell, from the given one on, whose color is not the color the storage
+   * started with. Chunks that were never written to and words with no changed cell are skipped
+   * whole.
+   *
+   * @param from the index of the cell to start looking from.
+   * @return the index of the next such cell, or -1 if there is none.
+   */
+  int nextChanged(int from) {
+    int start = from & MASK;
+    for (int c = from >>> SHIFT; c < this.chunks.length; c++, start = 0) {
+      long[] chunk = this.chunks[c];
+      if (chunk == null) {
+        continue;
+      }
+      for (int w = start / CELLS_PER_WORD; w < chunk.length; w++) {
+        long changed = chunk[w] ^ this.fill;
+        if (w == start / CELLS_PER_WORD) {
+          changed &= -1L << ((start % CELLS_PER_WORD) * BITS);
+        }
+        if (changed != 0) {
+          return (c << SHIFT) + w * CELLS_PER_WORD + Long.numberOfTrailingZeros(changed) / BITS;
+        }
+      }
+    }
+    return -1;
+  }
+}
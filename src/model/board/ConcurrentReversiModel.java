@@ -0,0 +1,795 @@
+package model.board;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import controller.IController;
+import model.cell.DiscColor;
+import model.cell.ICell;
+import move.Move;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
+
+/**
+ * A model that many threads can use at once, wrapping any other model.
+ * Moves are serialized behind the write lock of a StampedLock. Reads are optimistic: they run
+ * without taking any lock and are only retried, under the read lock, if a move was made while
+ * they ran, so views, hints and spectators polling a live game neither block each other nor copy
+ * the board. Only reads that leave the wrapped model as it is run that way: its legal moves,
+ * stable discs and whether the game is over are worked out lazily and remembered, so the first
+ * reader to need one of them in a position works it out under the write lock. The sets are then
+ * kept here as immutable snapshots until the next move, and answer size and contains queries
+ * straight from them. A won or tied game is recorded in the wrapped model only when a caller
+ * asks, as it would unwrapped.
+ * Listeners are told about changes after the write lock is released, so they can read from and
+ * play on this model. They must be added to this model, not to the wrapped one, which must not be
+ * used directly once wrapped.
+ */
+public class ConcurrentReversiModel implements IModel, LegalityCheck {
+  private final IModel delegate;
+  private final StampedLock lock;
+  private final List<IController> listenerList;
+  // the answers kept for the current position, only written under the write lock.
+  private boolean started;
+  private final Map<DiscColor, Set<Coordinate>> legalMoves;
+  private final Map<DiscColor, Set<Coordinate>> stableDiscs;
+  private final Map<DiscColor, Set<Coordinate>> frontierDiscs;
+  private Boolean gameOver; // null until it is worked out in the current position.
+
+  /**
+   * Constructs a model that lets many threads use the given model at once.
+   *
+   * @param delegate the model to wrap.
+   * @throws IllegalArgumentException if the given model is null.
+   */
+  public ConcurrentReversiModel(IModel delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Cannot wrap a null model.");
+    }
+    this.delegate = delegate;
+    this.lock = new StampedLock();
+    this.listenerList = new CopyOnWriteArrayList<>();
+    this.legalMoves = new EnumMap<>(DiscColor.class);
+    this.stableDiscs = new EnumMap<>(DiscColor.class);
+    this.frontierDiscs = new EnumMap<>(DiscColor.class);
+  }
+
+  /**
+   * Runs the given read without locking, then again under the read lock if a move was made
+   * while it ran. The wrapped model may throw anything while it is being changed under a read,
+   * so exceptions only count if the read was not interrupted by a move.
+   *
+   * @param reader the read to make.
+   * @param <T>    the type of its answer.
+   * @return the answer of the read.
+   */
+  private <T> T optimisticRead(Supplier<T> reader) {
+    long stamp = this.lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      try {
+        T answer = reader.get();
+        if (this.lock.validate(stamp)) {
+          return answer;
+        }
+      } catch (RuntimeException e) {
+        if (this.lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    return this.lockedRead(reader);
+  }
+
+  /**
+   * Runs the given read under the read lock. Used for reads that must see a position nobody is
+   * changing, such as scans of the whole board by a rule keeper.
+   *
+   * @param reader the read to make.
+   * @param <T>    the type of its answer.
+   * @return the answer of the read.
+   */
+  private <T> T lockedRead(Supplier<T> reader) {
+    long stamp = this.lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      this.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Runs the given change under the write lock, then forgets the answers kept for the previous
+   * position.
+   *
+   * @param writer the change to make.
+   * @param <T>    the type of its answer.
+   * @return the answer of the change.
+   */
+  private <T> T write(Supplier<T> writer) {
+    long stamp = this.lock.writeLock();
+    try {
+      T answer = writer.get();
+      this.legalMoves.clear();
+      this.stableDiscs.clear();
+      this.frontierDiscs.clear();
+      this.gameOver = null;
+      return answer;
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Runs the given read under the write lock, for reads that make the wrapped model work out and
+   * remember answers, so that no other read or move sees it halfway. The position does not
+   * change, so the answers kept for it are not forgotten.
+   *
+   * @param reader the read to make.
+   * @param <T>    the type of its answer.
+   * @return the answer of the read.
+   */
+  private <T> T exclusiveRead(Supplier<T> reader) {
+    long stamp = this.lock.writeLock();
+    try {
+      return reader.get();
+    } finally {
+      this.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the snapshot of a set of cells of the given player kept for the current position,
+   * working it out under the write lock the first time it is needed in that position. Boards of
+   * this package are snapshot by copying the bits of their cells; any other model has its set
+   * copied.
+   *
+   * @param snapshots the snapshots kept for the current position, by player.
+   * @param player    a player of this game.
+   * @param bits      reads the indices of the cells from a board of this package.
+   * @param cells     reads the set of cells from any other model.
+   * @return the snapshot of the player's cells.
+   */
+  private Set<Coordinate> snapshot(Map<DiscColor, Set<Coordinate>> snapshots, DiscColor player,
+                                   BiFunction<AbstractReversiModel, DiscColor, BitSet> bits,
+                                   Function<DiscColor, Set<Coordinate>> cells) {
+    Set<Coordinate> kept = this.optimisticRead(() -> snapshots.get(player));
+    if (kept != null) {
+      return kept;
+    }
+    return this.exclusiveRead(() -> snapshots.computeIfAbsent(player, p -> {
+      if (this.delegate instanceof AbstractReversiModel) {
+        AbstractReversiModel board = (AbstractReversiModel) this.delegate;
+        return new CellSnapshot(bits.apply(board, p), board.getCoordinateIndex());
+      }
+      return copyOf(cells.apply(p));
+    }));
+  }
+
+  /**
+   * Returns an immutable copy of the given set of cells, in the same order.
+   *
+   * @param cells the cells to copy.
+   * @return a copy of the set.
+   */
+  private static Set<Coordinate> copyOf(Set<Coordinate> cells) {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(cells));
+  }
+
+  /**
+   * Throws an IllegalStateException if the game has not yet started.
+   * Must be called within a read.
+   */
+  private void gameNotYetStartedException() {
+    if (!this.started) {
+      throw new IllegalStateException("Game has not yet been started.");
+    }
+  }
+
+  @Override
+  public void startGame() {
+    this.write(() -> {
+      this.delegate.startGame();
+      this.started = true;
+      return null;
+    });
+    this.notifyModelHasChanged();
+  }
+
+  @Override
+  public MoveRecord pass() {
+    return this.write(this.delegate::pass);
+  }
+
+  @Override
+  public MoveRecord playDisc(Coordinate coord) {
+    return this.write(() -> this.delegate.playDisc(coord));
+  }
+
+  @Override
+  public void undo(MoveRecord record) {
+    this.write(() -> {
+      this.delegate.undo(record);
+      return null;
+    });
+  }
+
+  /**
+   * Plays the given moves under a single hold of the write lock, so readers see either none or
+   * all of them, then notifies the listeners of this model once.
+   *
+   * @param moves the moves to play, a move without a coordinate being a pass.
+   * @throws IllegalArgumentException if the list or one of its moves is null, or if a move is
+   *                                  on an invalid coordinate.
+   * @throws IllegalStateException    if a move is invalid, if the game is over before the last
+   *                                  move, or if the game has not yet been started.
+   */
+  @Override
+  public void replay(List<Move> moves) {
+    this.write(() -> {
+      this.delegate.replay(moves);
+      return null;
+    });
+    if (!moves.isEmpty()) {
+      this.notifyModelHasChanged();
+    }
+  }
+
+  /**
+   * Returns a copy of the board that is not shared with any other thread, so it is not wrapped.
+   * It is made under the write lock, since the wrapped model remembers that it shares its
+   * storage with the copy.
+   *
+   * @param model the model to copy, this one to copy the live game.
+   * @return a copy of the board.
+   * @throws IllegalStateException if the game has not yet started.
+   */
+  @Override
+  public IModel getActionableCopyOfBoard(IModel model) {
+    IModel source = model == this ? this.delegate : model;
+    return this.exclusiveRead(() -> this.delegate.getActionableCopyOfBoard(source));
+  }
+
+  @Override
+  public ReadOnlyModel getReadOnlyCopyOfBoard(IModel model) {
+    return new ReadOnlyReversiModel(this.getActionableCopyOfBoard(model));
+  }
+
+  @Override
+  public void addModelListener(IController listener) {
+    this.listenerList.add(listener);
+  }
+
+  /**
+   * Notifies all listeners that the model's state has changed.
+   */
+  @Override
+  public void notifyModelHasChanged() {
+    for (IController listener : this.listenerList) {
+      listener.run();
+    }
+  }
+
+  @Override
+  public int getNumLayers() {
+    return this.delegate.getNumLayers();
+  }
+
+  @Override
+  public DiscColor getTurn() {
+    return this.optimisticRead(this.delegate::getTurn);
+  }
+
+  /**
+   * Returns the cell at the given coordinate. The cell reads and writes through to this model,
+   * taking the same locks as the model does.
+   *
+   * @param coord the coordinate corresponding to the cell to fetch.
+   * @return the cell at the given coordinate.
+   * @throws IllegalArgumentException if the given coordinate is invalid.
+   */
+  @Override
+  public ICell getCellAt(Coordinate coord) {
+    ICell cell = this.optimisticRead(() -> this.delegate.getCellAt(coord));
+    return new LockedCell(coord, cell.makeCell());
+  }
+
+  /**
+   * Returns whether the game is over. The wrapped model is asked once per position, under the
+   * write lock, since it remembers the mobility of the players and records a game that is over
+   * as won; later reads of the same position answer from the kept answer without blocking moves.
+   *
+   * @return whether the game is over or not.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public boolean isGameOver() {
+    Boolean over = this.optimisticRead(() -> {
+      this.gameNotYetStartedException();
+      return this.gameOver;
+    });
+    if (over != null) {
+      return over;
+    }
+    return this.exclusiveRead(() -> {
+      if (this.gameOver == null) {
+        this.gameOver = this.delegate.isGameOver();
+      }
+      return this.gameOver;
+    });
+  }
+
+  @Override
+  public List<Coordinate> getSandwichableNeighbors(Coordinate origin, DiscColor player) {
+    return this.optimisticRead(() -> this.delegate.getSandwichableNeighbors(origin, player));
+  }
+
+  @Override
+  public List<Coordinate> getOppositeNeighbors(Coordinate origin, DiscColor player) {
+    return this.optimisticRead(() -> this.delegate.getOppositeNeighbors(origin, player));
+  }
+
+  @Override
+  public List<Coordinate> getLikeNeighbors(Coordinate coord, DiscColor player) {
+    return this.optimisticRead(() -> this.delegate.getLikeNeighbors(coord, player));
+  }
+
+  /**
+   * Returns the winner of the game, worked out by the wrapped model under the write lock only
+   * when asked, since working it out records a tied game.
+   *
+   * @return the winner of the game, empty if the game is tied.
+   * @throws IllegalStateException if the game has not yet been started or is not over yet.
+   */
+  @Override
+  public Optional<DiscColor> getWinner() {
+    return this.exclusiveRead(() -> {
+      this.gameNotYetStartedException();
+      return this.delegate.getWinner();
+    });
+  }
+
+  @Override
+  public Status getGameState() {
+    return this.optimisticRead(this.delegate::getGameState);
+  }
+
+  @Override
+  public int getPlayerScore(DiscColor player) {
+    return this.optimisticRead(() -> this.delegate.getPlayerScore(player));
+  }
+
+  @Override
+  public RuleKeeper getRuleKeeper() {
+    return this.delegate.getRuleKeeper();
+  }
+
+  @Override
+  public List<DiscColor> getPlayerColors() {
+    return this.optimisticRead(this.delegate::getPlayerColors);
+  }
+
+  @Override
+  public boolean getPass() {
+    return this.optimisticRead(this.delegate::getPass);
+  }
+
+  @Override
+  public DiscColor getOtherPlayerColor() {
+    return this.optimisticRead(this.delegate::getOtherPlayerColor);
+  }
+
+  /**
+   * Returns a copy of the grid of this model, made of cells of the board's type that belong to no
+   * board. The colors are read optimistically like any other read.
+   *
+   * @return a copy of the grid of this model.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public HashMap<Coordinate, ICell> getCopyOfAllCoords() {
+    Map<Coordinate, DiscColor> colors = this.readCells(true);
+    HashMap<Coordinate, ICell> copy = new HashMap<>();
+    ICell typeCell = null;
+    for (Map.Entry<Coordinate, DiscColor> entry : colors.entrySet()) {
+      if (typeCell == null) {
+        typeCell = this.getCellAt(entry.getKey());
+      }
+      ICell cell = typeCell.makeCell();
+      if (entry.getValue() != DiscColor.NONE) {
+        cell.changeColor(entry.getValue());
+      }
+      copy.put(entry.getKey(), cell);
+    }
+    return copy;
+  }
+
+  /**
+   * Visits every cell of the board in row-major order. The colors of a single position are read
+   * first, so the visitor is called once per cell however many moves are made meanwhile.
+   *
+   * @param visitor the function to call with each cell.
+   * @throws IllegalArgumentException if the given visitor is null.
+   */
+  @Override
+  public void forEachCell(CellVisitor visitor) {
+    if (visitor == null) {
+      throw new IllegalArgumentException("Visitor cannot be null.");
+    }
+    this.readCells(false).forEach(visitor::visit);
+  }
+
+  /**
+   * Reads the color of every cell of a single position, in row-major order.
+   *
+   * @param mustHaveStarted whether to throw if the game has not yet been started.
+   * @return the color of every cell, by coordinate.
+   */
+  private Map<Coordinate, DiscColor> readCells(boolean mustHaveStarted) {
+    return this.optimisticRead(() -> {
+      if (mustHaveStarted) {
+        this.gameNotYetStartedException();
+      }
+      Map<Coordinate, DiscColor> colors = new LinkedHashMap<>();
+      this.delegate.forEachCell(colors::put);
+      return colors;
+    });
+  }
+
+  @Override
+  public boolean contains(Coordinate coord) {
+    return this.delegate.contains(coord);
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.optimisticRead(this.delegate::getPositionHash);
+  }
+
+  /**
+   * Returns the legal moves of the given player, kept up to date as the game goes on like the
+   * wrapped model's. Every call on the set is a read of this model, and iterating it walks the
+   * moves of the position it started in, so moves made meanwhile do not break it.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the coordinates the player can play on.
+   * @throws IllegalArgumentException if the given player is not in this game.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public Set<Coordinate> getLegalMoves(DiscColor player) {
+    this.optimisticRead(() -> {
+      this.gameNotYetStartedException();
+      if (!this.delegate.getPlayerColors().contains(player)) {
+        throw new IllegalArgumentException("Player color is not in this game.");
+      }
+      return null;
+    });
+    return new LockedSet(() -> this.snapshot(this.legalMoves, player,
+        AbstractReversiModel::legalMoveBits, this.delegate::getLegalMoves));
+  }
+
+  /**
+   * Returns the variant of the rules of the ReversiRuleKeeper the wrapped model checks moves by.
+   *
+   * @return the rule variant.
+   */
+  @Override
+  public RuleVariant getRuleVariant() {
+    if (this.delegate instanceof LegalityCheck) {
+      return ((LegalityCheck) this.delegate).getRuleVariant();
+    }
+    return ReversiRuleKeeper.variantOf(this.delegate.getRuleKeeper());
+  }
+
+  /**
+   * Returns the coordinate index of the wrapped model's board.
+   *
+   * @return the coordinate index, or null if the wrapped model does not know it.
+   */
+  @Override
+  public CoordinateIndex getCoordinateIndex() {
+    if (this.delegate instanceof LegalityCheck) {
+      return ((LegalityCheck) this.delegate).getCoordinateIndex();
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether the given player can play at the given coordinate under the rules of the
+   * ReversiRuleKeeper, read without blocking moves.
+   *
+   * @param coord  the coordinate to check.
+   * @param player the player who would play there.
+   * @return whether the move is legal.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public boolean isLegalMove(Coordinate coord, DiscColor player) {
+    if (this.delegate instanceof LegalityCheck) {
+      return this.optimisticRead(
+          () -> ((LegalityCheck) this.delegate).isLegalMove(coord, player));
+    }
+    return this.lockedRead(
+        () -> new ReversiRuleKeeper(this.getRuleVariant()).isValid(this.delegate, coord, player));
+  }
+
+  /**
+   * Returns every legal move of the given player under the rules of the ReversiRuleKeeper, in
+   * the current position of the wrapped model. A board of this package may bring the legal moves
+   * it remembers up to date to answer, so it is asked under the write lock.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the player's legal moves, by the index of their cells in board order.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public MoveSet legalMoves(DiscColor player) {
+    if (this.delegate instanceof LegalityCheck) {
+      return this.exclusiveRead(() -> ((LegalityCheck) this.delegate).legalMoves(player));
+    }
+    return this.lockedRead(
+        () -> new ReversiRuleKeeper(this.getRuleVariant()).legalMoves(this.delegate, player));
+  }
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate, in the
+   * current position of the wrapped model.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public BitSet flipMask(Coordinate coord, DiscColor player) {
+    if (this.delegate instanceof LegalityCheck) {
+      return this.optimisticRead(() -> ((LegalityCheck) this.delegate).flipMask(coord, player));
+    }
+    return this.lockedRead(() -> new ReversiRuleKeeper().flipMask(this.delegate, coord, player));
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * in the current position of the wrapped model.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public int flipCount(Coordinate coord, DiscColor player) {
+    if (this.delegate instanceof LegalityCheck) {
+      return this.optimisticRead(() -> ((LegalityCheck) this.delegate).flipCount(coord, player));
+    }
+    return this.lockedRead(() -> new ReversiRuleKeeper().flipCount(this.delegate, coord, player));
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves, in the
+   * current position of the wrapped model, which is asked under the write lock like legalMoves.
+   *
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of legalMoves(player).toArray().
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public int[] flipCounts(DiscColor player) {
+    if (this.delegate instanceof LegalityCheck) {
+      return this.exclusiveRead(() -> ((LegalityCheck) this.delegate).flipCounts(player));
+    }
+    return this.lockedRead(
+        () -> new ReversiRuleKeeper(this.getRuleVariant()).flipCounts(this.delegate, player));
+  }
+
+  /**
+   * Returns the stable discs of the given player, following the game like the wrapped model's.
+   * Every call on the set reads the snapshot of the current position, which the first call in
+   * that position works out under the write lock.
+   *
+   * @param player the player to get the stable discs of.
+   * @return the coordinates of the player's stable discs.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public Set<Coordinate> getStableDiscs(DiscColor player) {
+    this.optimisticRead(() -> this.delegate.getStableDiscs(player));
+    return new LockedSet(() -> this.snapshot(this.stableDiscs, player,
+        AbstractReversiModel::stableDiscBits, this.delegate::getStableDiscs));
+  }
+
+  /**
+   * Returns the frontier discs of the given player, following the game like the wrapped
+   * model's. Every call on the set reads the snapshot of the current position, which the first
+   * call in that position works out under the write lock.
+   *
+   * @param player the player to get the frontier discs of.
+   * @return the coordinates of the player's frontier discs.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public Set<Coordinate> getFrontierDiscs(DiscColor player) {
+    this.optimisticRead(() -> this.delegate.getFrontierDiscs(player));
+    return new LockedSet(() -> this.snapshot(this.frontierDiscs, player,
+        AbstractReversiModel::frontierDiscBits, this.delegate::getFrontierDiscs));
+  }
+
+  @Override
+  public List<Coordinate> getNeighbors(Coordinate coord) {
+    return this.delegate.getNeighbors(coord);
+  }
+
+  @Override
+  public boolean isCorner(Coordinate coord) {
+    return this.delegate.isCorner(coord);
+  }
+
+  /**
+   * A cell of this model that reads and writes through to the wrapped model under its locks.
+   */
+  private final class LockedCell implements ICell {
+    private final Coordinate coord;
+    private final ICell typeCell;
+
+    /**
+     * Constructs a view of the cell at the given coordinate.
+     *
+     * @param coord    the coordinate of the cell.
+     * @param typeCell an empty cell of the board's type of cell.
+     */
+    LockedCell(Coordinate coord, ICell typeCell) {
+      this.coord = coord;
+      this.typeCell = typeCell;
+    }
+
+    @Override
+    public DiscColor getColor() {
+      return optimisticRead(() -> delegate.getCellAt(this.coord).getColor());
+    }
+
+    @Override
+    public void changeColor(DiscColor color) {
+      write(() -> {
+        delegate.getCellAt(this.coord).changeColor(color);
+        return null;
+      });
+    }
+
+    @Override
+    public String toString() {
+      return this.getColor().toString();
+    }
+
+    @Override
+    public ICell makeCell() {
+      return this.typeCell.makeCell();
+    }
+  }
+
+  /**
+   * A set of cells that follows the game, every call on it reading the set of the current
+   * position from the given supplier.
+   */
+  private static final class LockedSet extends AbstractSet<Coordinate> {
+    private final Supplier<Set<Coordinate>> cells;
+
+    /**
+     * Constructs a view of the sets the given supplier reads.
+     *
+     * @param cells reads the set of the current position, which never changes afterwards.
+     */
+    LockedSet(Supplier<Set<Coordinate>> cells) {
+      this.cells = cells;
+    }
+
+    @Override
+    public Iterator<Coordinate> iterator() {
+      return this.cells.get().iterator();
+    }
+
+    @Override
+    public int size() {
+      return this.cells.get().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.cells.get().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return this.cells.get().contains(o);
+    }
+  }
+
+  /**
+   * An immutable set of cells of a board, kept as the bits of their indices, so that its size
+   * and whether it contains a cell are known without looking through it.
+   */
+  private static final class CellSnapshot extends AbstractSet<Coordinate> {
+    private final BitSet cells;
+    private final CoordinateIndex index;
+    private final int size;
+
+    /**
+     * Constructs a snapshot of the given cells.
+     *
+     * @param cells the indices of the cells, copied.
+     * @param index the coordinate index of the board.
+     */
+    CellSnapshot(BitSet cells, CoordinateIndex index) {
+      this.cells = (BitSet) cells.clone();
+      this.index = index;
+      this.size = this.cells.cardinality();
+    }
+
+    @Override
+    public Iterator<Coordinate> iterator() {
+      return new Iterator<>() {
+        private int next = cells.nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+          return this.next >= 0;
+        }
+
+        @Override
+        public Coordinate next() {
+          if (this.next < 0) {
+            throw new NoSuchElementException();
+          }
+          Coordinate coord = index.coordinateOf(this.next);
+          this.next = cells.nextSetBit(this.next + 1);
+          return coord;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Coordinate)) {
+        return false;
+      }
+      int cell = this.index.indexOf((Coordinate) o);
+      return cell >= 0 && this.cells.get(cell);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package model.board;
+
+/**
+ * The geometry of a board: which cells it has, which cells are next to which, where its corners
+ * are and where its first discs go. Every valid coordinate is mapped to a contiguous index from 0
+ * to size() - 1, so a board can keep its cells in an array instead of hashing coordinates.
+ * Indices follow the board's row-major order: row by row from the top, left to right.
+ * A geometry is described here once and compiled into BoardTables, which the models play on, so
+ * a new board shape only needs a new subclass and a model that makes it.
+ */
+public abstract class CoordinateIndex {
+  protected final int layers;
+
+  /**
+   * Constructor of the class CoordinateIndex.
+   *
+   * @param layers the number of layers of the board to index.
+   */
+  protected CoordinateIndex(int layers) {
+    this.layers = layers;
+  }
+
+  /**
+   * Returns the number of cells of the indexed board.
+   *
+   * @return the number of valid coordinates.
+   */
+  public abstract int size();
+
+  /**
+   * Returns the index of the given row and column.
+   *
+   * @param row the row of the coordinate.
+   * @param col the column of the coordinate.
+   * @return the index of the coordinate, or -1 if it is not on the board.
+   */
+  public abstract int indexOf(int row, int col);
+
+  /**
+   * Returns the row of the coordinate at the given index.
+   *
+   * @param index a valid index of the board.
+   * @return the row of the coordinate at that index.
+   */
+  public abstract int rowOf(int index);
+
+  /**
+   * Returns the column of the coordinate at the given index.
+   *
+   * @param index a valid index of the board.
+   * @return the column of the coordinate at that index.
+   */
+  public abstract int colOf(int index);
+
+  /**
+   * Returns the index of the cell one step away from the given index, in the given direction.
+   * Steps are taken on the board's own grid, so a square board steps over its missing zero
+   * row and column.
+   *
+   * @param index a valid index of the board.
+   * @param dRow  the row transition, between -1 and 1.
+   * @param dCol  the column transition, between -1 and 1.
+   * @return the index of the neighboring cell, or -1 if it is not on the board.
+   */
+  public abstract int step(int index, int dRow, int dCol);
+
+  /**
+   * Returns the (row, col) transitions to the neighbors of a cell, in the order in which the
+   * board lists the neighbors of a cell.
+   *
+   * @return a new array of {dRow, dCol} pairs.
+   */
+  public abstract int[][] getDirections();
+
+  /**
+   * Returns whether the cell at the given index is a corner of the board.
+   *
+   * @param index a valid index of the board.
+   * @return whether the cell is a corner.
+   */
+  public abstract boolean isCorner(int index);
+
+  /**
+   * Returns whether the board has edges. Straight lines of cells on a board with edges end at
+   * an edge and never cross twice; on a board without edges they come back around.
+   *
+   * @return whether the board has edges.
+   */
+  public boolean hasEdges() {
+    return true;
+  }
+
+  /**
+   * Returns where the first discs of the first two players go when a game starts.
+   *
+   * @return a new array of the coordinates of the first player's discs, then the second's.
+   */
+  public abstract Coordinate[][] getStartingDiscs();
+
+  /**
+   * Returns where the first discs of every player go when a game of the given number of players
+   * starts. A board only has a starting position for two players unless its geometry says
+   * otherwise.
+   *
+   * @param players the number of players of the game.
+   * @return a new array of the coordinates of each player's discs, in turn order.
+   * @throws IllegalArgumentException if the board has no starting position for that many players.
+   */
+  public Coordinate[][] getStartingDiscs(int players) {
+    if (players != 2) {
+      throw new IllegalArgumentException("Board has no starting position for "
+          + players + " players.");
+    }
+    return this.getStartingDiscs();
+  }
+
+  /**
+   * Returns the index of the given coordinate.
+   *
+   * @param coord the coordinate to get the index of.
+   * @return the index of the coordinate, or -1 if it is null or not on the board.
+   */
+  public int indexOf(Coordinate coord) {
+    if (coord == null) {
+      return -1;
+    }
+    return this.indexOf(coord.getRow(), coord.getCol());
+  }
+
+  /**
+   * Returns whether the given coordinate is on the board.
+   *
+   * @param coord the coordinate to check.
+   * @return whether the coordinate has an index.
+   */
+  public boolean contains(Coordinate coord) {
+    return this.indexOf(coord) >= 0;
+  }
+
+  /**
+   * Returns the coordinate at the given index.
+   *
+   * @param index a valid index of the board.
+   * @return a new coordinate for that index.
+   */
+  public Coordinate coordinateOf(int index) {
+    return new Coordinate(this.rowOf(index), this.colOf(index));
+  }
+
+  /**
+   * Returns the number of layers of the indexed board.
+   *
+   * @return the number of layers.
+   */
+  public int getNumLayers() {
+    return this.layers;
+  }
+
+  /**
+   * Two indices are equal if they index the same shape of board with the same number of layers.
+   *
+   * @param other the object to compare to.
+   * @return whether the other object is an equal index.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other == null || other.getClass() != this.getClass()) {
+      return false;
+    }
+    return ((CoordinateIndex) other).layers == this.layers;
+  }
+
+  /**
+   * Returns the hash code of this index.
+   *
+   * @return the hash code of this index.
+   */
+  @Override
+  public int hashCode() {
+    return this.getClass().hashCode() * 31 + this.layers;
+  }
+}
@@ -0,0 +1,259 @@
+package model.board;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+import model.cell.DiscColor;
+
+/**
+ * The frontier and stable discs of every color of a board, by cell index, kept up to date as
+ * the board's cells change color.
+ * A frontier disc is next to an empty cell. The frontier is updated on every change, which only
+ * looks at the changed cell and its neighbors.
+ * A stable disc can never be flipped again under the rules of the ReversiRuleKeeper: along every
+ * line through it, it is on the edge, next to a stable disc of its own color, or the whole line
+ * is full, since a flip along a line flips a whole run of one color that has an empty cell at one
+ * end. Discs only ever become stable as a game goes on, so after a move only the discs the move
+ * could have made stable are checked again, when stable discs are next asked for; a change that
+ * takes a disc off the board or flips a stable disc (an undo, or a cell changed directly) makes
+ * every disc be checked again from scratch.
+ * Not thread-safe.
+ */
+final class DiscFeatures {
+  private static final DiscColor[] COLORS = DiscColor.values();
+
+  private final BoardTables tables;
+  private final IntFunction<DiscColor> colors; // reads the current color of a cell of the board.
+  private final BitSet[] frontier; // by color ordinal.
+  private final BitSet[] stable; // by color ordinal, up to date once settle has run.
+  private final BitSet occupied;
+  private final BitSet changed; // cells recolored since the stable discs were last settled.
+  private final BitSet filled; // cells of changed that were empty before.
+  private boolean unsettled; // whether every disc has to be checked again.
+
+  /**
+   * Constructs the features of an empty board.
+   *
+   * @param tables the tables of the board.
+   * @param colors reads the current color of a cell of the board.
+   */
+  DiscFeatures(BoardTables tables, IntFunction<DiscColor> colors) {
+    this.tables = tables;
+    this.colors = colors;
+    this.frontier = new BitSet[COLORS.length];
+    this.stable = new BitSet[COLORS.length];
+    for (int i = 0; i < COLORS.length; i++) {
+      this.frontier[i] = new BitSet();
+      this.stable[i] = new BitSet();
+    }
+    this.occupied = new BitSet();
+    this.changed = new BitSet();
+    this.filled = new BitSet();
+    this.unsettled = false;
+  }
+
+  /**
+   * Returns a copy of these features for a copy of the board.
+   *
+   * @param colors reads the current color of a cell of the copied board.
+   * @return features that later changes to either board are not seen by the other.
+   */
+  DiscFeatures copy(IntFunction<DiscColor> colors) {
+    DiscFeatures copy = new DiscFeatures(this.tables, colors);
+    for (int i = 0; i < COLORS.length; i++) {
+      copy.frontier[i].or(this.frontier[i]);
+      copy.stable[i].or(this.stable[i]);
+    }
+    copy.occupied.or(this.occupied);
+    copy.changed.or(this.changed);
+    copy.filled.or(this.filled);
+    copy.unsettled = this.unsettled;
+    return copy;
+  }
+
+  /**
+   * Updates the features after the given cell changed color. The board must already have the
+   * new color.
+   *
+   * @param cell     the index of the cell.
+   * @param previous the color the cell had before.
+   * @param color    the color the cell has now.
+   */
+  void recolored(int cell, DiscColor previous, DiscColor color) {
+    if (previous != DiscColor.NONE && color != DiscColor.NONE) {
+      // a flip: the cell stays on the frontier or off it, in its new color.
+      if (this.frontier[previous.ordinal()].get(cell)) {
+        this.frontier[previous.ordinal()].clear(cell);
+        this.frontier[color.ordinal()].set(cell);
+      }
+    } else if (previous == DiscColor.NONE) {
+      this.occupied.set(cell);
+      this.filled.set(cell);
+      this.frontier[color.ordinal()].set(cell, this.nextToEmpty(cell));
+      // the neighbors lost an empty neighbor.
+      for (int neighbor : this.tables.neighbors(cell)) {
+        DiscColor other = this.colors.apply(neighbor);
+        if (other != DiscColor.NONE) {
+          this.frontier[other.ordinal()].set(neighbor, this.nextToEmpty(neighbor));
+        }
+      }
+    } else {
+      this.occupied.clear(cell);
+      this.frontier[previous.ordinal()].clear(cell);
+      // the neighbors are now next to an empty cell.
+      for (int neighbor : this.tables.neighbors(cell)) {
+        DiscColor other = this.colors.apply(neighbor);
+        if (other != DiscColor.NONE) {
+          this.frontier[other.ordinal()].set(neighbor);
+        }
+      }
+    }
+    if (color == DiscColor.NONE || this.stable[previous.ordinal()].get(cell)) {
+      this.unsettled = true;
+    }
+    this.changed.set(cell);
+  }
+
+  /**
+   * Returns the frontier discs of the given color.
+   *
+   * @param color a disc color.
+   * @return the indices of its frontier discs; not to be modified.
+   */
+  BitSet frontier(DiscColor color) {
+    return this.frontier[color.ordinal()];
+  }
+
+  /**
+   * Returns the stable discs of the given color, first bringing them up to date.
+   *
+   * @param color a disc color.
+   * @return the indices of its stable discs; not to be modified.
+   */
+  BitSet stable(DiscColor color) {
+    this.settle();
+    return this.stable[color.ordinal()];
+  }
+
+  /**
+   * Brings the stable discs up to date. After a change that can only make discs stable, the
+   * changed discs are checked, along with every disc on a line through a cell that was filled,
+   * since that line may now be full; every disc that turns out stable then has its neighbors of
+   * the same color checked again, until nothing changes.
+   */
+  private void settle() {
+    if (!this.unsettled && this.changed.isEmpty()) {
+      return;
+    }
+    BitSet seeds = new BitSet();
+    if (this.unsettled) {
+      for (BitSet discs : this.stable) {
+        discs.clear();
+      }
+      seeds.or(this.occupied);
+    } else {
+      seeds.or(this.changed);
+      for (int cell = this.filled.nextSetBit(0); cell >= 0;
+           cell = this.filled.nextSetBit(cell + 1)) {
+        for (int d = 0; d < this.tables.numDirections(); d++) {
+          for (int next = this.tables.step(cell, d); next >= 0 && next != cell;
+               next = this.tables.step(next, d)) {
+            if (!this.occupied.get(next)) {
+              break;
+            }
+            seeds.set(next);
+          }
+        }
+      }
+    }
+    this.changed.clear();
+    this.filled.clear();
+    this.unsettled = false;
+
+    int[] stack = new int[Math.max(16, seeds.cardinality())];
+    int top = 0;
+    for (int cell = seeds.nextSetBit(0); cell >= 0; cell = seeds.nextSetBit(cell + 1)) {
+      stack[top++] = cell;
+    }
+    while (top > 0) {
+      int cell = stack[--top];
+      DiscColor color = this.colors.apply(cell);
+      if (color == DiscColor.NONE || this.stable[color.ordinal()].get(cell)
+          || !this.isStableAt(cell, color)) {
+        continue;
+      }
+      this.stable[color.ordinal()].set(cell);
+      for (int neighbor : this.tables.neighbors(cell)) {
+        if (this.colors.apply(neighbor) == color && !this.stable[color.ordinal()].get(neighbor)) {
+          if (top == stack.length) {
+            int[] grown = new int[2 * stack.length];
+            System.arraycopy(stack, 0, grown, 0, top);
+            stack = grown;
+          }
+          stack[top++] = neighbor;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the disc on the given cell can never be flipped, given the discs already
+   * known to be stable: along every line through it, it is on the edge, next to a stable disc of
+   * its own color, or the line is full.
+   *
+   * @param cell  the index of the cell.
+   * @param color the color of its disc.
+   * @return whether the disc is stable.
+   */
+  private boolean isStableAt(int cell, DiscColor color) {
+    BitSet own = this.stable[color.ordinal()];
+    for (int d = 0; d < this.tables.numDirections(); d++) {
+      int o = this.tables.opposite(d);
+      if (o < d) {
+        continue; // every line is looked at once, from its first direction.
+      }
+      int ahead = this.tables.step(cell, d);
+      int behind = this.tables.step(cell, o);
+      if (ahead < 0 || behind < 0 || own.get(ahead) || own.get(behind)) {
+        continue;
+      }
+      if (!this.isFull(cell, d) || !this.isFull(cell, o)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether every cell in the given direction from the given cell holds a disc,
+   * out to the edge or until the line comes back around to the cell.
+   *
+   * @param cell      the index of the cell.
+   * @param direction the index of the direction.
+   * @return whether that side of the line is full.
+   */
+  private boolean isFull(int cell, int direction) {
+    for (int next = this.tables.step(cell, direction); next >= 0 && next != cell;
+         next = this.tables.step(next, direction)) {
+      if (!this.occupied.get(next)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the given cell is next to an empty cell.
+   *
+   * @param cell the index of the cell.
+   * @return whether one of its neighbors is empty.
+   */
+  private boolean nextToEmpty(int cell) {
+    for (int neighbor : this.tables.neighbors(cell)) {
+      if (!this.occupied.get(neighbor)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
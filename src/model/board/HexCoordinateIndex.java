@@ -0,0 +1,133 @@
+package model.board;
+
+/**
+ * Indexes a hexagonal board of axial coordinates, where every cell satisfies
+ * |row| <= layers, |col| <= layers and |row + col| <= layers.
+ * Rows are laid out one after the other, so the index of a cell is the index of the first cell
+ * of its row plus how far the cell is from the start of that row.
+ */
+public class HexCoordinateIndex extends CoordinateIndex {
+  // the cells around the center, in order around it: right, top right, top left, left,
+  // bottom left and bottom right.
+  private static final int[][] RING = {{1, 0}, {1, -1}, {0, -1}, {-1, 0}, {-1, 1}, {0, 1}};
+  private final int[] rowStarts; // index of the first cell of each row, plus the total size.
+
+  /**
+   * Constructor of the class HexCoordinateIndex.
+   *
+   * @param layers the number of layers of the board.
+   */
+  public HexCoordinateIndex(int layers) {
+    super(layers);
+    this.rowStarts = new int[2 * layers + 2];
+    for (int row = -layers; row <= layers; row++) {
+      int rowIdx = row + layers;
+      this.rowStarts[rowIdx + 1] = this.rowStarts[rowIdx] + 2 * layers + 1 - Math.abs(row);
+    }
+  }
+
+  @Override
+  public int size() {
+    return this.rowStarts[this.rowStarts.length - 1];
+  }
+
+  @Override
+  public int indexOf(int row, int col) {
+    if (Math.abs(row) > this.layers || Math.abs(col) > this.layers
+            || Math.abs(row + col) > this.layers) {
+      return -1;
+    }
+    return this.rowStarts[row + this.layers] + col - this.firstCol(row);
+  }
+
+  @Override
+  public int rowOf(int index) {
+    // binary search for the last row that starts at or before the index.
+    int low = 0;
+    int high = this.rowStarts.length - 2;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (this.rowStarts[mid] <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low - this.layers;
+  }
+
+  @Override
+  public int colOf(int index) {
+    int row = this.rowOf(index);
+    return index - this.rowStarts[row + this.layers] + this.firstCol(row);
+  }
+
+  @Override
+  public Coordinate coordinateOf(int index) {
+    int row = this.rowOf(index);
+    return new Coordinate(row, index - this.rowStarts[row + this.layers] + this.firstCol(row));
+  }
+
+  @Override
+  public int step(int index, int dRow, int dCol) {
+    int row = this.rowOf(index);
+    int col = index - this.rowStarts[row + this.layers] + this.firstCol(row);
+    return this.indexOf(row + dRow, col + dCol);
+  }
+
+  @Override
+  public int[][] getDirections() {
+    // left, right, top left, bottom right, top right and bottom left.
+    return new int[][] {{-1, 0}, {1, 0}, {0, -1}, {0, 1}, {1, -1}, {-1, 1}};
+  }
+
+  @Override
+  public boolean isCorner(int index) {
+    int row = this.rowOf(index);
+    int col = this.colOf(index);
+    if (row == -this.layers) {
+      return col == 0 || col == this.layers;
+    } else if (row == this.layers) {
+      return col == 0 || col == -this.layers;
+    } else if (row == 0) {
+      return col == this.layers || col == -this.layers;
+    }
+    return false;
+  }
+
+  @Override
+  public Coordinate[][] getStartingDiscs() {
+    return this.getStartingDiscs(2);
+  }
+
+  /**
+   * Deals the ring of cells around the center to the players in turn, going around the ring,
+   * so that two players alternate around it and three players each get two opposite cells.
+   *
+   * @param players the number of players of the game.
+   * @return a new array of the coordinates of each player's discs, in turn order.
+   * @throws IllegalArgumentException if the ring cannot be dealt evenly to that many players.
+   */
+  @Override
+  public Coordinate[][] getStartingDiscs(int players) {
+    if (players < 2 || RING.length % players != 0) {
+      throw new IllegalArgumentException("Board has no starting position for "
+          + players + " players.");
+    }
+    Coordinate[][] discs = new Coordinate[players][RING.length / players];
+    for (int i = 0; i < RING.length; i++) {
+      discs[i % players][i / players] = new Coordinate(RING[i][0], RING[i][1]);
+    }
+    return discs;
+  }
+
+  /**
+   * Returns the first column of the given row.
+   *
+   * @param row a valid row of the board.
+   * @return the lowest column of that row.
+   */
+  private int firstCol(int row) {
+    return row < 0 ? -this.layers - row : -this.layers;
+  }
+}
@@ -26,19 +26,25 @@ public class HexReversiModel extends AbstractReversiModel {
     protected ICell typeCell;
     protected int layers;
     protected List<DiscColor> playerColors;
+    protected boolean bitboard;
+    protected boolean multiplayer;
 
     /**
      * Constructs a Hex Builder object.
      * Sets the default rule keeper to a ReversiRuleKeeper,
      * sets the default type of cell to a HexCell,
      * sets the default number of layers to 5,
-     * sets the default player colors to black and white.
+     * sets the default player colors to black and white,
+     * does not use a bitboard by default,
+     * and only allows two players by default.
      */
     public HexBuilder() {
       this.ruleKeeper = new ReversiRuleKeeper();
       this.typeCell = new HexCell();
       this.layers = 5;
       this.playerColors = new ArrayList<>(List.of(DiscColor.BLACK, DiscColor.WHITE));
+      this.bitboard = false;
+      this.multiplayer = false;
     }
 
     /**
@@ -85,19 +91,51 @@ public class HexReversiModel extends AbstractReversiModel {
       return this;
     }
 
+    /**
+     * Sets whether this builder builds a model backed by bitboards, where every disc color
+     * owns a bitset of the board. Square bitboards only support boards of at most 4 layers, and
+     * torus builders refuse to build with it set.
+     *
+     * @param bitboard whether to back the model with bitboards.
+     * @return this builder.
+     */
+    public HexBuilder setBitboard(boolean bitboard) {
+      this.bitboard = bitboard;
+      return this;
+    }
+
+    /**
+     * Sets whether this builder builds a model of more than two players, up to one per disc
+     * color. Players take turns in the order of the player colors, and start with the ring of
+     * cells around the center dealt to them in turn, so only 2 or 3 players can play. Only hex
+     * boards support more than two players: other builders refuse to build with it set.
+     *
+     * @param multiplayer whether more than two players may play.
+     * @return this builder.
+     */
+    public HexBuilder setMultiplayer(boolean multiplayer) {
+      this.multiplayer = multiplayer;
+      return this;
+    }
+
     /**
      * Builds a Hex ReversiModel object.
      *
      * @return a Hex ReversiModel object.
      */
     public IModel build() {
-      return new HexReversiModel(this.ruleKeeper, this.typeCell, this.layers, this.playerColors);
+      if (this.bitboard) {
+        return new BitsetHexReversiModel(this.ruleKeeper, this.typeCell,
+                this.layers, this.playerColors, this.multiplayer);
+      }
+      return new HexReversiModel(this.ruleKeeper, this.typeCell, this.layers, this.playerColors,
+              this.multiplayer);
     }
   }
 
-  private HexReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
-                                 int layers, List<DiscColor> playerColors) {
-    super(ruleKeeper, typeCell, layers, playerColors);
+  protected HexReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+                                 int layers, List<DiscColor> playerColors, boolean multiplayer) {
+    super(ruleKeeper, typeCell, layers, playerColors, multiplayer);
   }
 
   /**
@@ -110,35 +148,14 @@ public class HexReversiModel extends AbstractReversiModel {
   }
 
   /**
-   * Fills this grid with cells for all possible coordinates of Hex Reversi board.
+   * Makes the coordinate index of a hexagonal board with the given number of layers.
+   *
+   * @param layers the number of layers of the board.
+   * @return the coordinate index of the board.
    */
-  protected void fillGrid(ICell cell) {
-    int colStart = 0;
-    int colEnd = layers;
-    for (int row = -layers; row <= layers; row++) {
-      int col = colStart;
-      while (col <= colEnd) {
-        ICell curr = cell.makeCell();
-        Coordinate coord = new Coordinate(row, col);
-        grid.put(coord, curr);
-        col++;
-      }
-      if (row < 0) {
-        colStart--;
-      } else {
-        colEnd--;
-      }
-    }
-    DiscColor player1 = this.playerColors.get(0);
-    DiscColor player2 = this.playerColors.get(1);
-    // change to player 1's color:
-    this.changeCellColor(new Coordinate(1, 0), player1); // right
-    this.changeCellColor(new Coordinate(0, -1), player1); // top left
-    this.changeCellColor(new Coordinate(-1, 1), player1); // bottom left
-    // change to player 2's color:
-    this.changeCellColor(new Coordinate(-1, 0), player2); // left
-    this.changeCellColor(new Coordinate(0, 1), player2); // bottom right
-    this.changeCellColor(new Coordinate(1, -1), player2); // top right
+  @Override
+  protected CoordinateIndex makeIndex(int layers) {
+    return new HexCoordinateIndex(layers);
   }
 
   /**
@@ -149,48 +166,10 @@ public class HexReversiModel extends AbstractReversiModel {
    * @throws IllegalArgumentException if the given coordinate is invalid.
    * @throws IllegalStateException    if the game has not yet been started.
    */
-  public List<Coordinate> getNeighbors(Coordinate coord) {
-    this.gameNotYetStartedException();
-    this.invalidCoordinateException(coord);
-
-    List<Coordinate> workingList = new ArrayList<>();
-    int row = coord.getRow(); // given row
-    int col = coord.getCol(); // given col
-    workingList.add(new Coordinate(row - 1, col)); // left
-    workingList.add(new Coordinate(row + 1, col)); // right
-    workingList.add(new Coordinate(row, col - 1)); // top left
-    workingList.add(new Coordinate(row, col + 1)); // bottom right
-    workingList.add(new Coordinate(row + 1, col - 1)); // top right
-    workingList.add(new Coordinate(row - 1, col + 1)); // bottom left
-    // removes any coordinates added that are beyond the lengths of this grid
-    workingList.removeIf(c -> !this.grid.containsKey(c));
-    // return the list of neighbors
-    return workingList;
-  }
-
-  /**
-   * Returns whether the given coordinate is a corner or not.
-   *
-   * @param coord the coordinate to check.
-   * @return a boolean that determines it.
-   * @throws IllegalArgumentException if the given coordinate is invalid.
-   * @throws IllegalStateException    if the game has not yet been started.
-   */
   @Override
-  public boolean isCorner(Coordinate coord) {
+  public List<Coordinate> getNeighbors(Coordinate coord) {
     this.gameNotYetStartedException();
-    this.invalidCoordinateException(coord);
-
-    int coordCol = coord.getCol();
-    int coordRow = coord.getRow();
-    if (coordRow == -layers) {
-      return coordCol == 0 || coordCol == layers;
-    } else if (coordRow == layers) {
-      return coordCol == 0 || coordCol == -layers;
-    } else if (coordRow == 0) {
-      return coordCol == layers || coordCol == -layers;
-    }
-    return false;
+    return super.getNeighbors(coord);
   }
 
   /**
@@ -1,7 +1,10 @@
 package model.board;
 
+import java.util.List;
+
 import controller.IController;
 import events.IModelEvent;
+import move.Move;
 
 /**
  * A model interface so different kinds of games can implement this interface.
@@ -18,20 +21,48 @@ public interface IModel extends ReadOnlyModel, IModelEvent {
   /**
    * Changes whose turn it is to the opposite DiscColor.
    *
+   * @return the record to give to undo to take the pass back.
    * @throws IllegalStateException if the game is over, or if the game has not yet started.
    */
-  void pass();
+  MoveRecord pass();
 
   /**
    * Play the disc at the given coordinate, and modify
    * the color of the cells that need to be changed accordingly.
    *
    * @param coord where the player is trying to play.
+   * @return the record to give to undo to take the move back.
    * @throws IllegalStateException    if the move is invalid.
    * @throws IllegalArgumentException if the given coordinate is invalid.
    * @throws IllegalStateException    if the game is over, or if the game has not yet started.
    */
-  void playDisc(Coordinate coord);
+  MoveRecord playDisc(Coordinate coord);
+
+  /**
+   * Takes back the move of the given record, restoring the cells it changed,
+   * whose turn it was, the pass flag and the status of the game exactly.
+   * Moves must be undone last first, so this lets a search play and take back moves on a single
+   * board instead of copying the board for every position it explores.
+   *
+   * @param record the record returned by the last playDisc or pass on this model.
+   * @throws IllegalArgumentException if the given record is null.
+   * @throws IllegalStateException    if the given record is not the last move made on this model.
+   */
+  void undo(MoveRecord record);
+
+  /**
+   * Plays the given moves in order, as if each was given to playDisc or pass, and tells the
+   * listeners of this model that it changed once at the end. The moves are all or nothing: if one
+   * of them cannot be made, the ones before it are taken back and the model is left as it was.
+   * This is how recorded games are loaded.
+   *
+   * @param moves the moves to play, a move without a coordinate being a pass.
+   * @throws IllegalArgumentException if the list or one of its moves is null, or if a move is
+   *                                  on an invalid coordinate.
+   * @throws IllegalStateException    if a move is invalid, if the game is over before the last
+   *                                  move, or if the game has not yet started.
+   */
+  void replay(List<Move> moves);
 
   /**
    * Returns an actionable copy of the board.
@@ -0,0 +1,94 @@
+package model.board;
+
+import java.util.BitSet;
+
+import model.cell.DiscColor;
+import ruleskeeper.RuleVariant;
+
+/**
+ * A model that can tell whether a move is legal under the rules of the ReversiRuleKeeper, and
+ * which discs it flips, straight from its own storage: it checks the coordinate and scans the
+ * lines from the cell without copying the board or building any list of neighbors. The
+ * ReversiRuleKeeper asks models that implement it, and check moves by its variant of the rules,
+ * instead of going through their neighbor queries.
+ */
+public interface LegalityCheck {
+
+  /**
+   * Returns the variant of the rules of the ReversiRuleKeeper this model checks moves by.
+   *
+   * @return the rule variant.
+   */
+  RuleVariant getRuleVariant();
+
+  /**
+   * Returns the coordinate index of this model's board, which numbers the cells of the move sets
+   * and flip masks it returns.
+   *
+   * @return the coordinate index, or null if the geometry of the board is not known.
+   */
+  CoordinateIndex getCoordinateIndex();
+
+  /**
+   * Returns whether the given player can play at the given coordinate under the rules of the
+   * ReversiRuleKeeper, in this model's variant: the cell is empty, and playing there sandwiches
+   * a line of discs of a single other color or, if the variant allows it, the cell is next to
+   * one of the player's discs.
+   *
+   * @param coord  the coordinate to check.
+   * @param player the player who would play there.
+   * @return whether the move is legal.
+   * @throws IllegalArgumentException if the given coordinate is null or not on the board,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  boolean isLegalMove(Coordinate coord, DiscColor player);
+
+  /**
+   * Returns every legal move of the given player under the rules of the ReversiRuleKeeper, in
+   * this model's variant, worked out in one pass over this model's storage.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the player's legal moves, by the index of their cells in board order.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  MoveSet legalMoves(DiscColor player);
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate: every
+   * disc it sandwiches, not counting the played cell.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order.
+   * @throws IllegalArgumentException if the given coordinate is null or not on the board,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  BitSet flipMask(Coordinate coord, DiscColor player);
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * without building any collection of them.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if the given coordinate is null or not on the board,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  int flipCount(Coordinate coord, DiscColor player);
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves under
+   * the rules of the ReversiRuleKeeper, in this model's variant.
+   *
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of legalMoves(player).toArray().
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  int[] flipCounts(DiscColor player);
+}
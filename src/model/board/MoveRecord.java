@@ -0,0 +1,125 @@
+package model.board;
+
+import model.cell.DiscColor;
+
+/**
+ * Everything needed to take back one move (a disc played or a pass) on the model that made it:
+ * the indices of the cells whose color changed with their previous colors,
+ * and whose turn it was, the number of passes in a row and the status of the game before the
+ * move.
+ * Records are handed out by playDisc and pass and must be undone in the reverse order they
+ * were made, on the same model.
+ */
+public final class MoveRecord {
+  private static final DiscColor[] COLORS = DiscColor.values();
+
+  private final int[] cells;
+  private final byte[] previousColors; // the ordinal of the previous color of each cell.
+  private final DiscColor previousTurn;
+  private final int previousPasses;
+  private final Status previousGameState;
+  private final int ply; // the number of moves made on the model, including this one.
+
+  /**
+   * Constructor of the class MoveRecord.
+   *
+   * @param cells             the indices of the cells whose color changed.
+   * @param previousColors    the color ordinal each of those cells had before the move.
+   * @param previousTurn      whose turn it was before the move.
+   * @param previousPasses    the number of passes in a row before the move.
+   * @param previousGameState the status of the game before the move.
+   * @param ply               the number of moves made on the model, including this one.
+   */
+  MoveRecord(int[] cells, byte[] previousColors, DiscColor previousTurn,
+             int previousPasses, Status previousGameState, int ply) {
+    this.cells = cells;
+    this.previousColors = previousColors;
+    this.previousTurn = previousTurn;
+    this.previousPasses = previousPasses;
+    this.previousGameState = previousGameState;
+    this.ply = ply;
+  }
+
+  /**
+   * Returns whether this is the record of a pass.
+   *
+   * @return whether no cell changed color with this move.
+   */
+  public boolean isPass() {
+    return this.cells.length == 0;
+  }
+
+  /**
+   * Returns the number of cells whose color changed, the played cell included.
+   *
+   * @return the number of changed cells.
+   */
+  public int numChanged() {
+    return this.cells.length;
+  }
+
+  /**
+   * Returns the number of discs that the move flipped.
+   *
+   * @return the number of flipped discs, 0 for a pass.
+   */
+  public int numFlipped() {
+    return Math.max(0, this.cells.length - 1);
+  }
+
+  /**
+   * Returns the index of the i-th changed cell; the played cell comes first.
+   *
+   * @param i the position of the changed cell in this record.
+   * @return the index of that cell in the board's coordinate index.
+   */
+  int cellAt(int i) {
+    return this.cells[i];
+  }
+
+  /**
+   * Returns the color the i-th changed cell had before the move.
+   *
+   * @param i the position of the changed cell in this record.
+   * @return the previous color of that cell.
+   */
+  DiscColor previousColorAt(int i) {
+    return COLORS[this.previousColors[i]];
+  }
+
+  /**
+   * Returns whose turn it was before the move.
+   *
+   * @return the player who made the move.
+   */
+  public DiscColor getPreviousTurn() {
+    return this.previousTurn;
+  }
+
+  /**
+   * Returns the number of passes in a row before the move, 0 if the previous move was not a pass.
+   *
+   * @return the number of passes in a row before the move.
+   */
+  int getPreviousPasses() {
+    return this.previousPasses;
+  }
+
+  /**
+   * Returns the status of the game before the move.
+   *
+   * @return the previous status of the game.
+   */
+  Status getPreviousGameState() {
+    return this.previousGameState;
+  }
+
+  /**
+   * Returns the number of moves made on the model, including this one.
+   *
+   * @return the ply of this move.
+   */
+  int getPly() {
+    return this.ply;
+  }
+}
@@ -0,0 +1,92 @@
+package model.board;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Every legal move of one player in one position, worked out in a single pass over a board.
+ * The moves are kept as a bit set of cell indices, in the order forEachCell visits the cells of
+ * the board, and are only turned into coordinates when asked for.
+ * A move set is a snapshot: it does not follow the board after it was made.
+ */
+public final class MoveSet {
+  private final BitSet cells;
+  private final IntFunction<Coordinate> coordinates; // the coordinate of each cell index.
+
+  /**
+   * Constructs the move set of the given cells.
+   *
+   * @param cells       the indices of the cells of the moves, in the order forEachCell visits
+   *                    the cells of the board; copied.
+   * @param coordinates gives the coordinate of the cell at each index.
+   * @throws IllegalArgumentException if either one of the given arguments is null.
+   */
+  public MoveSet(BitSet cells, IntFunction<Coordinate> coordinates) {
+    if (cells == null || coordinates == null) {
+      throw new IllegalArgumentException("Cannot pass in null arguments.");
+    }
+    this.cells = (BitSet) cells.clone();
+    this.coordinates = coordinates;
+  }
+
+  /**
+   * Returns the number of legal moves.
+   *
+   * @return the number of legal moves.
+   */
+  public int size() {
+    return this.cells.cardinality();
+  }
+
+  /**
+   * Returns whether there is no legal move.
+   *
+   * @return whether there is no legal move.
+   */
+  public boolean isEmpty() {
+    return this.cells.isEmpty();
+  }
+
+  /**
+   * Returns whether playing on the cell at the given index is a legal move.
+   *
+   * @param cell the index of the cell.
+   * @return whether the cell is a legal move, false if the index is negative.
+   */
+  public boolean contains(int cell) {
+    return cell >= 0 && this.cells.get(cell);
+  }
+
+  /**
+   * Returns the indices of the cells of the legal moves.
+   *
+   * @return the indices, in increasing order.
+   */
+  public int[] toArray() {
+    return this.cells.stream().toArray();
+  }
+
+  /**
+   * Returns the indices of the cells of the legal moves as a bit set.
+   *
+   * @return a copy of the indices, that can be modified.
+   */
+  public BitSet toBitSet() {
+    return (BitSet) this.cells.clone();
+  }
+
+  /**
+   * Returns the coordinates of the legal moves.
+   *
+   * @return a new list of the coordinates, in board order.
+   */
+  public List<Coordinate> toCoordinates() {
+    List<Coordinate> moves = new ArrayList<>(this.size());
+    for (int cell = this.cells.nextSetBit(0); cell >= 0; cell = this.cells.nextSetBit(cell + 1)) {
+      moves.add(this.coordinates.apply(cell));
+    }
+    return moves;
+  }
+}
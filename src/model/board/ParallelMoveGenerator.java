@@ -0,0 +1,158 @@
+package model.board;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Splits the move generation of very large boards over the cores of the machine.
+ * The cell index of a board is cut into chunks of consecutive cells; each chunk is scanned on
+ * its own into a bit set of the legal moves it holds, and the bit sets are merged in the order
+ * of their chunks, so the result is the same as a single scan whatever the number of threads.
+ * Flip counts are worked out for a range of moves at a time, each into its own slots of the
+ * result. Anything smaller than a threshold is done on the calling thread, so small boards
+ * never pay for splitting the work.
+ * Scans only read the board: they must not be run while the board is being written to.
+ */
+final class ParallelMoveGenerator {
+  /**
+   * The least work (cells or discs to look at) a scan splits over several threads.
+   */
+  static final int SCAN_THRESHOLD = 1 << 12;
+
+  /**
+   * The least number of moves whose flip counts are worked out on several threads.
+   */
+  static final int FLIP_THRESHOLD = 1 << 9;
+
+  // cells per chunk of a scan; a multiple of the bits of a word of a bit set.
+  private static final int SCAN_CHUNK = 1 << 10;
+  private static final int FLIP_CHUNK = 1 << 7; // moves per chunk of flip counts.
+
+  /**
+   * Scans a range of cells of a board.
+   */
+  interface RangeScan {
+    /**
+     * Marks every legal move among the cells of the given range.
+     *
+     * @param from  the index of the first cell of the range.
+     * @param to    the index after the last cell of the range.
+     * @param moves where to mark the legal moves, by cell index.
+     */
+    void scan(int from, int to, BitSet moves);
+  }
+
+  private ParallelMoveGenerator() {
+    // only static methods.
+  }
+
+  /**
+   * Scans the cells of a board for legal moves, splitting the cell index into chunks that are
+   * scanned in parallel if there is enough work.
+   *
+   * @param size the number of cells of the board.
+   * @param work how much the scan has to look at, compared against the threshold.
+   * @param scan scans one range of cells.
+   * @return the indices of the legal moves.
+   */
+  static BitSet scan(int size, int work, RangeScan scan) {
+    if (work < SCAN_THRESHOLD || size <= SCAN_CHUNK) {
+      BitSet moves = new BitSet();
+      scan.scan(0, size, moves);
+      return moves;
+    }
+    return ForkJoinPool.commonPool().invoke(new ScanTask(scan, 0, size));
+  }
+
+  /**
+   * Works out the flip count of every given move, in parallel if there are enough of them.
+   *
+   * @param cells the indices of the cells of the moves.
+   * @param count the flip count of the move on a cell index.
+   * @return the flip counts, in the order of the given moves.
+   */
+  static int[] flipCounts(int[] cells, IntUnaryOperator count) {
+    int[] counts = new int[cells.length];
+    if (cells.length < FLIP_THRESHOLD) {
+      for (int i = 0; i < cells.length; i++) {
+        counts[i] = count.applyAsInt(cells[i]);
+      }
+    } else {
+      ForkJoinPool.commonPool().invoke(new FlipTask(cells, count, counts, 0, cells.length));
+    }
+    return counts;
+  }
+
+  /**
+   * Scans a range of cells, splitting it in two at a chunk boundary while it spans more than
+   * one chunk.
+   */
+  private static final class ScanTask extends RecursiveTask<BitSet> {
+    private static final long serialVersionUID = 1L;
+
+    private final RangeScan scan;
+    private final int from;
+    private final int to;
+
+    ScanTask(RangeScan scan, int from, int to) {
+      this.scan = scan;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected BitSet compute() {
+      if (this.to - this.from <= SCAN_CHUNK) {
+        BitSet moves = new BitSet();
+        this.scan.scan(this.from, this.to, moves);
+        return moves;
+      }
+      int chunks = (this.to - this.from + SCAN_CHUNK - 1) / SCAN_CHUNK;
+      int middle = this.from + chunks / 2 * SCAN_CHUNK;
+      ScanTask right = new ScanTask(this.scan, middle, this.to);
+      right.fork();
+      BitSet moves = new ScanTask(this.scan, this.from, middle).compute();
+      // the halves hold disjoint cells, so merging them in any order gives the same set.
+      moves.or(right.join());
+      return moves;
+    }
+  }
+
+  /**
+   * Works out the flip counts of a range of moves, splitting it in two while it spans more than
+   * one chunk.
+   */
+  private static final class FlipTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] cells;
+    private final IntUnaryOperator count;
+    private final int[] counts;
+    private final int from;
+    private final int to;
+
+    FlipTask(int[] cells, IntUnaryOperator count, int[] counts, int from, int to) {
+      this.cells = cells;
+      this.count = count;
+      this.counts = counts;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= FLIP_CHUNK) {
+        for (int i = this.from; i < this.to; i++) {
+          this.counts[i] = this.count.applyAsInt(this.cells[i]);
+        }
+        return;
+      }
+      int middle = (this.from + this.to) >>> 1;
+      invokeAll(new FlipTask(this.cells, this.count, this.counts, this.from, middle),
+          new FlipTask(this.cells, this.count, this.counts, middle, this.to));
+    }
+  }
+}
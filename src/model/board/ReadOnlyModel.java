@@ -3,6 +3,7 @@ package model.board;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import model.cell.DiscColor;
 import model.cell.ICell;
@@ -160,6 +161,67 @@ public interface ReadOnlyModel {
    */
   HashMap<Coordinate, ICell> getCopyOfAllCoords();
 
+  /**
+   * Calls the given visitor with the coordinate and disc color of every cell of the board,
+   * in row-major order, without copying the board or allocating a coordinate per cell.
+   *
+   * @param visitor the visitor to call with every cell.
+   * @throws IllegalArgumentException if the given visitor is null.
+   */
+  void forEachCell(CellVisitor visitor);
+
+  /**
+   * Returns whether the given coordinate is a cell of the board.
+   *
+   * @param coord the coordinate to check.
+   * @return whether the coordinate is on the board, false if it is null.
+   */
+  boolean contains(Coordinate coord);
+
+  /**
+   * Returns a 64-bit key of the current position (the discs on the board, whose turn it is and
+   * whether the last move was a pass), for keying transposition tables and caches.
+   * Equal positions have equal keys, on every run and on every copy of the board.
+   *
+   * @return the key of the current position.
+   * @throws IllegalStateException if the game has not yet started.
+   */
+  long getPositionHash();
+
+  /**
+   * Returns the coordinates where the given player can play right now, as a read-only set that
+   * follows the board as it changes.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the legal moves of the given player.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  Set<Coordinate> getLegalMoves(DiscColor player);
+
+  /**
+   * Returns the discs of the given player that can never be flipped again, as a read-only set
+   * that follows the board as it changes. The model keeps it up to date as moves are made,
+   * so evaluating a position does not have to work it out.
+   *
+   * @param player the player to get the stable discs of.
+   * @return the stable discs of the given player.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  Set<Coordinate> getStableDiscs(DiscColor player);
+
+  /**
+   * Returns the discs of the given player that are next to an empty cell, as a read-only set
+   * that follows the board as it changes.
+   *
+   * @param player the player to get the frontier discs of.
+   * @return the frontier discs of the given player.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  Set<Coordinate> getFrontierDiscs(DiscColor player);
+
   /**
    * Returns a list of the given coordinate's neighbors.
    *
@@ -1,17 +1,21 @@
 package model.board;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import model.cell.DiscColor;
 import model.cell.ICell;
+import ruleskeeper.ReversiRuleKeeper;
 import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
 
 /**
  * Represents a read-only version of our model for our reversi game.
  */
-public class ReadOnlyReversiModel implements ReadOnlyModel {
+public class ReadOnlyReversiModel implements ReadOnlyModel, LegalityCheck {
   private final IModel adaptee;
 
   /**
@@ -105,6 +109,153 @@ public class ReadOnlyReversiModel implements ReadOnlyModel {
     return this.adaptee.getCopyOfAllCoords();
   }
 
+  @Override
+  public void forEachCell(CellVisitor visitor) {
+    this.adaptee.forEachCell(visitor);
+  }
+
+  @Override
+  public boolean contains(Coordinate coord) {
+    return this.adaptee.contains(coord);
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.adaptee.getPositionHash();
+  }
+
+  @Override
+  public Set<Coordinate> getLegalMoves(DiscColor player) {
+    return this.adaptee.getLegalMoves(player);
+  }
+
+  /**
+   * Returns the variant of the rules of the ReversiRuleKeeper the adapted model checks moves by.
+   *
+   * @return the rule variant.
+   */
+  @Override
+  public RuleVariant getRuleVariant() {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).getRuleVariant();
+    }
+    return ReversiRuleKeeper.variantOf(this.adaptee.getRuleKeeper());
+  }
+
+  /**
+   * Returns the coordinate index of the adapted model's board.
+   *
+   * @return the coordinate index, or null if the adapted model does not know it.
+   */
+  @Override
+  public CoordinateIndex getCoordinateIndex() {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).getCoordinateIndex();
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether the given player can play at the given coordinate under the rules of the
+   * ReversiRuleKeeper, straight from the adapted model if it can tell.
+   *
+   * @param coord  the coordinate to check.
+   * @param player the player who would play there.
+   * @return whether the move is legal.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public boolean isLegalMove(Coordinate coord, DiscColor player) {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).isLegalMove(coord, player);
+    }
+    return new ReversiRuleKeeper(this.getRuleVariant()).isValid(this.adaptee, coord, player);
+  }
+
+  /**
+   * Returns every legal move of the given player under the rules of the ReversiRuleKeeper,
+   * straight from the adapted model if it can work them out.
+   *
+   * @param player the player to get the legal moves of.
+   * @return the player's legal moves, by the index of their cells in board order.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public MoveSet legalMoves(DiscColor player) {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).legalMoves(player);
+    }
+    return new ReversiRuleKeeper(this.getRuleVariant()).legalMoves(this.adaptee, player);
+  }
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate, straight
+   * from the adapted model if it can work them out.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public BitSet flipMask(Coordinate coord, DiscColor player) {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).flipMask(coord, player);
+    }
+    return new ReversiRuleKeeper().flipMask(this.adaptee, coord, player);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * straight from the adapted model if it can count them.
+   *
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if the given coordinate is invalid,
+   *                                  or if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public int flipCount(Coordinate coord, DiscColor player) {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).flipCount(coord, player);
+    }
+    return new ReversiRuleKeeper().flipCount(this.adaptee, coord, player);
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves,
+   * straight from the adapted model if it can work them out.
+   *
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of legalMoves(player).toArray().
+   * @throws IllegalArgumentException if the given player color is invalid.
+   * @throws IllegalStateException    if the game has not yet started.
+   */
+  @Override
+  public int[] flipCounts(DiscColor player) {
+    if (this.adaptee instanceof LegalityCheck) {
+      return ((LegalityCheck) this.adaptee).flipCounts(player);
+    }
+    return new ReversiRuleKeeper(this.getRuleVariant()).flipCounts(this.adaptee, player);
+  }
+
+  @Override
+  public Set<Coordinate> getStableDiscs(DiscColor player) {
+    return this.adaptee.getStableDiscs(player);
+  }
+
+  @Override
+  public Set<Coordinate> getFrontierDiscs(DiscColor player) {
+    return this.adaptee.getFrontierDiscs(player);
+  }
+
   @Override
   public List<Coordinate> getNeighbors(Coordinate c) {
     return this.adaptee.getNeighbors(c);
@@ -0,0 +1,103 @@
+package model.board;
+
+/**
+ * Indexes a square board, which has no zero row or column.
+ * Once the zero row and column are squeezed out the board is a plain (2 * layers)^2 grid,
+ * so the index of a cell is its compact row times the side-length plus its compact column.
+ */
+public class SquareCoordinateIndex extends CoordinateIndex {
+  private final int side;
+
+  /**
+   * Constructor of the class SquareCoordinateIndex.
+   *
+   * @param layers the number of layers of the board (side-length divided by 2).
+   */
+  public SquareCoordinateIndex(int layers) {
+    super(layers);
+    this.side = 2 * layers;
+  }
+
+  @Override
+  public int size() {
+    return this.side * this.side;
+  }
+
+  @Override
+  public int indexOf(int row, int col) {
+    if (row == 0 || col == 0 || Math.abs(row) > this.layers || Math.abs(col) > this.layers) {
+      return -1;
+    }
+    return this.compact(row) * this.side + this.compact(col);
+  }
+
+  @Override
+  public int rowOf(int index) {
+    return this.expand(index / this.side);
+  }
+
+  @Override
+  public int colOf(int index) {
+    return this.expand(index % this.side);
+  }
+
+  @Override
+  public int step(int index, int dRow, int dCol) {
+    int row = index / this.side + dRow;
+    int col = index % this.side + dCol;
+    if (row < 0 || row >= this.side || col < 0 || col >= this.side) {
+      return -1;
+    }
+    return row * this.side + col;
+  }
+
+  @Override
+  public int[][] getDirections() {
+    return new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+  }
+
+  @Override
+  public boolean isCorner(int index) {
+    int last = this.side - 1;
+    int row = index / this.side;
+    int col = index % this.side;
+    return (row == 0 || row == last) && (col == 0 || col == last);
+  }
+
+  @Override
+  public Coordinate[][] getStartingDiscs() {
+    // top left and bottom right, then top right and bottom left.
+    return new Coordinate[][] {
+        {new Coordinate(-1, -1), new Coordinate(1, 1)},
+        {new Coordinate(-1, 1), new Coordinate(1, -1)}};
+  }
+
+  /**
+   * Returns the side-length of the board.
+   *
+   * @return the number of cells in a row.
+   */
+  public int getSide() {
+    return this.side;
+  }
+
+  /**
+   * Turns a row or column of the board into its position on the compact grid.
+   *
+   * @param value a non-zero row or column.
+   * @return the compact position, from 0 to side - 1.
+   */
+  private int compact(int value) {
+    return value < 0 ? value + this.layers : value + this.layers - 1;
+  }
+
+  /**
+   * Turns a position on the compact grid back into a row or column of the board.
+   *
+   * @param position the compact position, from 0 to side - 1.
+   * @return the non-zero row or column.
+   */
+  private int expand(int position) {
+    return position < this.layers ? position - this.layers : position - this.layers + 1;
+  }
+}
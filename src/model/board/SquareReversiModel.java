@@ -1,6 +1,5 @@
 package model.board;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import model.cell.DiscColor;
@@ -30,7 +29,8 @@ public class SquareReversiModel extends AbstractReversiModel {
      * Sets the default rule keeper to a ReversiRuleKeeper,
      * sets the default type of cell to a SquareCell,
      * sets the default number of layers to 5,
-     * sets the default player colors to black and white.
+     * sets the default player colors to black and white,
+     * and does not use a bitboard by default.
      */
     public SquareBuilder() {
       super();
@@ -41,9 +41,18 @@ public class SquareReversiModel extends AbstractReversiModel {
      * Builds a Square ReversiModel object.
      *
      * @return a Square ReversiModel object.
+     * @throws IllegalStateException if more than two players were allowed, which only hex boards
+     *                               support.
      */
     @Override
     public IModel build() {
+      if (this.multiplayer) {
+        throw new IllegalStateException("Square boards only support two players.");
+      }
+      if (this.bitboard) {
+        return new BitboardSquareReversiModel(this.ruleKeeper, this.typeCell,
+                this.layers, this.playerColors);
+      }
       return new SquareReversiModel(this.ruleKeeper, this.typeCell,
               this.layers, this.playerColors);
     }
@@ -67,13 +76,12 @@ public class SquareReversiModel extends AbstractReversiModel {
    *                                  or if the given list of colors contains a duplicate color,
    *                                  or if the given list of colors is null.
    */
-  private SquareReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+  protected SquareReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
                              int layers, List<DiscColor> playerColors) {
     super(ruleKeeper, typeCell, layers, playerColors);
     if (layers == 1) {
       throw new IllegalArgumentException("The number of layers cannot be 1 for a square board.");
     }
-    this.fillGrid(typeCell); //use the overriden method in this class
   }
 
   /**
@@ -86,121 +94,16 @@ public class SquareReversiModel extends AbstractReversiModel {
   }
 
   /**
-   * Fills this grid with cells for all possible coordinates of Square Reversi board.
-   */
-  @Override
-  protected void fillGrid(ICell cell) {
-    for (int row = -layers; row <= layers; row++) {
-      for (int col = -layers; col <= layers; col++) {
-        if (col != 0 && row != 0) { // no center cell, so no origin col or row.
-          ICell curr = cell.makeCell();
-          Coordinate coord = new Coordinate(row, col);
-          this.grid.put(coord, curr);
-        }
-      }
-    }
-    DiscColor player1 = this.playerColors.get(0);
-    DiscColor player2 = this.playerColors.get(1);
-    // change to player 1's color:
-    this.changeCellColor(new Coordinate(-1, -1), player1); // top left
-    this.changeCellColor(new Coordinate(1, 1), player1); // bottom right
-    // change to player 2's color:
-    this.changeCellColor(new Coordinate(-1, 1), player2); // top right
-    this.changeCellColor(new Coordinate(1, -1), player2); // bottom left
-  }
-
-  /**
-   * Get the neighboring cells' coordinates of the cell at the given coordinate.
+   * Makes the coordinate index of a square board with the given number of layers.
    *
-   * @param coord the coordinate of the cell to get the neighbors of.
-   * @return the neighboring cells' coordinates of the cell at the given coordinate.
-   * @throws IllegalArgumentException if the given coordinate is invalid.
-   * @throws IllegalStateException    if the game has not yet been started.
+   * @param layers the number of layers of the board (side-length divided by 2).
+   * @return the coordinate index of the board.
    */
   @Override
-  public List<Coordinate> getNeighbors(Coordinate coord) {
-    this.invalidCoordinateException(coord);
-    List<Coordinate> workingList = new ArrayList<>();
-    int row = coord.getRow();
-    int col = coord.getCol();
-    for (int r = -1; r <= 1; r++) {
-      for (int c = -1; c <= 1; c++) {
-        int newRow = row + r;
-        int newCol = col + c;
-        if (newRow == 0) {
-          if (newRow < coord.getRow()) {
-            newRow = - 1;
-          } else {
-            newRow = 1;
-          }
-        }
-        if (newCol == 0) {
-          if (newCol < coord.getCol()) {
-            newCol = - 1;
-          } else {
-            newCol = 1;
-          }
-        }
-        Coordinate neighborCoord = new Coordinate(newRow, newCol);
-        if (this.grid.containsKey(neighborCoord)
-                && !neighborCoord.equals(coord)
-                && !workingList.contains(neighborCoord)) {
-          workingList.add(neighborCoord);
-        }
-      }
-    }
-    // return the list of neighbors
-    return workingList;
+  protected CoordinateIndex makeIndex(int layers) {
+    return new SquareCoordinateIndex(layers);
   }
 
-  /**
-   * Returns the next coordinate in the direction of the given coordinate.
-   *
-   * @param origin the origin coordinate.
-   * @param c      the coordinate to get the next coordinate of.
-   * @return the next coordinate in the direction of the given coordinate.
-   */
-  protected Coordinate getNextCoordinate(Coordinate origin, Coordinate c) {
-    Coordinate coord = super.getNextCoordinate(origin, c);
-
-    int finalCoordX = coord.getRow();
-    int finalCoordY = coord.getCol();
-    if (finalCoordX == 0) {
-      if (c.getRow() > 0) {
-        finalCoordX -= 1;
-      } else {
-        finalCoordX += 1;
-      }
-    }
-    if (finalCoordY == 0) {
-      if (c.getCol() > 0) {
-        finalCoordY -= 1;
-      } else {
-        finalCoordY += 1;
-      }
-    }
-    return new Coordinate(finalCoordX, finalCoordY);
-  }
-
-  /**
-   * Returns whether the given coordinate is a corner or not.
-   *
-   * @param coord the coordinate to check.
-   * @return a boolean that determines it.
-   * @throws IllegalArgumentException if the given coordinate is invalid.
-   * @throws IllegalStateException    if the game has not yet been started.
-   */
-  @Override
-  public boolean isCorner(Coordinate coord) {
-    this.gameNotYetStartedException();
-    this.invalidCoordinateException(coord);
-    int coordCol = coord.getCol();
-    int coordRow = coord.getRow();
-    return (coordRow == -layers && (coordCol == -layers || coordCol == layers))
-            || (coordRow == layers && (coordCol == layers || coordCol == -layers));
-  }
-
-
   /**
    * Returns an actionable copy of the board.
    *
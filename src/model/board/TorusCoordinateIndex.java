@@ -0,0 +1,37 @@
+package model.board;
+
+/**
+ * Indexes a torus board: a square board whose opposite edges are joined, so that stepping off
+ * one edge comes back on the other. It has the cells and coordinates of a square board of the
+ * same number of layers, but no edges and so no corners, and every cell has eight neighbors.
+ * Lines of cells on a torus come back around to where they started instead of ending.
+ */
+public class TorusCoordinateIndex extends SquareCoordinateIndex {
+
+  /**
+   * Constructor of the class TorusCoordinateIndex.
+   *
+   * @param layers the number of layers of the board (side-length divided by 2).
+   */
+  public TorusCoordinateIndex(int layers) {
+    super(layers);
+  }
+
+  @Override
+  public int step(int index, int dRow, int dCol) {
+    int side = this.getSide();
+    int row = Math.floorMod(index / side + dRow, side);
+    int col = Math.floorMod(index % side + dCol, side);
+    return row * side + col;
+  }
+
+  @Override
+  public boolean isCorner(int index) {
+    return false;
+  }
+
+  @Override
+  public boolean hasEdges() {
+    return false;
+  }
+}
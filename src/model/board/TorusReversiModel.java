@@ -0,0 +1,89 @@
+package model.board;
+
+import java.util.List;
+
+import model.cell.DiscColor;
+import model.cell.ICell;
+import ruleskeeper.RuleKeeper;
+
+/**
+ * Represents a model for a Reversi game played on a torus: a square board whose opposite edges
+ * are joined, so every cell has eight neighbors and the board has no corners.
+ * Lines that would leave the board come back on the other side, and a line ends when it comes
+ * back around to where it started. It plays on the same tables as the other boards.
+ */
+public class TorusReversiModel extends SquareReversiModel {
+
+  /**
+   * Represents a Builder object for a torus ReversiModel, with the same options and defaults as
+   * a Square Builder. Torus boards have no bitboard, so that option cannot be set.
+   */
+  public static class TorusBuilder extends SquareBuilder {
+
+    /**
+     * Builds a torus ReversiModel object.
+     *
+     * @return a torus ReversiModel object.
+     * @throws IllegalStateException if a bitboard was asked for, or if more than two players were
+     *                               allowed.
+     */
+    @Override
+    public IModel build() {
+      if (this.bitboard) {
+        throw new IllegalStateException("Torus boards have no bitboard.");
+      } else if (this.multiplayer) {
+        throw new IllegalStateException("Torus boards only support two players.");
+      }
+      return new TorusReversiModel(this.ruleKeeper, this.typeCell,
+              this.layers, this.playerColors);
+    }
+  }
+
+  /**
+   * Constructor of the class TorusReversiModel.
+   *
+   * @param ruleKeeper   the rule keeper to use for this board.
+   * @param typeCell     the type of cell to fill the grid width.
+   * @param layers       the number of layers in this board (side-length divided by 2).
+   * @param playerColors the player colors (to be able to play with different colors).
+   * @throws IllegalArgumentException if the given arguments are invalid for a square board.
+   */
+  protected TorusReversiModel(RuleKeeper ruleKeeper, ICell typeCell,
+                              int layers, List<DiscColor> playerColors) {
+    super(ruleKeeper, typeCell, layers, playerColors);
+  }
+
+  /**
+   * Create a copy of the given model.
+   *
+   * @param model the model to copy.
+   */
+  public TorusReversiModel(IModel model) {
+    super(model);
+  }
+
+  /**
+   * Makes the coordinate index of a torus board with the given number of layers.
+   *
+   * @param layers the number of layers of the board (side-length divided by 2).
+   * @return the coordinate index of the board.
+   */
+  @Override
+  protected CoordinateIndex makeIndex(int layers) {
+    return new TorusCoordinateIndex(layers);
+  }
+
+  /**
+   * Returns an actionable copy of the board.
+   *
+   * @param model the model to get the actionable copy of.
+   * @return an actionable copy of the board.
+   * @throws IllegalStateException if the game has not yet been started.
+   */
+  @Override
+  public IModel getActionableCopyOfBoard(IModel model) {
+    this.gameNotYetStartedException();
+
+    return new TorusReversiModel(model);
+  }
+}
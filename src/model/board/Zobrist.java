@@ -0,0 +1,61 @@
+package model.board;
+
+import model.cell.DiscColor;
+
+/**
+ * Zobrist keys of Reversi positions. A position's key is the XOR of the key of every disc on the
+ * board, the key of the player whose turn it is and, if the last move was a pass, the pass key.
+ * Keys are derived from a fixed mixing function instead of a random table, so they are the same
+ * on every run and for every board size, and no table has to be built or stored per board.
+ */
+final class Zobrist {
+  private static final long DISC_SEED = 0x9E3779B97F4A7C15L;
+  private static final long TURN_SEED = 0xC2B2AE3D27D4EB4FL;
+  static final long PASS_KEY = mix(0x165667B19E3779F9L);
+
+  /**
+   * This class only holds static helpers.
+   */
+  private Zobrist() {
+  }
+
+  /**
+   * Returns the key of a disc of the given color on the given cell.
+   *
+   * @param cell  the index of the cell.
+   * @param color the color of the disc.
+   * @return the key of the disc, 0 if the color is NONE or null.
+   */
+  static long disc(int cell, DiscColor color) {
+    if (color == null || color == DiscColor.NONE) {
+      return 0L;
+    }
+    return mix(DISC_SEED * (((long) cell << 3) + color.ordinal() + 1));
+  }
+
+  /**
+   * Returns the key of it being the given player's turn.
+   *
+   * @param player the player whose turn it is.
+   * @return the key of the turn, 0 if the player is null.
+   */
+  static long turn(DiscColor player) {
+    if (player == null) {
+      return 0L;
+    }
+    return mix(TURN_SEED * (player.ordinal() + 1));
+  }
+
+  /**
+   * Scrambles the bits of the given value (the finalizer of SplitMix64).
+   *
+   * @param value the value to scramble.
+   * @return the scrambled value.
+   */
+  private static long mix(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
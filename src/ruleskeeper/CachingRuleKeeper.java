@@ -0,0 +1,450 @@
+package ruleskeeper;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import model.board.Coordinate;
+import model.board.CoordinateIndex;
+import model.board.IModel;
+import model.board.LegalityCheck;
+import model.board.MoveSet;
+import model.board.ReadOnlyModel;
+import model.cell.DiscColor;
+
+/**
+ * A rule keeper that remembers the answers of another rule keeper, so that asking about the
+ * same position again (from the controller, the model and every strategy of a composite
+ * strategy in one turn) does not work the answer out again.
+ * Answers are keyed by the position hash, geometry and number of layers of the board, the
+ * variant of the rules, the player and the cell, so one cache can be shared by many games, even
+ * on boards whose cells are numbered alike but play differently. The cache holds
+ * a bounded number of answers, split into segments that each evict their least recently used
+ * answer when full, so that games played on different threads seldom wait for each other.
+ * An answer is only kept if the position did not change while it was worked out.
+ */
+public class CachingRuleKeeper implements RuleKeeper {
+  /**
+   * The number of answers a cache holds unless told otherwise.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private static final int SEGMENTS = 16; // the most segments; a power of two.
+  // the kinds of answers, kept apart in the keys.
+  private static final byte VALID = 0;
+  private static final byte MOVES = 1;
+  private static final byte FLIP_MASK = 2;
+  private static final byte FLIP_COUNT = 3;
+  private static final byte FLIP_COUNTS = 4;
+
+  private final RuleKeeper delegate;
+  private final RuleVariant variant;
+  private final int capacity;
+  private final Segment[] segments;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+
+  /**
+   * Constructs a cache of the answers of the given rule keeper that holds up to the default
+   * number of answers.
+   *
+   * @param delegate the rule keeper whose answers to cache.
+   * @throws IllegalArgumentException if the given rule keeper is null.
+   */
+  public CachingRuleKeeper(RuleKeeper delegate) {
+    this(delegate, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a cache of the answers of the given rule keeper that holds up to the given
+   * number of answers.
+   *
+   * @param delegate the rule keeper whose answers to cache.
+   * @param capacity the most answers to hold at once.
+   * @throws IllegalArgumentException if the given rule keeper is null,
+   *                                  or if the given capacity is less than 1.
+   */
+  public CachingRuleKeeper(RuleKeeper delegate, int capacity) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Rule keeper cannot be null.");
+    } else if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1.");
+    }
+    this.delegate = delegate;
+    this.variant = ReversiRuleKeeper.variantOf(delegate);
+    this.capacity = capacity;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+    // a small cache has fewer segments, so that every segment holds at least one answer.
+    int count = Math.min(SEGMENTS, Integer.highestOneBit(capacity));
+    this.segments = new Segment[count];
+    // the first segments take one more answer each when the capacity does not split evenly.
+    for (int i = 0; i < count; i++) {
+      this.segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+    }
+  }
+
+  /**
+   * Returns the rule keeper whose answers this cache holds.
+   *
+   * @return the cached rule keeper.
+   */
+  public RuleKeeper getDelegate() {
+    return this.delegate;
+  }
+
+  /**
+   * Determines if the given coordinates indicates a valid move, remembering the answer.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinates to check.
+   * @param player the player whose turn it is.
+   * @return a boolean explaining if the given coord represents a valid move.
+   * @throws IllegalArgumentException if either one of the given arguments are null.
+   */
+  @Override
+  public boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (coord == null || !this.isCacheable(model, player)) {
+      return this.delegate.isValid(model, coord, player);
+    }
+    return this.lookup(new Key(VALID, model, player, coord.getRow(), coord.getCol()), model,
+        () -> this.delegate.isValid(model, coord, player));
+  }
+
+  /**
+   * Returns every valid move of the given player, remembering the answer.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the valid moves of.
+   * @return the player's valid moves.
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public MoveSet legalMoves(ReadOnlyModel model, DiscColor player) {
+    if (!this.isCacheable(model, player)) {
+      return this.delegate.legalMoves(model, player);
+    }
+    // a move set is a snapshot, so it can be handed out again as it is.
+    return this.lookup(new Key(MOVES, model, player, 0, 0), model,
+        () -> this.delegate.legalMoves(model, player));
+  }
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate,
+   * remembering the answer.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order; a new bit set.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  @Override
+  public BitSet flipMask(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (coord == null || !this.isCacheable(model, player)) {
+      return this.delegate.flipMask(model, coord, player);
+    }
+    BitSet flips = this.lookup(new Key(FLIP_MASK, model, player, coord.getRow(), coord.getCol()),
+        model, () -> (BitSet) this.delegate.flipMask(model, coord, player).clone());
+    // the kept mask is never handed out, so no caller can change it.
+    return (BitSet) flips.clone();
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * remembering the answer.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  @Override
+  public int flipCount(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (coord == null || !this.isCacheable(model, player)) {
+      return this.delegate.flipCount(model, coord, player);
+    }
+    return this.lookup(new Key(FLIP_COUNT, model, player, coord.getRow(), coord.getCol()),
+        model, () -> this.delegate.flipCount(model, coord, player));
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves,
+   * remembering the answer.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of
+   *         legalMoves(model, player).toArray(); a new array.
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  @Override
+  public int[] flipCounts(ReadOnlyModel model, DiscColor player) {
+    if (!this.isCacheable(model, player)) {
+      return this.delegate.flipCounts(model, player);
+    }
+    int[] counts = this.lookup(new Key(FLIP_COUNTS, model, player, 0, 0), model,
+        () -> this.delegate.flipCounts(model, player).clone());
+    return counts.clone();
+  }
+
+  /**
+   * Returns a list of coordinates that need their colors changed based on the given coordinate,
+   * and the current player's turn. Playing a disc is never cached.
+   *
+   * @param model the model to play the disc on.
+   * @param coord the coordinate to play the disc at.
+   * @return a list of coordinates of cells whose color should be changed.
+   * @throws IllegalStateException    if the move is invalid.
+   * @throws IllegalArgumentException if either one of the given arguments are null.
+   */
+  @Override
+  public List<Coordinate> playDisc(IModel model, Coordinate coord) {
+    return this.delegate.playDisc(model, coord);
+  }
+
+  /**
+   * Returns the number of questions answered from the cache.
+   *
+   * @return the number of hits.
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the number of questions the cached rule keeper had to answer.
+   *
+   * @return the number of misses.
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the number of answers dropped to make room for newer ones.
+   *
+   * @return the number of evictions.
+   */
+  public long getEvictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * Returns the share of questions answered from the cache.
+   *
+   * @return the number of hits over the number of questions, 0 if none was asked.
+   */
+  public double getHitRate() {
+    long hits = this.getHits();
+    long total = hits + this.getMisses();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
+  /**
+   * Returns the number of answers the cache holds.
+   *
+   * @return the number of answers held.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : this.segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the most answers the cache holds at once.
+   *
+   * @return the capacity of the cache.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Drops every answer and resets the statistics.
+   */
+  public void clear() {
+    for (Segment segment : this.segments) {
+      segment.clear();
+    }
+    this.hits.reset();
+    this.misses.reset();
+    this.evictions.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "CachingRuleKeeper{hits=" + this.getHits() + ", misses=" + this.getMisses()
+        + ", evictions=" + this.getEvictions() + ", size=" + this.size()
+        + ", capacity=" + this.capacity + "}";
+  }
+
+  /**
+   * Returns whether the answers about the given model can be cached: the arguments are there
+   * and the game has started, so the position has a hash. Anything else is left to the cached
+   * rule keeper, which throws or answers as it always does.
+   *
+   * @param model  the model asked about.
+   * @param player the player asked about.
+   * @return whether the answer can be looked up.
+   */
+  private boolean isCacheable(ReadOnlyModel model, DiscColor player) {
+    return model != null && player != null && model.getGameState() != null;
+  }
+
+  /**
+   * Returns the answer kept for the given key, or works it out and keeps it if the position
+   * of the model did not change in the meantime.
+   *
+   * @param key     the key of the question.
+   * @param model   the model asked about.
+   * @param compute works out the answer.
+   * @param <T>     the type of the answer.
+   * @return the answer.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T lookup(Key key, ReadOnlyModel model, Supplier<T> compute) {
+    // the number of segments is a power of two.
+    Segment segment = this.segments[key.hashCode() & (this.segments.length - 1)];
+    Object answer = segment.get(key);
+    if (answer != null) {
+      this.hits.increment();
+      return (T) answer;
+    }
+    this.misses.increment();
+    T computed = compute.get();
+    // another thread may have moved while the answer was worked out.
+    if (model.getPositionHash() == key.position) {
+      segment.put(key, computed);
+    }
+    return computed;
+  }
+
+  /**
+   * Returns the geometry of the board of the given model: its coordinate index if it has one,
+   * its class otherwise. Boards of different geometries can number their cells alike, and so
+   * have the same position hash, while their lines run differently.
+   *
+   * @param model the model asked about.
+   * @return an object equal to the geometry of every board of the same shape and size.
+   */
+  private static Object geometryOf(ReadOnlyModel model) {
+    if (model instanceof LegalityCheck) {
+      CoordinateIndex index = ((LegalityCheck) model).getCoordinateIndex();
+      if (index != null) {
+        return index;
+      }
+    }
+    return model.getClass();
+  }
+
+  /**
+   * The key of a question: the kind of answer, the position, the geometry and size of the board,
+   * the variant of the rules, the player and the cell.
+   */
+  private final class Key {
+    private final byte kind;
+    private final long position;
+    private final Object geometry;
+    private final int layers;
+    private final RuleVariant variant;
+    private final byte player;
+    private final int row;
+    private final int col;
+    private final int hash;
+
+    /**
+     * Constructs the key of a question about the current position of the given model.
+     *
+     * @param kind   the kind of answer.
+     * @param model  the model asked about, whose game has started.
+     * @param player the player asked about.
+     * @param row    the row of the cell asked about, 0 if the question is about the board.
+     * @param col    the column of the cell asked about, 0 if the question is about the board.
+     */
+    Key(byte kind, ReadOnlyModel model, DiscColor player, int row, int col) {
+      this.kind = kind;
+      this.position = model.getPositionHash();
+      this.geometry = geometryOf(model);
+      this.layers = model.getNumLayers();
+      this.variant = CachingRuleKeeper.this.variant;
+      this.player = (byte) player.ordinal();
+      this.row = row;
+      this.col = col;
+      long mixed = this.position * 0x9E3779B97F4A7C15L
+          + ((((((long) this.kind * 31 + this.geometry.hashCode()) * 31 + this.layers) * 31
+          + this.variant.hashCode()) * 31 + this.player) * 31 + this.row) * 31 + this.col;
+      this.hash = (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return this.position == that.position && this.kind == that.kind
+          && this.layers == that.layers && this.player == that.player
+          && this.row == that.row && this.col == that.col
+          && this.variant.equals(that.variant) && this.geometry.equals(that.geometry);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  /**
+   * One segment of the cache: a map that keeps its answers in order of use and drops the least
+   * recently used one when it is full. Every access locks the segment.
+   */
+  private final class Segment {
+    private final Map<Key, Object> answers;
+
+    /**
+     * Constructs an empty segment.
+     *
+     * @param capacity the most answers the segment holds, at least 0.
+     */
+    Segment(int capacity) {
+      this.answers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+          if (this.size() > capacity) {
+            evictions.increment();
+            return true;
+          }
+          return false;
+        }
+      };
+    }
+
+    synchronized Object get(Key key) {
+      return this.answers.get(key);
+    }
+
+    synchronized void put(Key key, Object answer) {
+      this.answers.put(key, answer);
+    }
+
+    synchronized int size() {
+      return this.answers.size();
+    }
+
+    synchronized void clear() {
+      this.answers.clear();
+    }
+  }
+}
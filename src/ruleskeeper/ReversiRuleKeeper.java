@@ -1,44 +1,200 @@
 package ruleskeeper;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import model.board.Coordinate;
 import model.board.IModel;
+import model.board.LegalityCheck;
+import model.board.MoveSet;
 import model.board.ReadOnlyModel;
 import model.cell.DiscColor;
 
 /**
- * The class that determines the rules of the game based on the given assignment instructions.
+ * The class that determines the rules of the game based on the given assignment instructions,
+ * in one of the variants of those rules.
  */
 public class ReversiRuleKeeper implements RuleKeeper {
+  private final RuleVariant variant;
+
   /**
-   * Constructs a ReversiRuleKeeper.
+   * Constructs a ReversiRuleKeeper for the rules of this game.
    */
   public ReversiRuleKeeper() {
-    // does not need to take in anything yet --> may need to later after further implementation
+    this(RuleVariant.REVERSI);
+  }
+
+  /**
+   * Constructs a ReversiRuleKeeper for the given variant of the rules.
+   *
+   * @param variant the variant of the rules to keep.
+   * @throws IllegalArgumentException if the given variant is null.
+   */
+  public ReversiRuleKeeper(RuleVariant variant) {
+    if (variant == null) {
+      throw new IllegalArgumentException("Rule variant cannot be null.");
+    }
+    this.variant = variant;
+  }
+
+  /**
+   * Returns the variant of the rules this rule keeper keeps.
+   *
+   * @return the rule variant.
+   */
+  public RuleVariant getVariant() {
+    return this.variant;
+  }
+
+  /**
+   * Returns the variant of the rules the given rule keeper keeps: its own if it is a
+   * ReversiRuleKeeper or a cache of one, the rules of this game otherwise.
+   *
+   * @param ruleKeeper a rule keeper.
+   * @return the variant of the rules the models of that rule keeper check moves by.
+   */
+  public static RuleVariant variantOf(RuleKeeper ruleKeeper) {
+    if (ruleKeeper instanceof ReversiRuleKeeper) {
+      return ((ReversiRuleKeeper) ruleKeeper).getVariant();
+    } else if (ruleKeeper instanceof CachingRuleKeeper) {
+      return variantOf(((CachingRuleKeeper) ruleKeeper).getDelegate());
+    }
+    return RuleVariant.REVERSI;
   }
 
   /**
    * Determines if the given coordinates indicates a valid move.
+   * The arguments are checked first, then models that check moves on their own storage by this
+   * variant of the rules are asked directly, so that checking every cell of a board neither
+   * copies it nor builds lists of neighbors, and any other model is asked for the like and
+   * sandwichable neighbors of the cell.
    *
    * @param model the model to check.
    * @param coord the coordinates ot check
    * @return a boolean explaining if the given coord represents a valid move.
    * @throws IllegalArgumentException if either one of the given arguments are null.
+   * @throws IllegalStateException    if the game of the given model has not yet started.
    */
   public boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player) {
     this.nullArgumentsException(model, coord);
-    if (player == null || player == DiscColor.NONE || !model.getPlayerColors().contains(player)) {
-      throw new IllegalArgumentException("Invalid player color argument.");
+    this.invalidPlayerException(model, player);
+    if (this.checksLikeThis(model)) {
+      // any other model throws from its neighbor queries before its game starts.
+      this.gameNotYetStartedException(model);
+      return ((LegalityCheck) model).isLegalMove(coord, player);
     }
+    return this.isValidCell(model, coord, player);
+  }
 
-    if (model.getCellAt(coord).getColor() == DiscColor.NONE) {
-      return this.hasLikeNeighbor(model, coord, player)
-          || this.canSandwich(model, coord, player);
-    } else {
-      return false;
+  /**
+   * Returns every valid move of the given player, worked out in one pass over the board.
+   * Models that check moves on their own storage by this variant of the rules work out the
+   * whole set themselves, on several threads for very large boards; any other model has its
+   * arguments checked once, then every empty cell is asked for its like and sandwichable
+   * neighbors. A subclass may change the rules by overriding isValid, so it has every cell
+   * checked with isValid instead.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the valid moves of.
+   * @return the player's valid moves.
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  public MoveSet legalMoves(ReadOnlyModel model, DiscColor player) {
+    this.nullArgumentsException(model);
+    boolean defaultRules = this.getClass() == ReversiRuleKeeper.class;
+    if (defaultRules && this.checksLikeThis(model)) {
+      return ((LegalityCheck) model).legalMoves(player);
+    }
+    this.invalidPlayerException(model, player);
+
+    List<Coordinate> coords = new ArrayList<>();
+    BitSet moves = new BitSet();
+    // visits the cells in board order, so the index of a cell is its place in the visit.
+    model.forEachCell((c, color) -> {
+      if (defaultRules ? this.isValidCell(model, c, player) : this.isValid(model, c, player)) {
+        moves.set(coords.size());
+      }
+      coords.add(c);
+    });
+    return new MoveSet(moves, coords::get);
+  }
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate.
+   * Models that can check moves on their own storage mark the discs themselves; any other model
+   * is asked for the sandwichable neighbors of the cell, which are then found in board order.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in board order.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  public BitSet flipMask(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (model instanceof LegalityCheck) {
+      return ((LegalityCheck) model).flipMask(coord, player);
     }
+    // the model checks the coordinate when asked for its sandwichable neighbors.
+    this.nullArgumentsException(model);
+    Set<Coordinate> flips = new HashSet<>(model.getSandwichableNeighbors(coord, player));
+    BitSet mask = new BitSet();
+    int[] cell = {0};
+    model.forEachCell((c, color) -> {
+      if (flips.contains(c)) {
+        mask.set(cell[0]);
+      }
+      cell[0]++;
+    });
+    return mask;
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate.
+   * Models that can check moves on their own storage count them without building any
+   * collection; any other model is asked for the sandwichable neighbors of the cell.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  public int flipCount(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (model instanceof LegalityCheck) {
+      return ((LegalityCheck) model).flipCount(coord, player);
+    }
+    this.nullArgumentsException(model);
+    return model.getSandwichableNeighbors(coord, player).size();
+  }
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves.
+   * Models that check moves on their own storage by this variant of the rules count them
+   * themselves, on several threads when there are many moves; any other model has its legal
+   * moves worked out as legalMoves does, then each of them is asked for its flip count.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of
+   *         legalMoves(model, player).toArray().
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  public int[] flipCounts(ReadOnlyModel model, DiscColor player) {
+    this.nullArgumentsException(model);
+    if (this.getClass() == ReversiRuleKeeper.class && this.checksLikeThis(model)) {
+      return ((LegalityCheck) model).flipCounts(player);
+    }
+    List<Coordinate> moves = this.legalMoves(model, player).toCoordinates();
+    int[] counts = new int[moves.size()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.flipCount(model, moves.get(i), player);
+    }
+    return counts;
   }
 
   /**
@@ -67,6 +223,37 @@ public class ReversiRuleKeeper implements RuleKeeper {
     return coordOfCellsToChangeColor;
   }
 
+  /**
+   * Returns whether the given player can play at the given coordinate, which is known to be on
+   * the board.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to check.
+   * @param player a player of the game.
+   * @return whether the cell is empty and can sandwich discs, or has a like neighbor if this
+   *         variant allows it.
+   */
+  private boolean isValidCell(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+    if (model.getCellAt(coord).getColor() == DiscColor.NONE) {
+      return (this.variant.allowsAdjacentMoves() && this.hasLikeNeighbor(model, coord, player))
+          || this.canSandwich(model, coord, player);
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns whether the given model can check moves on its own storage by the same variant of
+   * the rules as this rule keeper.
+   *
+   * @param model the model to check.
+   * @return whether the model can be asked about moves directly.
+   */
+  private boolean checksLikeThis(ReadOnlyModel model) {
+    return model instanceof LegalityCheck
+        && ((LegalityCheck) model).getRuleVariant().equals(this.variant);
+  }
+
   /**
    * Returns a boolean representing whether the given coordinate has like neighbors.
    *
@@ -90,6 +277,43 @@ public class ReversiRuleKeeper implements RuleKeeper {
     return !sandwichNeighbors.isEmpty();
   }
 
+  /**
+   * Throws an IllegalArgumentException if the given player is not a player of the given model.
+   *
+   * @param model  the model to check.
+   * @param player the player color to check.
+   * @throws IllegalArgumentException if the given player color is invalid.
+   */
+  private void invalidPlayerException(ReadOnlyModel model, DiscColor player) {
+    if (player == null || player == DiscColor.NONE || !model.getPlayerColors().contains(player)) {
+      throw new IllegalArgumentException("Invalid player color argument.");
+    }
+  }
+
+  /**
+   * Throws an IllegalStateException if the game of the given model has not yet started.
+   *
+   * @param model the model to check.
+   * @throws IllegalStateException if the game has not yet started.
+   */
+  private void gameNotYetStartedException(ReadOnlyModel model) {
+    if (model.getGameState() == null) {
+      throw new IllegalStateException("Game has not yet been started.");
+    }
+  }
+
+  /**
+   * Throws an IllegalArgumentException if the given model is null.
+   *
+   * @param model the model to check.
+   * @throws IllegalArgumentException if the given model is null.
+   */
+  private void nullArgumentsException(ReadOnlyModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Cannot pass in null arguments.");
+    }
+  }
+
   /**
    * Throws an IllegalArgumentException if either one of the given arguments are null.
    *
@@ -100,7 +324,7 @@ public class ReversiRuleKeeper implements RuleKeeper {
   private void nullArgumentsException(ReadOnlyModel model, Coordinate coord) {
     if (model == null || coord == null) {
       throw new IllegalArgumentException("Cannot pass in null arguments.");
-    } else if (!model.getCopyOfAllCoords().containsKey(coord)) {
+    } else if (!model.contains(coord)) {
       throw new IllegalArgumentException("Invalid coordinate argument.");
     }
   }
@@ -1,9 +1,11 @@
 package ruleskeeper;
 
+import java.util.BitSet;
 import java.util.List;
 
 import model.board.Coordinate;
 import model.board.IModel;
+import model.board.MoveSet;
 import model.board.ReadOnlyModel;
 import model.cell.DiscColor;
 
@@ -22,6 +24,56 @@ public interface RuleKeeper {
    */
   boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player);
 
+  /**
+   * Returns every valid move of the given player, worked out in one pass over the board.
+   * The moves are indexed in the order forEachCell visits the cells of the model, and are
+   * exactly the coordinates isValid accepts.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the valid moves of.
+   * @return the player's valid moves.
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  MoveSet legalMoves(ReadOnlyModel model, DiscColor player);
+
+  /**
+   * Returns the discs the given player would flip by playing at the given coordinate, as a
+   * compact mask for code that applies moves. The played cell is not part of the mask.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the indices of the cells of the flipped discs, in the order forEachCell visits
+   *         the cells of the model.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  BitSet flipMask(ReadOnlyModel model, Coordinate coord, DiscColor player);
+
+  /**
+   * Returns the number of discs the given player would flip by playing at the given coordinate,
+   * for code that only weighs moves.
+   *
+   * @param model  the model to check.
+   * @param coord  the coordinate to play at.
+   * @param player the player who would play there.
+   * @return the number of discs flipped, not counting the played cell.
+   * @throws IllegalArgumentException if any of the given arguments are null or invalid.
+   */
+  int flipCount(ReadOnlyModel model, Coordinate coord, DiscColor player);
+
+  /**
+   * Returns the number of discs the given player would flip by each of their legal moves.
+   *
+   * @param model  the model to check.
+   * @param player the player to get the flip counts of.
+   * @return the flip count of each legal move, in the order of
+   *         legalMoves(model, player).toArray().
+   * @throws IllegalArgumentException if either one of the given arguments is null,
+   *                                  or if the given player color is invalid.
+   */
+  int[] flipCounts(ReadOnlyModel model, DiscColor player);
+
   /**
    * Returns a list of coordinates that
    * need their colors changed based on the given coordinate,
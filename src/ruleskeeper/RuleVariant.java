@@ -0,0 +1,161 @@
+package ruleskeeper;
+
+/**
+ * A set of rules a ReversiRuleKeeper can play by. Every variant plays discs and flips
+ * sandwiched lines the same way; they differ in which empty cells are legal moves, in who wins,
+ * and in whether a player with no legal move passes on their own.
+ * Models turn the variant of their rule keeper into a few flags of their own move generation,
+ * so every variant is played on the same precomputed tables as the default rules.
+ */
+public final class RuleVariant {
+  /**
+   * The rules of this game: a cell next to one of the player's discs is a legal move even if
+   * it sandwiches nothing, the player with the most discs wins, and a player with no legal move
+   * passes on their own.
+   */
+  public static final RuleVariant REVERSI = new VariantBuilder().build();
+
+  /**
+   * Standard Othello: a legal move must sandwich at least one disc.
+   */
+  public static final RuleVariant OTHELLO = new VariantBuilder().setCaptureOnly(true).build();
+
+  /**
+   * Othello where the player with the fewest discs wins.
+   */
+  public static final RuleVariant ANTI_REVERSI = new VariantBuilder()
+      .setCaptureOnly(true).setFewestDiscsWin(true).build();
+
+  /**
+   * The rules of this game, except that a player with no legal move must pass themselves.
+   */
+  public static final RuleVariant NO_AUTO_PASS = new VariantBuilder().setAutoPass(false).build();
+
+  private final boolean captureOnly;
+  private final boolean fewestDiscsWin;
+  private final boolean autoPass;
+
+  /**
+   * Constructor of the class RuleVariant.
+   *
+   * @param captureOnly    whether a legal move must sandwich at least one disc.
+   * @param fewestDiscsWin whether the player with the fewest discs wins.
+   * @param autoPass       whether a player with no legal move passes on their own.
+   */
+  private RuleVariant(boolean captureOnly, boolean fewestDiscsWin, boolean autoPass) {
+    this.captureOnly = captureOnly;
+    this.fewestDiscsWin = fewestDiscsWin;
+    this.autoPass = autoPass;
+  }
+
+  /**
+   * Returns whether a cell next to one of the player's discs is a legal move on its own.
+   *
+   * @return whether like neighbors make a move legal.
+   */
+  public boolean allowsAdjacentMoves() {
+    return !this.captureOnly;
+  }
+
+  /**
+   * Returns whether the player with the fewest discs wins the game.
+   *
+   * @return whether the fewest discs win.
+   */
+  public boolean fewestDiscsWin() {
+    return this.fewestDiscsWin;
+  }
+
+  /**
+   * Returns whether a player with no legal move passes on their own after the previous player
+   * moves.
+   *
+   * @return whether players pass automatically.
+   */
+  public boolean autoPass() {
+    return this.autoPass;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (!(other instanceof RuleVariant)) {
+      return false;
+    }
+    RuleVariant that = (RuleVariant) other;
+    return this.captureOnly == that.captureOnly && this.fewestDiscsWin == that.fewestDiscsWin
+        && this.autoPass == that.autoPass;
+  }
+
+  @Override
+  public int hashCode() {
+    return (this.captureOnly ? 1 : 0) | (this.fewestDiscsWin ? 2 : 0) | (this.autoPass ? 4 : 0);
+  }
+
+  @Override
+  public String toString() {
+    return "RuleVariant{captureOnly=" + this.captureOnly + ", fewestDiscsWin="
+        + this.fewestDiscsWin + ", autoPass=" + this.autoPass + "}";
+  }
+
+  /**
+   * Builds a rule variant, starting from the rules of this game.
+   */
+  public static class VariantBuilder {
+    private boolean captureOnly;
+    private boolean fewestDiscsWin;
+    private boolean autoPass;
+
+    /**
+     * Constructs a builder for the rules of this game.
+     */
+    public VariantBuilder() {
+      this.captureOnly = false;
+      this.fewestDiscsWin = false;
+      this.autoPass = true;
+    }
+
+    /**
+     * Sets whether a legal move must sandwich at least one disc.
+     *
+     * @param captureOnly whether only moves that sandwich discs are legal.
+     * @return this builder.
+     */
+    public VariantBuilder setCaptureOnly(boolean captureOnly) {
+      this.captureOnly = captureOnly;
+      return this;
+    }
+
+    /**
+     * Sets whether the player with the fewest discs wins.
+     *
+     * @param fewestDiscsWin whether the fewest discs win.
+     * @return this builder.
+     */
+    public VariantBuilder setFewestDiscsWin(boolean fewestDiscsWin) {
+      this.fewestDiscsWin = fewestDiscsWin;
+      return this;
+    }
+
+    /**
+     * Sets whether a player with no legal move passes on their own.
+     *
+     * @param autoPass whether players pass automatically.
+     * @return this builder.
+     */
+    public VariantBuilder setAutoPass(boolean autoPass) {
+      this.autoPass = autoPass;
+      return this;
+    }
+
+    /**
+     * Builds the rule variant.
+     *
+     * @return the rule variant.
+     */
+    public RuleVariant build() {
+      return new RuleVariant(this.captureOnly, this.fewestDiscsWin, this.autoPass);
+    }
+  }
+}
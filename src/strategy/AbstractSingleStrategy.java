@@ -64,14 +64,9 @@ public abstract class AbstractSingleStrategy implements AIStrategy {
    */
   public List<Coordinate> getAllPossiblePlayerMoves(DiscColor player) {
     this.checkPlayerException(player);
-    List<Coordinate> possibleMoves = new ArrayList<>();
-    // get all possible moves
-    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
-      if (this.model.getRuleKeeper().isValid(this.model, c, player)) {
-        possibleMoves.add(c);
-      }
-    }
-    return possibleMoves;
+    // get all possible moves, in row-major order, in one pass over the board (split over
+    // several threads on very large boards).
+    return this.model.getRuleKeeper().legalMoves(this.model, player).toCoordinates();
   }
 
   /**
@@ -120,7 +115,7 @@ public abstract class AbstractSingleStrategy implements AIStrategy {
     }
 
     for (Coordinate c : candidateMoves) {
-      if (!this.model.getCopyOfAllCoords().containsKey(c)) {
+      if (!this.model.contains(c)) {
         throw new IllegalArgumentException("Candidate moves must be in the model");
       } else if (!this.model.getRuleKeeper().isValid(this.model, c, player)) {
         throw new IllegalArgumentException("Candidate moves must be valid moves in the model");
@@ -8,6 +8,7 @@ import java.util.Map;
 import model.board.Coordinate;
 import model.board.ReadOnlyModel;
 import model.cell.DiscColor;
+import ruleskeeper.RuleKeeper;
 
 /**
  * Represents a single strategy where a player will make a move
@@ -41,12 +42,13 @@ public class CaptureMostCells extends AbstractSingleStrategy {
     this.checkCandidateMovesException(candidateMoves, player);
 
     HashMap<Coordinate, Integer> possibleMovesWithWeights = new HashMap<>();
+    RuleKeeper ruleKeeper = this.model.getRuleKeeper();
     //create a hashmap of all possible moves and the number of cells that can be captured
     //if that coordinate is chosen as the move.
     for (Coordinate coord : candidateMoves) {
-      List<Coordinate> sandwichList = this.model.getSandwichableNeighbors(coord, player);
-      if (!sandwichList.isEmpty()) {
-        possibleMovesWithWeights.put(coord, sandwichList.size());
+      int flips = ruleKeeper.flipCount(this.model, coord, player);
+      if (flips > 0) {
+        possibleMovesWithWeights.put(coord, flips);
       }
     }
 
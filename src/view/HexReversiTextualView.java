@@ -2,7 +2,6 @@ package view;
 
 import java.io.IOException;
 
-import model.board.Coordinate;
 import model.board.IModel;
 import model.board.ReadOnlyModel;
 
@@ -67,31 +66,44 @@ public class HexReversiTextualView implements ITextualView {
   @Override
   public String toString() {
     StringBuilder textGame = new StringBuilder();
-    int layers = this.model.getNumLayers();
-    int lowerBoundCol = 0;
-    int upperBoundCol = layers;
-    for (int row = -layers; row <= layers; row++) {
-      this.addWhitespace(textGame, Math.abs(row)); //add whitespace before each row.
-      for (int col = lowerBoundCol; col <= upperBoundCol; col++) {
-        textGame.append(this.model.getCellAt(new Coordinate(row, col)).toString());
-        this.addWhitespace(textGame, 1); //add whitespace between each cell.
+    int[] lastRow = {Integer.MIN_VALUE};
+    this.model.forEachCell((coord, color) -> {
+      if (coord.getRow() != lastRow[0]) {
+        if (textGame.length() > 0) {
+          this.endRow(textGame);
+        }
+        this.addWhitespace(textGame, this.indentOf(coord.getRow())); //add whitespace before row.
+        lastRow[0] = coord.getRow();
       }
-      textGame.deleteCharAt(textGame.length() - 1); //delete last whitespace.
-      textGame.append("\n");
-
-      //change bounds for next row.
-      //if row is negative, then we are in the top half of the board.
-      //if row is positive, then we are in the bottom half of the board.
-      if (row < 0) {
-        lowerBoundCol--;
-      } else {
-        upperBoundCol--;
-      }
-    }
+      textGame.append(color.toString());
+      this.addWhitespace(textGame, 1); //add whitespace between each cell.
+    });
+    this.endRow(textGame);
 
     return textGame.toString();
   }
 
+  /**
+   * Returns the number of whitespaces to add before the given row, so that the rows of the
+   * board line up as a hexagon.
+   *
+   * @param row is the row to indent.
+   * @return the number of whitespaces before the row.
+   */
+  protected int indentOf(int row) {
+    return Math.abs(row);
+  }
+
+  /**
+   * Replaces the whitespace after the last cell of a row with a new line.
+   *
+   * @param textGame is the StringBuilder of the board so far.
+   */
+  private void endRow(StringBuilder textGame) {
+    textGame.deleteCharAt(textGame.length() - 1); //delete last whitespace.
+    textGame.append("\n");
+  }
+
   /**
    * Adds whitespace to the given string builder the given number of times.
    *
@@ -2,7 +2,6 @@ package view;
 
 import java.io.IOException;
 
-import model.board.Coordinate;
 import model.board.IModel;
 import model.board.ReadOnlyModel;
 
@@ -50,25 +49,13 @@ public class SquareReversiTextualView extends HexReversiTextualView implements I
   }
 
   /**
-   * Converts the current game into a visual text-based rendering board game.
+   * Square boards are not indented.
    *
-   * @return the game in text mode.
+   * @param row is the row to indent.
+   * @return 0, whatever the row.
    */
   @Override
-  public String toString() {
-    StringBuilder textGame = new StringBuilder();
-    int layers = this.model.getNumLayers();
-    for (int row = -layers; row <= layers; row++) {
-      for (int col = -layers; col <= layers; col++) {
-        if (col != 0 && row != 0) {
-          textGame.append(this.model.getCellAt(new Coordinate(row, col)).toString());
-          this.addWhitespace(textGame, 1); //add whitespace between each cell.
-        }
-      }
-      textGame.deleteCharAt(textGame.length() - 1); //delete last whitespace.
-      textGame.append("\n");
-    }
-
-    return textGame.toString();
+  protected int indentOf(int row) {
+    return 0;
   }
 }
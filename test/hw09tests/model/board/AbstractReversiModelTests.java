@@ -4,14 +4,28 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import controller.IController;
 import model.board.Coordinate;
 import model.board.IModel;
+import model.board.MoveRecord;
 import model.board.ReadOnlyModel;
 import model.board.Status;
 import model.cell.DiscColor;
+import model.cell.ICell;
+import move.Move;
+import move.Pass;
+import move.PlayDisc;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
 
 /**
  * Tests all kinds of ReversiModels, abstractly.
@@ -308,4 +322,569 @@ public abstract class AbstractReversiModelTests {
 
     Assert.assertTrue(this.model.getPass());
   }
+
+  /*
+    void undo(MoveRecord record) TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUndoNullRecordIllegalArgumentException() {
+    this.actionableModel.undo(null);
+  }
+
+  @Test
+  public void testUndoPass() {
+    MoveRecord first = this.actionableModel.pass();
+    MoveRecord second = this.actionableModel.pass();
+    Assert.assertTrue(first.isPass());
+    Assert.assertEquals(Status.TIED, this.model.getGameState());
+
+    this.actionableModel.undo(second);
+    Assert.assertEquals(Status.PLAYING, this.model.getGameState());
+    Assert.assertTrue(this.model.getPass());
+    Assert.assertEquals(DiscColor.WHITE, this.model.getTurn());
+
+    this.actionableModel.undo(first);
+    Assert.assertFalse(this.model.getPass());
+    Assert.assertEquals(DiscColor.BLACK, this.model.getTurn());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUndoNotLastMoveIllegalStateException() {
+    MoveRecord first = this.actionableModel.playDisc(this.firstLegalMove());
+    this.actionableModel.playDisc(this.firstLegalMove());
+    this.actionableModel.undo(first);
+  }
+
+  @Test
+  public void testUndoRestoresEveryPositionOfAGame() {
+    List<Map<Coordinate, DiscColor>> boards = new ArrayList<>();
+    List<DiscColor> turns = new ArrayList<>();
+    List<MoveRecord> records = new ArrayList<>();
+    while (!this.actionableModel.isGameOver()) {
+      boards.add(this.colors());
+      turns.add(this.model.getTurn());
+      Coordinate move = this.firstLegalMove();
+      MoveRecord record = this.actionableModel.playDisc(move);
+      Assert.assertEquals(record.numChanged(), record.numFlipped() + 1);
+      Assert.assertEquals(turns.get(turns.size() - 1), record.getPreviousTurn());
+      records.add(record);
+    }
+    for (int i = records.size() - 1; i >= 0; i--) {
+      this.actionableModel.undo(records.get(i));
+      Assert.assertEquals(boards.get(i), this.colors());
+      Assert.assertEquals(turns.get(i), this.model.getTurn());
+      Assert.assertEquals(Status.PLAYING, this.model.getGameState());
+    }
+    Assert.assertFalse(this.model.getPass());
+  }
+
+  /*
+    int getPlayerScore(DiscColor player) TESTS
+  */
+
+  @Test
+  public void testPlayerScoresMatchTheCellsThroughoutAGame() {
+    this.assertScoresMatchCells();
+    while (!this.actionableModel.isGameOver()) {
+      this.actionableModel.playDisc(this.firstLegalMove());
+      this.assertScoresMatchCells();
+    }
+    Coordinate corner = this.model.getCopyOfAllCoords().keySet().iterator().next();
+    this.actionableModel.getCellAt(corner).changeColor(DiscColor.MAGENTA);
+    this.assertScoresMatchCells();
+    Assert.assertEquals(1, this.model.getPlayerScore(DiscColor.MAGENTA));
+    Assert.assertEquals(0, this.model.getPlayerScore(null));
+  }
+
+  /*
+    Set<Coordinate> getLegalMoves(DiscColor player) TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetLegalMovesNullPlayerIllegalArgumentException() {
+    this.model.getLegalMoves(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetLegalMovesPlayerNotInGameIllegalArgumentException() {
+    this.model.getLegalMoves(DiscColor.MAGENTA);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testGetLegalMovesIsReadOnly() {
+    this.model.getLegalMoves(DiscColor.BLACK).add(this.firstLegalMove());
+  }
+
+  @Test
+  public void testGetLegalMovesFollowsTheBoardThroughoutAGame() {
+    Set<Coordinate> black = this.model.getLegalMoves(DiscColor.BLACK);
+    Set<Coordinate> white = this.model.getLegalMoves(DiscColor.WHITE);
+    List<MoveRecord> records = new ArrayList<>();
+    while (!this.actionableModel.isGameOver()) {
+      Assert.assertEquals(this.validMoves(DiscColor.BLACK), black);
+      Assert.assertEquals(this.validMoves(DiscColor.WHITE), white);
+      records.add(this.actionableModel.playDisc(this.firstLegalMove()));
+    }
+    Assert.assertTrue(black.isEmpty());
+    Assert.assertTrue(white.isEmpty());
+    for (int i = records.size() - 1; i >= 0; i--) {
+      this.actionableModel.undo(records.get(i));
+      Assert.assertEquals(this.validMoves(DiscColor.BLACK), black);
+      Assert.assertEquals(this.validMoves(DiscColor.WHITE), white);
+    }
+  }
+
+  @Test
+  public void testGetLegalMovesSeesCellsChangedDirectly() {
+    Set<Coordinate> black = this.model.getLegalMoves(DiscColor.BLACK);
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      if (this.model.getCellAt(c).getColor() == DiscColor.WHITE) {
+        this.actionableModel.getCellAt(c).changeColor(DiscColor.NONE);
+        Assert.assertEquals(this.validMoves(DiscColor.BLACK), black);
+      }
+    }
+    Assert.assertEquals(this.validMoves(DiscColor.BLACK), black);
+  }
+
+  /*
+    Set<Coordinate> getStableDiscs(DiscColor player) and
+    Set<Coordinate> getFrontierDiscs(DiscColor player) TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetStableDiscsPlayerNotInGameIllegalArgumentException() {
+    this.model.getStableDiscs(DiscColor.MAGENTA);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetFrontierDiscsNullPlayerIllegalArgumentException() {
+    this.model.getFrontierDiscs(null);
+  }
+
+  @Test
+  public void testStartingDiscsAreFrontierButNotStable() {
+    for (DiscColor player : List.of(DiscColor.BLACK, DiscColor.WHITE)) {
+      Assert.assertTrue(this.model.getStableDiscs(player).isEmpty());
+      Assert.assertEquals(this.model.getPlayerScore(player),
+              this.model.getFrontierDiscs(player).size());
+    }
+  }
+
+  @Test
+  public void testAFilledCornerIsStable() {
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      if (this.model.isCorner(c)) {
+        this.actionableModel.getCellAt(c).changeColor(DiscColor.WHITE);
+        Assert.assertTrue(this.model.getStableDiscs(DiscColor.WHITE).contains(c));
+        Assert.assertTrue(this.model.getFrontierDiscs(DiscColor.WHITE).contains(c));
+        return;
+      }
+    }
+  }
+
+  @Test
+  public void testFrontierFollowsTheBoardThroughoutAGame() {
+    Set<Coordinate> black = this.model.getFrontierDiscs(DiscColor.BLACK);
+    List<MoveRecord> records = new ArrayList<>();
+    while (!this.actionableModel.isGameOver()) {
+      Assert.assertEquals(this.frontier(DiscColor.BLACK), black);
+      Assert.assertEquals(this.frontier(DiscColor.WHITE),
+              this.model.getFrontierDiscs(DiscColor.WHITE));
+      records.add(this.actionableModel.playDisc(this.firstLegalMove()));
+    }
+    for (int i = records.size() - 1; i >= 0; i--) {
+      this.actionableModel.undo(records.get(i));
+      Assert.assertEquals(this.frontier(DiscColor.BLACK), black);
+    }
+  }
+
+  @Test
+  public void testStableDiscsNeverFlipAndSurviveUndo() {
+    Map<Coordinate, DiscColor> stable = new HashMap<>();
+    List<Set<Coordinate>> history = new ArrayList<>();
+    List<MoveRecord> records = new ArrayList<>();
+    while (!this.actionableModel.isGameOver()) {
+      for (Map.Entry<Coordinate, DiscColor> disc : stable.entrySet()) {
+        Assert.assertEquals(disc.getValue(), this.model.getCellAt(disc.getKey()).getColor());
+      }
+      Set<Coordinate> black = new HashSet<>(this.model.getStableDiscs(DiscColor.BLACK));
+      // stable discs stay stable.
+      for (Map.Entry<Coordinate, DiscColor> disc : stable.entrySet()) {
+        if (disc.getValue() == DiscColor.BLACK) {
+          Assert.assertTrue(black.contains(disc.getKey()));
+        }
+      }
+      black.forEach(c -> stable.put(c, DiscColor.BLACK));
+      this.model.getStableDiscs(DiscColor.WHITE).forEach(c -> stable.put(c, DiscColor.WHITE));
+      history.add(black);
+      records.add(this.actionableModel.playDisc(this.firstLegalMove()));
+    }
+    // undoing works the stable discs out again from scratch, which must agree.
+    for (int i = records.size() - 1; i >= 0; i--) {
+      this.actionableModel.undo(records.get(i));
+      Assert.assertEquals(history.get(i), this.model.getStableDiscs(DiscColor.BLACK));
+    }
+  }
+
+  /*
+    flipMask and flipCount TESTS
+  */
+
+  @Test
+  public void testFlipMaskAndCountMatchSandwichableNeighborsThroughoutAGame() {
+    RuleKeeper ruleKeeper = new ReversiRuleKeeper();
+    List<Coordinate> order = new ArrayList<>();
+    this.model.forEachCell((c, color) -> order.add(c));
+    while (!this.actionableModel.isGameOver()) {
+      for (Coordinate c : order) {
+        if (this.model.getCellAt(c).getColor() != DiscColor.NONE) {
+          continue;
+        }
+        for (DiscColor player : this.model.getPlayerColors()) {
+          Set<Coordinate> expected =
+              new HashSet<>(this.model.getSandwichableNeighbors(c, player));
+          BitSet mask = ruleKeeper.flipMask(this.model, c, player);
+          Set<Coordinate> flips = new HashSet<>();
+          mask.stream().forEach(cell -> flips.add(order.get(cell)));
+          Assert.assertEquals(expected, flips);
+          Assert.assertEquals(expected.size(), ruleKeeper.flipCount(this.model, c, player));
+        }
+      }
+      this.actionableModel.playDisc(this.firstLegalMove());
+    }
+  }
+
+  @Test
+  public void testFlipCountsFollowTheLegalMovesThroughoutAGame() {
+    RuleKeeper ruleKeeper = new ReversiRuleKeeper();
+    while (!this.actionableModel.isGameOver()) {
+      for (DiscColor player : this.model.getPlayerColors()) {
+        List<Coordinate> moves = ruleKeeper.legalMoves(this.model, player).toCoordinates();
+        int[] counts = ruleKeeper.flipCounts(this.model, player);
+        Assert.assertEquals(moves.size(), counts.length);
+        for (int i = 0; i < counts.length; i++) {
+          Assert.assertEquals(ruleKeeper.flipCount(this.model, moves.get(i), player), counts[i]);
+        }
+      }
+      this.actionableModel.playDisc(this.firstLegalMove());
+    }
+  }
+
+  /*
+    long getPositionHash() TESTS
+  */
+
+  @Test
+  public void testPositionHashIsSharedByCopies() {
+    IModel copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    Assert.assertEquals(this.model.getPositionHash(), copy.getPositionHash());
+    this.actionableModel.playDisc(this.firstLegalMove());
+    Assert.assertNotEquals(this.model.getPositionHash(), copy.getPositionHash());
+    copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    Assert.assertEquals(this.model.getPositionHash(), copy.getPositionHash());
+  }
+
+  @Test
+  public void testPositionHashFollowsTurnPassAndUndo() {
+    long start = this.model.getPositionHash();
+    MoveRecord pass = this.actionableModel.pass();
+    long passed = this.model.getPositionHash();
+    Assert.assertNotEquals(start, passed);
+    this.actionableModel.undo(pass);
+    Assert.assertEquals(start, this.model.getPositionHash());
+
+    MoveRecord move = this.actionableModel.playDisc(this.firstLegalMove());
+    Assert.assertNotEquals(start, this.model.getPositionHash());
+    this.actionableModel.undo(move);
+    Assert.assertEquals(start, this.model.getPositionHash());
+  }
+
+  @Test
+  public void testPositionHashSeesCellsChangedDirectly() {
+    long start = this.model.getPositionHash();
+    Coordinate empty = null;
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      if (this.model.getCellAt(c).getColor() == DiscColor.NONE) {
+        empty = c;
+        break;
+      }
+    }
+    this.actionableModel.getCellAt(empty).changeColor(DiscColor.WHITE);
+    long white = this.model.getPositionHash();
+    Assert.assertNotEquals(start, white);
+    this.actionableModel.getCellAt(empty).changeColor(DiscColor.BLACK);
+    Assert.assertNotEquals(white, this.model.getPositionHash());
+    this.actionableModel.getCellAt(empty).changeColor(DiscColor.NONE);
+    Assert.assertEquals(start, this.model.getPositionHash());
+  }
+
+  /*
+    snapshot (getReadOnlyCopyOfBoard and getActionableCopyOfBoard) TESTS
+  */
+
+  @Test
+  public void testCopiesDoNotSeeLaterChangesEitherWay() {
+    Map<Coordinate, DiscColor> start = this.colors();
+    DiscColor player = this.model.getTurn();
+    int score = this.model.getPlayerScore(player);
+    IModel copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    this.actionableModel.playDisc(this.firstLegalMove());
+    Map<Coordinate, DiscColor> played = this.colors();
+    for (Coordinate c : start.keySet()) {
+      Assert.assertEquals(start.get(c), copy.getCellAt(c).getColor());
+    }
+    Assert.assertEquals(score, copy.getPlayerScore(player));
+
+    copy.playDisc(this.firstLegalMoveOf(copy));
+    copy.playDisc(this.firstLegalMoveOf(copy));
+    Assert.assertEquals(played, this.colors());
+  }
+
+  @Test
+  public void testSnapshotsOfAGameKeepTheirPositions() {
+    List<ReadOnlyModel> snapshots = new ArrayList<>();
+    List<Map<Coordinate, DiscColor>> positions = new ArrayList<>();
+    List<Set<Coordinate>> moves = new ArrayList<>();
+    while (!this.model.isGameOver()) {
+      snapshots.add(this.model.getReadOnlyCopyOfBoard(this.actionableModel));
+      positions.add(this.colors());
+      moves.add(new HashSet<>(this.model.getLegalMoves(this.model.getTurn())));
+      this.actionableModel.playDisc(this.firstLegalMove());
+    }
+    for (int i = 0; i < snapshots.size(); i++) {
+      ReadOnlyModel snapshot = snapshots.get(i);
+      for (Map.Entry<Coordinate, DiscColor> cell : positions.get(i).entrySet()) {
+        Assert.assertEquals(cell.getValue(), snapshot.getCellAt(cell.getKey()).getColor());
+      }
+      Assert.assertEquals(moves.get(i), snapshot.getLegalMoves(snapshot.getTurn()));
+    }
+  }
+
+  /*
+    HashMap<Coordinate, ICell> getCopyOfAllCoords() TESTS
+  */
+
+  @Test
+  public void testCopyOfAllCoordsCellsAreIndependent() {
+    Map<Coordinate, DiscColor> start = this.colors();
+    Map<Coordinate, ICell> copy = this.model.getCopyOfAllCoords();
+    Map<Coordinate, ICell> other = this.model.getCopyOfAllCoords();
+    for (Map.Entry<Coordinate, ICell> cell : copy.entrySet()) {
+      Assert.assertEquals(start.get(cell.getKey()), cell.getValue().getColor());
+      cell.getValue().changeColor(start.get(cell.getKey()) == DiscColor.NONE
+          ? DiscColor.WHITE : DiscColor.NONE);
+    }
+    Assert.assertEquals(start, this.colors());
+    for (Map.Entry<Coordinate, ICell> cell : other.entrySet()) {
+      Assert.assertEquals(start.get(cell.getKey()), cell.getValue().getColor());
+    }
+
+    // the board changing does not change the copy either.
+    this.actionableModel.playDisc(this.firstLegalMove());
+    for (Map.Entry<Coordinate, ICell> cell : other.entrySet()) {
+      Assert.assertEquals(start.get(cell.getKey()), cell.getValue().getColor());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCopyOfAllCoordsCellAlreadyThisColorIllegalArgumentException() {
+    Map.Entry<Coordinate, ICell> cell =
+        this.model.getCopyOfAllCoords().entrySet().iterator().next();
+    cell.getValue().changeColor(cell.getValue().getColor());
+  }
+
+  /*
+    void forEachCell(CellVisitor visitor) and boolean contains(Coordinate coord) TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testForEachCellNullVisitorIllegalArgumentException() {
+    this.model.forEachCell(null);
+  }
+
+  @Test
+  public void testForEachCellVisitsEveryCellOnceInRowMajorOrder() {
+    this.actionableModel.playDisc(this.firstLegalMove());
+    Map<Coordinate, DiscColor> visited = new HashMap<>();
+    List<Coordinate> order = new ArrayList<>();
+    this.model.forEachCell((coord, color) -> {
+      Assert.assertNull(visited.put(coord, color));
+      order.add(coord);
+    });
+    Assert.assertEquals(this.colors(), visited);
+    for (int i = 1; i < order.size(); i++) {
+      Coordinate last = order.get(i - 1);
+      Coordinate next = order.get(i);
+      Assert.assertTrue(last.getRow() < next.getRow()
+          || (last.getRow() == next.getRow() && last.getCol() < next.getCol()));
+    }
+  }
+
+  @Test
+  public void testContainsMatchesTheBoard() {
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      Assert.assertTrue(this.model.contains(c));
+    }
+    int layers = this.model.getNumLayers();
+    Assert.assertFalse(this.model.contains(new Coordinate(layers + 1, 0)));
+    Assert.assertFalse(this.model.contains(new Coordinate(0, -layers - 1)));
+    Assert.assertFalse(this.model.contains(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplayNullMovesIllegalArgumentException() {
+    this.actionableModel.replay(null);
+  }
+
+  @Test
+  public void testReplayPlaysLikeOneMoveAtATime() {
+    IModel oneByOne = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    List<Move> moves = new ArrayList<>();
+    while (!oneByOne.isGameOver() && moves.size() < 12) {
+      Set<Coordinate> legal = oneByOne.getLegalMoves(oneByOne.getTurn());
+      Coordinate move = legal.isEmpty() ? null : legal.iterator().next();
+      if (move == null) {
+        oneByOne.pass();
+      } else {
+        oneByOne.playDisc(move);
+      }
+      moves.add(move == null ? new Pass() : new PlayDisc(move));
+    }
+    this.actionableModel.replay(moves);
+    Assert.assertEquals(oneByOne.getPositionHash(), this.model.getPositionHash());
+    Assert.assertEquals(oneByOne.getTurn(), this.model.getTurn());
+    this.assertScoresMatchCells();
+  }
+
+  @Test
+  public void testReplayTakesEverythingBackWhenAMoveFails() {
+    long start = this.model.getPositionHash();
+    Map<Coordinate, DiscColor> before = this.colors();
+    List<Move> moves = new ArrayList<>();
+    moves.add(new PlayDisc(this.firstLegalMove()));
+    moves.add(new Pass());
+    // the first move's cell is taken by then.
+    moves.add(moves.get(0));
+    Assert.assertThrows(IllegalStateException.class, () -> this.actionableModel.replay(moves));
+    Assert.assertEquals(start, this.model.getPositionHash());
+    Assert.assertEquals(before, this.colors());
+    Assert.assertEquals(DiscColor.BLACK, this.model.getTurn());
+  }
+
+  @Test
+  public void testReplayNotifiesOnceAtTheEnd() {
+    List<Integer> plies = new ArrayList<>();
+    this.actionableModel.addModelListener(new IController() {
+      @Override
+      public void run() {
+        plies.add(model.getPlayerScore(DiscColor.BLACK) + model.getPlayerScore(DiscColor.WHITE));
+      }
+
+      @Override
+      public void notifyMovePerformed(String move) {
+        // not used by the model.
+      }
+
+      @Override
+      public int toggleHint(boolean hintOn) {
+        return 0;
+      }
+    });
+    int discs = this.model.getPlayerScore(DiscColor.BLACK)
+            + this.model.getPlayerScore(DiscColor.WHITE);
+    Coordinate first = this.firstLegalMove();
+    IModel copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    copy.playDisc(first);
+    this.actionableModel.replay(List.of(new PlayDisc(first),
+            new PlayDisc(this.firstLegalMoveOf(copy))));
+    Assert.assertEquals(List.of(discs + 2), plies);
+  }
+
+  /**
+   * Returns the legal move of the current player that comes first in the board's coordinates.
+   *
+   * @return a legal move of the current player.
+   */
+  private Coordinate firstLegalMove() {
+    return this.firstLegalMoveOf(this.model);
+  }
+
+  /**
+   * Returns the legal move of the current player of the given model that comes first in the
+   * board's coordinates.
+   *
+   * @param model the model to find a move on.
+   * @return a legal move of the current player.
+   */
+  private Coordinate firstLegalMoveOf(ReadOnlyModel model) {
+    for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+      if (model.getRuleKeeper().isValid(model, c, model.getTurn())) {
+        return c;
+      }
+    }
+    throw new IllegalStateException("No legal move.");
+  }
+
+  /**
+   * Returns every coordinate where the rule keeper says the given player can play.
+   *
+   * @param player the player to get the moves of.
+   * @return the valid moves of the player.
+   */
+  private Set<Coordinate> validMoves(DiscColor player) {
+    Set<Coordinate> moves = new HashSet<>();
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      if (this.model.getRuleKeeper().isValid(this.model, c, player)) {
+        moves.add(c);
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Returns every disc of the given player that has an empty neighbor.
+   *
+   * @param player the player to get the frontier discs of.
+   * @return the frontier discs of the player.
+   */
+  private Set<Coordinate> frontier(DiscColor player) {
+    Set<Coordinate> frontier = new HashSet<>();
+    for (Map.Entry<Coordinate, DiscColor> cell : this.colors().entrySet()) {
+      if (cell.getValue() == player) {
+        for (Coordinate neighbor : this.model.getNeighbors(cell.getKey())) {
+          if (this.model.getCellAt(neighbor).getColor() == DiscColor.NONE) {
+            frontier.add(cell.getKey());
+          }
+        }
+      }
+    }
+    return frontier;
+  }
+
+  /**
+   * Asserts that the score of every color is the number of cells of that color.
+   */
+  private void assertScoresMatchCells() {
+    Map<DiscColor, Integer> counts = new HashMap<>();
+    for (DiscColor color : this.colors().values()) {
+      counts.merge(color, 1, Integer::sum);
+    }
+    for (DiscColor color : DiscColor.values()) {
+      Assert.assertEquals((int) counts.getOrDefault(color, 0), this.model.getPlayerScore(color));
+    }
+  }
+
+  /**
+   * Returns the color of every cell of the model.
+   *
+   * @return a map of every coordinate to the color of its cell.
+   */
+  private Map<Coordinate, DiscColor> colors() {
+    Map<Coordinate, DiscColor> colors = new HashMap<>();
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      colors.put(c, this.model.getCellAt(c).getColor());
+    }
+    return colors;
+  }
 }
@@ -0,0 +1,188 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import model.board.Coordinate;
+import model.board.IModel;
+import model.board.ReadOnlyModel;
+import model.board.SquareReversiModel;
+import model.cell.DiscColor;
+
+/**
+ * Test class for the bitboard-backed square model, which must behave exactly like the
+ * regular Square ReversiModel.
+ */
+public class BitboardSquareReversiModelTests extends AbstractReversiModelTests {
+  private final IModel model =
+          new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(3).build();
+
+  @Override
+  protected ReadOnlyModel getModel() {
+    this.model.startGame();
+    return this.model;
+  }
+
+  @Override
+  protected IModel getActionableModel() {
+    return this.model;
+  }
+
+  /*
+    CONSTRUCTING THE GAME TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorTooManyLayersIllegalArgumentException() {
+    new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(5).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorOutOfLowerBoundLayersIllegalArgumentException() {
+    new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(1).build();
+  }
+
+  @Test
+  public void testGameSetUpLikeSquareModel() {
+    for (int layers = 2; layers <= 4; layers++) {
+      IModel bitboard =
+              new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(layers).build();
+      IModel square = new SquareReversiModel.SquareBuilder().setLayers(layers).build();
+      bitboard.startGame();
+      square.startGame();
+      this.assertSameBoard(square, bitboard);
+    }
+  }
+
+  /*
+    PLAYING THE GAME TESTS
+  */
+
+  @Test(expected = IllegalStateException.class)
+  public void testPlayDiscInvalidMoveIllegalStateException() {
+    this.actionableModel.playDisc(new Coordinate(3, 3));
+  }
+
+  @Test
+  public void testChangingCellColorChangesBitboard() {
+    this.actionableModel.getCellAt(new Coordinate(3, 3)).changeColor(DiscColor.WHITE);
+    Assert.assertEquals(DiscColor.WHITE,
+            this.model.getCellAt(new Coordinate(3, 3)).getColor());
+    Assert.assertEquals(3, this.model.getPlayerScore(DiscColor.WHITE));
+    this.actionableModel.getCellAt(new Coordinate(3, 3)).changeColor(DiscColor.NONE);
+    Assert.assertEquals(2, this.model.getPlayerScore(DiscColor.WHITE));
+  }
+
+  @Test
+  public void testLegalMovesFollowChangedCells() {
+    Set<Coordinate> moves = this.actionableModel.getLegalMoves(DiscColor.BLACK);
+    Assert.assertTrue(moves.contains(new Coordinate(-2, -1)));
+    this.actionableModel.getCellAt(new Coordinate(-2, -1)).changeColor(DiscColor.WHITE);
+    Assert.assertFalse(moves.contains(new Coordinate(-2, -1)));
+    IModel square = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    square.startGame();
+    square.getCellAt(new Coordinate(-2, -1)).changeColor(DiscColor.WHITE);
+    Assert.assertEquals(square.getLegalMoves(DiscColor.BLACK), moves);
+    Assert.assertEquals(square.getLegalMoves(DiscColor.WHITE),
+            this.actionableModel.getLegalMoves(DiscColor.WHITE));
+  }
+
+  @Test
+  public void testRandomGamesPlayExactlyLikeSquareModel() {
+    Random random = new Random(42);
+    for (int game = 0; game < 20; game++) {
+      int layers = 2 + game % 3;
+      IModel bitboard =
+              new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(layers).build();
+      IModel square = new SquareReversiModel.SquareBuilder().setLayers(layers).build();
+      bitboard.startGame();
+      square.startGame();
+      while (!square.isGameOver()) {
+        Assert.assertFalse(bitboard.isGameOver());
+        List<Coordinate> moves = this.legalMoves(square);
+        Assert.assertEquals(moves, this.legalMoves(bitboard));
+        if (moves.isEmpty() || random.nextInt(20) == 0) {
+          square.pass();
+          bitboard.pass();
+        } else {
+          Coordinate move = moves.get(random.nextInt(moves.size()));
+          square.playDisc(move);
+          bitboard.playDisc(move);
+        }
+        this.assertSameBoard(square, bitboard);
+      }
+      Assert.assertTrue(bitboard.isGameOver());
+      Assert.assertEquals(square.getWinner(), bitboard.getWinner());
+    }
+  }
+
+  @Test
+  public void testActionableCopyIsIndependent() {
+    this.actionableModel.playDisc(new Coordinate(-2, -1));
+    IModel copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    this.assertSameBoard(this.actionableModel, copy);
+    copy.playDisc(new Coordinate(-2, 1));
+    Assert.assertEquals(DiscColor.NONE,
+            this.model.getCellAt(new Coordinate(-2, 1)).getColor());
+    Assert.assertEquals(DiscColor.WHITE, copy.getCellAt(new Coordinate(-2, 1)).getColor());
+  }
+
+  /**
+   * Returns all the legal moves of the player whose turn it is, in board order.
+   *
+   * @param model the model to get the legal moves of.
+   * @return the legal moves of the current player.
+   */
+  private List<Coordinate> legalMoves(IModel model) {
+    List<Coordinate> moves = new ArrayList<>();
+    int layers = model.getNumLayers();
+    for (int row = -layers; row <= layers; row++) {
+      for (int col = -layers; col <= layers; col++) {
+        Coordinate coord = new Coordinate(row, col);
+        if (row != 0 && col != 0
+                && model.getRuleKeeper().isValid(model, coord, model.getTurn())) {
+          moves.add(coord);
+        }
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Asserts that the two given models are in the same state.
+   *
+   * @param expected the model with the expected state.
+   * @param actual   the model to check.
+   */
+  private void assertSameBoard(IModel expected, IModel actual) {
+    Assert.assertEquals(expected.getTurn(), actual.getTurn());
+    Assert.assertEquals(expected.getPass(), actual.getPass());
+    Assert.assertEquals(expected.getGameState(), actual.getGameState());
+    Assert.assertEquals(expected.getPositionHash(), actual.getPositionHash());
+    for (DiscColor color : DiscColor.values()) {
+      Assert.assertEquals(expected.getPlayerScore(color), actual.getPlayerScore(color));
+    }
+    for (DiscColor player : expected.getPlayerColors()) {
+      Assert.assertEquals(expected.getLegalMoves(player), actual.getLegalMoves(player));
+    }
+    int layers = expected.getNumLayers();
+    for (int row = -layers; row <= layers; row++) {
+      for (int col = -layers; col <= layers; col++) {
+        if (row != 0 && col != 0) {
+          Coordinate coord = new Coordinate(row, col);
+          Assert.assertEquals(expected.getCellAt(coord).getColor(),
+                  actual.getCellAt(coord).getColor());
+          for (DiscColor player : expected.getPlayerColors()) {
+            Assert.assertEquals(expected.getSandwichableNeighbors(coord, player),
+                    actual.getSandwichableNeighbors(coord, player));
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.ReadOnlyModel;
+import model.cell.DiscColor;
+
+/**
+ * Test class for the bitset-backed hex model, which must behave exactly like the
+ * regular Hex ReversiModel.
+ */
+public class BitsetHexReversiModelTests extends AbstractReversiModelTests {
+  private final IModel model =
+          new HexReversiModel.HexBuilder().setBitboard(true).setLayers(3).build();
+
+  @Override
+  protected ReadOnlyModel getModel() {
+    this.model.startGame();
+    return this.model;
+  }
+
+  @Override
+  protected IModel getActionableModel() {
+    return this.model;
+  }
+
+  /*
+    CONSTRUCTING THE GAME TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorOutOfLowerBoundLayersIllegalArgumentException() {
+    new HexReversiModel.HexBuilder().setBitboard(true).setLayers(0).build();
+  }
+
+  @Test
+  public void testGameSetUpLikeHexModel() {
+    for (int layers = 1; layers <= 6; layers++) {
+      IModel bitset = new HexReversiModel.HexBuilder().setBitboard(true).setLayers(layers).build();
+      IModel hex = new HexReversiModel.HexBuilder().setLayers(layers).build();
+      bitset.startGame();
+      hex.startGame();
+      this.assertSameBoard(hex, bitset);
+    }
+  }
+
+  @Test
+  public void testLargeBoardHasEveryCell() {
+    IModel bitset = new HexReversiModel.HexBuilder().setBitboard(true).setLayers(40).build();
+    bitset.startGame();
+    // a hexagon of 40 layers has 3 * 40 * 41 + 1 cells, 6 of which start with a disc.
+    Assert.assertEquals(3 * 40 * 41 + 1 - 6, bitset.getPlayerScore(DiscColor.NONE));
+    Assert.assertEquals(DiscColor.NONE, bitset.getCellAt(new Coordinate(40, -40)).getColor());
+    Assert.assertEquals(DiscColor.NONE, bitset.getCellAt(new Coordinate(-40, 40)).getColor());
+    Assert.assertThrows(IllegalArgumentException.class, () ->
+            bitset.getCellAt(new Coordinate(40, 1)));
+  }
+
+  /*
+    PLAYING THE GAME TESTS
+  */
+
+  @Test(expected = IllegalStateException.class)
+  public void testPlayDiscInvalidMoveIllegalStateException() {
+    this.actionableModel.playDisc(new Coordinate(3, 0));
+  }
+
+  @Test
+  public void testChangingCellColorChangesBitset() {
+    this.actionableModel.getCellAt(new Coordinate(3, 0)).changeColor(DiscColor.WHITE);
+    Assert.assertEquals(DiscColor.WHITE,
+            this.model.getCellAt(new Coordinate(3, 0)).getColor());
+    Assert.assertEquals(4, this.model.getPlayerScore(DiscColor.WHITE));
+    this.actionableModel.getCellAt(new Coordinate(3, 0)).changeColor(DiscColor.NONE);
+    Assert.assertEquals(3, this.model.getPlayerScore(DiscColor.WHITE));
+  }
+
+  @Test
+  public void testLegalMovesFollowChangedCells() {
+    Set<Coordinate> moves = this.actionableModel.getLegalMoves(DiscColor.BLACK);
+    Assert.assertTrue(moves.contains(new Coordinate(-1, 2)));
+    this.actionableModel.getCellAt(new Coordinate(-1, 2)).changeColor(DiscColor.WHITE);
+    Assert.assertFalse(moves.contains(new Coordinate(-1, 2)));
+    IModel hex = new HexReversiModel.HexBuilder().setLayers(3).build();
+    hex.startGame();
+    hex.getCellAt(new Coordinate(-1, 2)).changeColor(DiscColor.WHITE);
+    Assert.assertEquals(hex.getLegalMoves(DiscColor.BLACK), moves);
+    Assert.assertEquals(hex.getLegalMoves(DiscColor.WHITE),
+            this.actionableModel.getLegalMoves(DiscColor.WHITE));
+  }
+
+  @Test
+  public void testRandomGamesPlayExactlyLikeHexModel() {
+    Random random = new Random(7);
+    for (int game = 0; game < 12; game++) {
+      int layers = 1 + game % 6;
+      IModel bitset = new HexReversiModel.HexBuilder().setBitboard(true).setLayers(layers).build();
+      IModel hex = new HexReversiModel.HexBuilder().setLayers(layers).build();
+      bitset.startGame();
+      hex.startGame();
+      while (!hex.isGameOver()) {
+        Assert.assertFalse(bitset.isGameOver());
+        List<Coordinate> moves = this.legalMoves(hex);
+        Assert.assertEquals(moves, this.legalMoves(bitset));
+        if (moves.isEmpty() || random.nextInt(20) == 0) {
+          hex.pass();
+          bitset.pass();
+        } else {
+          Coordinate move = moves.get(random.nextInt(moves.size()));
+          hex.playDisc(move);
+          bitset.playDisc(move);
+        }
+        this.assertSameBoard(hex, bitset);
+      }
+      Assert.assertTrue(bitset.isGameOver());
+      Assert.assertEquals(hex.getWinner(), bitset.getWinner());
+    }
+  }
+
+  @Test
+  public void testActionableCopyIsIndependent() {
+    this.actionableModel.playDisc(new Coordinate(-1, 2));
+    IModel copy = this.actionableModel.getActionableCopyOfBoard(this.actionableModel);
+    this.assertSameBoard(this.actionableModel, copy);
+    copy.playDisc(new Coordinate(1, -2));
+    Assert.assertEquals(DiscColor.NONE, this.model.getCellAt(new Coordinate(1, -2)).getColor());
+    Assert.assertEquals(DiscColor.WHITE, copy.getCellAt(new Coordinate(1, -2)).getColor());
+  }
+
+  /**
+   * Returns all the coordinates of the given hex board, in board order.
+   *
+   * @param layers the number of layers of the board.
+   * @return the coordinates of the board.
+   */
+  private List<Coordinate> coordinates(int layers) {
+    List<Coordinate> coordinates = new ArrayList<>();
+    for (int row = -layers; row <= layers; row++) {
+      for (int col = -layers; col <= layers; col++) {
+        if (Math.abs(row + col) <= layers) {
+          coordinates.add(new Coordinate(row, col));
+        }
+      }
+    }
+    return coordinates;
+  }
+
+  /**
+   * Returns all the legal moves of the player whose turn it is, in board order.
+   *
+   * @param model the model to get the legal moves of.
+   * @return the legal moves of the current player.
+   */
+  private List<Coordinate> legalMoves(IModel model) {
+    List<Coordinate> moves = new ArrayList<>();
+    for (Coordinate coord : this.coordinates(model.getNumLayers())) {
+      if (model.getRuleKeeper().isValid(model, coord, model.getTurn())) {
+        moves.add(coord);
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Asserts that the two given models are in the same state.
+   *
+   * @param expected the model with the expected state.
+   * @param actual   the model to check.
+   */
+  private void assertSameBoard(IModel expected, IModel actual) {
+    Assert.assertEquals(expected.getTurn(), actual.getTurn());
+    Assert.assertEquals(expected.getPass(), actual.getPass());
+    Assert.assertEquals(expected.getGameState(), actual.getGameState());
+    Assert.assertEquals(expected.getPositionHash(), actual.getPositionHash());
+    for (DiscColor color : DiscColor.values()) {
+      Assert.assertEquals(expected.getPlayerScore(color), actual.getPlayerScore(color));
+    }
+    for (DiscColor player : expected.getPlayerColors()) {
+      Assert.assertEquals(expected.getLegalMoves(player), actual.getLegalMoves(player));
+    }
+    for (Coordinate coord : this.coordinates(expected.getNumLayers())) {
+      Assert.assertEquals(expected.getCellAt(coord).getColor(),
+              actual.getCellAt(coord).getColor());
+      for (DiscColor player : expected.getPlayerColors()) {
+        Assert.assertEquals(expected.getSandwichableNeighbors(coord, player),
+                actual.getSandwichableNeighbors(coord, player));
+      }
+    }
+  }
+}
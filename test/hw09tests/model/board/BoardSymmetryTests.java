@@ -0,0 +1,249 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import model.board.AbstractReversiModel;
+import model.board.BoardSymmetry;
+import model.board.Coordinate;
+import model.board.CoordinateIndex;
+import model.board.HexCoordinateIndex;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.ReadOnlyReversiModel;
+import model.board.SquareCoordinateIndex;
+import model.board.SquareReversiModel;
+import model.board.TorusReversiModel;
+import model.cell.DiscColor;
+
+/**
+ * Test class for the symmetries of hex and square boards and the canonical form of positions.
+ */
+public class BoardSymmetryTests {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullIndexIllegalArgumentException() {
+    BoardSymmetry.of(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownShapeIllegalArgumentException() {
+    BoardSymmetry.of(new CoordinateIndex(2) {
+      @Override
+      public int size() {
+        return 1;
+      }
+
+      @Override
+      public int indexOf(int row, int col) {
+        return row == 0 && col == 0 ? 0 : -1;
+      }
+
+      @Override
+      public int rowOf(int index) {
+        return 0;
+      }
+
+      @Override
+      public int colOf(int index) {
+        return 0;
+      }
+
+      @Override
+      public int step(int index, int dRow, int dCol) {
+        return -1;
+      }
+
+      @Override
+      public int[][] getDirections() {
+        return new int[0][];
+      }
+
+      @Override
+      public boolean isCorner(int index) {
+        return false;
+      }
+
+      @Override
+      public Coordinate[][] getStartingDiscs() {
+        return new Coordinate[0][];
+      }
+    });
+  }
+
+  @Test
+  public void testHexBoardsHaveTwelveSymmetriesAndSquareBoardsEight() {
+    Assert.assertEquals(12, BoardSymmetry.of(new HexCoordinateIndex(3)).size());
+    Assert.assertEquals(8, BoardSymmetry.of(new SquareCoordinateIndex(4)).size());
+    Assert.assertSame(BoardSymmetry.of(new HexCoordinateIndex(3)),
+            BoardSymmetry.of(new HexCoordinateIndex(3)));
+  }
+
+  @Test
+  public void testSymmetriesAreDistinctPermutationsThatKeepNeighbors() {
+    this.assertSymmetriesKeepNeighbors(new HexCoordinateIndex(3));
+    this.assertSymmetriesKeepNeighbors(new SquareCoordinateIndex(3));
+  }
+
+  @Test
+  public void testInversesUndoEverySymmetry() {
+    BoardSymmetry symmetry = BoardSymmetry.of(new HexCoordinateIndex(2));
+    Coordinate coord = new Coordinate(-2, 1);
+    for (int t = 0; t < symmetry.size(); t++) {
+      Assert.assertEquals(coord, symmetry.apply(symmetry.inverse(t), symmetry.apply(t, coord)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSymmetryIllegalArgumentException() {
+    BoardSymmetry.of(new SquareCoordinateIndex(2)).apply(8, new Coordinate(1, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCoordinateOffTheBoardIllegalArgumentException() {
+    BoardSymmetry.of(new SquareCoordinateIndex(2)).apply(0, new Coordinate(0, 1));
+  }
+
+  @Test
+  public void testIdentityHashIsThePositionHash() {
+    IModel model = new HexReversiModel.HexBuilder().setLayers(3).build();
+    model.startGame();
+    model.playDisc(model.getLegalMoves(model.getTurn()).iterator().next());
+    BoardSymmetry symmetry = BoardSymmetry.of(new HexCoordinateIndex(3));
+    BoardSymmetry.CanonicalPosition canonical = symmetry.canonicalize(model);
+    if (canonical.getTransform() == 0) {
+      Assert.assertEquals(model.getPositionHash(), canonical.getHash());
+    } else {
+      Assert.assertTrue(canonical.getHash() < model.getPositionHash());
+    }
+  }
+
+  @Test
+  public void testEquivalentPositionsShareTheirCanonicalHash() {
+    this.assertImagesShareTheirCanonicalHash(new HexReversiModel.HexBuilder().setLayers(3).build());
+    this.assertImagesShareTheirCanonicalHash(
+            new SquareReversiModel.SquareBuilder().setLayers(3).build());
+  }
+
+  @Test
+  public void testDifferentPositionsHaveDifferentCanonicalHashes() {
+    IModel model = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    model.startGame();
+    BoardSymmetry symmetry =
+            BoardSymmetry.of(((AbstractReversiModel) model).getCoordinateIndex());
+    long start = symmetry.canonicalize(model).getHash();
+    model.playDisc(model.getLegalMoves(model.getTurn()).iterator().next());
+    Assert.assertNotEquals(start, symmetry.canonicalize(model).getHash());
+  }
+
+  @Test
+  public void testMovesComeBackFromTheCanonicalImage() {
+    IModel model = new HexReversiModel.HexBuilder().setLayers(3).build();
+    model.startGame();
+    BoardSymmetry.CanonicalPosition canonical =
+            BoardSymmetry.of(new HexCoordinateIndex(3)).canonicalize(model);
+    for (Coordinate move : model.getLegalMoves(model.getTurn())) {
+      Assert.assertEquals(move, canonical.fromCanonical(canonical.toCanonical(move)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoardOfAnotherSizeIllegalArgumentException() {
+    IModel model = new HexReversiModel.HexBuilder().setLayers(4).build();
+    model.startGame();
+    BoardSymmetry.of(new HexCoordinateIndex(3)).canonicalize(model);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoardOfAnotherShapeIllegalArgumentException() {
+    IModel model = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    model.startGame();
+    BoardSymmetry.of(new HexCoordinateIndex(3)).canonicalize(model);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTorusIsNotASquareBoardIllegalArgumentException() {
+    IModel model = new TorusReversiModel.TorusBuilder().setLayers(3).build();
+    model.startGame();
+    BoardSymmetry.of(new SquareCoordinateIndex(3))
+        .canonicalize(new ReadOnlyReversiModel(model));
+  }
+
+  /**
+   * Asserts that every symmetry of the given board moves cells onto cells, moves no two cells
+   * onto the same one, keeps neighbors next to each other, and that no two symmetries agree.
+   *
+   * @param index the coordinate index of the board.
+   */
+  private void assertSymmetriesKeepNeighbors(CoordinateIndex index) {
+    BoardSymmetry symmetry = BoardSymmetry.of(index);
+    Set<String> images = new HashSet<>();
+    for (int t = 0; t < symmetry.size(); t++) {
+      Set<Integer> seen = new HashSet<>();
+      StringBuilder image = new StringBuilder();
+      for (int cell = 0; cell < index.size(); cell++) {
+        int moved = symmetry.apply(t, cell);
+        Assert.assertTrue(moved >= 0);
+        Assert.assertTrue(seen.add(moved));
+        image.append(moved).append(',');
+        for (int[] d : index.getDirections()) {
+          int neighbor = index.step(cell, d[0], d[1]);
+          if (neighbor >= 0) {
+            Coordinate a = symmetry.apply(t, index.coordinateOf(cell));
+            Coordinate b = symmetry.apply(t, index.coordinateOf(neighbor));
+            Assert.assertTrue(this.areNeighbors(index, a, b));
+          }
+        }
+      }
+      Assert.assertTrue(images.add(image.toString()));
+    }
+  }
+
+  /**
+   * Returns whether two coordinates of the given board are next to each other.
+   *
+   * @param index the coordinate index of the board.
+   * @param a     a coordinate.
+   * @param b     another coordinate.
+   * @return whether one is a neighbor of the other.
+   */
+  private boolean areNeighbors(CoordinateIndex index, Coordinate a, Coordinate b) {
+    int cell = index.indexOf(a);
+    for (int[] d : index.getDirections()) {
+      if (index.step(cell, d[0], d[1]) == index.indexOf(b)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Plays two moves on the given model, copies the position it reaches onto a fresh board
+   * through every symmetry, and asserts that every copy has the same canonical hash.
+   *
+   * @param model a model that has not been started.
+   */
+  private void assertImagesShareTheirCanonicalHash(IModel model) {
+    model.startGame();
+    for (int i = 0; i < 2; i++) {
+      model.playDisc(model.getLegalMoves(model.getTurn()).iterator().next());
+    }
+    BoardSymmetry symmetry =
+            BoardSymmetry.of(((AbstractReversiModel) model).getCoordinateIndex());
+    long expected = symmetry.canonicalize(model).getHash();
+    for (int t = 0; t < symmetry.size(); t++) {
+      IModel image = model.getActionableCopyOfBoard(model);
+      int transform = t;
+      model.forEachCell((coord, color) -> {
+        Coordinate moved = symmetry.apply(transform, coord);
+        if (image.getCellAt(moved).getColor() != color) {
+          image.getCellAt(moved).changeColor(color);
+        }
+      });
+      Assert.assertEquals(expected, symmetry.canonicalize(image).getHash());
+    }
+  }
+}
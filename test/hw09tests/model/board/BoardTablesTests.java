@@ -0,0 +1,165 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import model.board.BoardTables;
+import model.board.Coordinate;
+import model.board.CoordinateIndex;
+import model.board.HexCoordinateIndex;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.SquareCoordinateIndex;
+import model.board.SquareReversiModel;
+import model.board.TorusCoordinateIndex;
+
+/**
+ * Test class for the shared neighbor and ray tables of a board.
+ */
+public class BoardTablesTests {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullIndexIllegalArgumentException() {
+    BoardTables.of(null);
+  }
+
+  @Test
+  public void testTablesAreSharedPerShapeAndSize() {
+    Assert.assertSame(BoardTables.of(new HexCoordinateIndex(4)),
+            BoardTables.of(new HexCoordinateIndex(4)));
+    Assert.assertNotSame(BoardTables.of(new HexCoordinateIndex(4)),
+            BoardTables.of(new HexCoordinateIndex(5)));
+    Assert.assertNotSame(BoardTables.of(new HexCoordinateIndex(4)),
+            BoardTables.of(new SquareCoordinateIndex(4)));
+  }
+
+  @Test
+  public void testOnlyTheMostRecentShapesAreKept() {
+    BoardTables first = BoardTables.of(new HexCoordinateIndex(4));
+    for (int layers = 2; layers < 2 + BoardTables.MAX_CACHED_SHAPES; layers++) {
+      BoardTables.of(new TorusCoordinateIndex(layers));
+    }
+    BoardTables rebuilt = BoardTables.of(new HexCoordinateIndex(4));
+    Assert.assertNotSame(first, rebuilt);
+    Assert.assertSame(rebuilt, BoardTables.of(new HexCoordinateIndex(4)));
+  }
+
+  @Test
+  public void testRaysOfSmallBoardsAreSharedAndMatchTheSteps() {
+    BoardTables tables = BoardTables.of(new HexCoordinateIndex(4));
+    for (int cell = 0; cell < tables.getIndex().size(); cell++) {
+      for (int d = 0; d < tables.numDirections(); d++) {
+        int[] ray = tables.ray(cell, d);
+        Assert.assertSame(ray, tables.ray(cell, d));
+        int next = cell;
+        for (int onRay : ray) {
+          next = tables.step(next, d);
+          Assert.assertEquals(next, onRay);
+        }
+        Assert.assertEquals(-1, tables.step(next, d));
+      }
+    }
+  }
+
+  @Test
+  public void testNeighborsMatchTheModels() {
+    IModel hex = new HexReversiModel.HexBuilder().setLayers(4).build();
+    IModel square = new SquareReversiModel.SquareBuilder().setLayers(4).build();
+    hex.startGame();
+    square.startGame();
+    this.assertNeighborsMatch(hex, BoardTables.of(new HexCoordinateIndex(4)));
+    this.assertNeighborsMatch(square, BoardTables.of(new SquareCoordinateIndex(4)));
+  }
+
+  @Test
+  public void testRaysGoToTheEdge() {
+    BoardTables tables = BoardTables.of(new SquareCoordinateIndex(3));
+    CoordinateIndex index = tables.getIndex();
+    int origin = index.indexOf(new Coordinate(-2, -3));
+    // direction 4 is (0, 1): along the row, skipping the zero column.
+    int[] ray = tables.ray(origin, 4);
+    Assert.assertEquals(5, ray.length);
+    Assert.assertEquals(new Coordinate(-2, -2), index.coordinateOf(ray[0]));
+    Assert.assertEquals(new Coordinate(-2, 1), index.coordinateOf(ray[2]));
+    Assert.assertEquals(new Coordinate(-2, 3), index.coordinateOf(ray[4]));
+    // direction 3 is (0, -1): the origin is on the left edge.
+    Assert.assertEquals(0, tables.ray(origin, 3).length);
+  }
+
+  @Test
+  public void testTorusRaysStopBeforeComingBackAround() {
+    BoardTables tables = BoardTables.of(new TorusCoordinateIndex(3));
+    CoordinateIndex index = tables.getIndex();
+    int origin = index.indexOf(new Coordinate(-2, -3));
+    // direction 3 is (0, -1): off the left edge and back in from the right.
+    int[] ray = tables.ray(origin, 3);
+    Assert.assertEquals(5, ray.length);
+    Assert.assertEquals(new Coordinate(-2, 3), index.coordinateOf(ray[0]));
+    Assert.assertEquals(new Coordinate(-2, -2), index.coordinateOf(ray[4]));
+    Assert.assertFalse(tables.isCorner(origin));
+  }
+
+  @Test
+  public void testCornersAreCompiledFromTheGeometry() {
+    BoardTables tables = BoardTables.of(new HexCoordinateIndex(2));
+    CoordinateIndex index = tables.getIndex();
+    int corners = 0;
+    for (int i = 0; i < index.size(); i++) {
+      corners += tables.isCorner(i) ? 1 : 0;
+    }
+    Assert.assertEquals(6, corners);
+    Assert.assertTrue(tables.isCorner(index.indexOf(new Coordinate(-2, 2))));
+  }
+
+  @Test
+  public void testGiantBoardsComputeTheirTablesOnDemand() {
+    BoardTables small = BoardTables.of(new SquareCoordinateIndex(3));
+    BoardTables giant = BoardTables.of(new HexCoordinateIndex(1000));
+    Assert.assertTrue(small.isPrecomputed());
+    Assert.assertFalse(giant.isPrecomputed());
+    CoordinateIndex index = giant.getIndex();
+    int origin = index.indexOf(new Coordinate(0, 0));
+    Assert.assertEquals(6, giant.neighbors(origin).length);
+    // direction 1 is (1, 0): straight down to the bottom edge.
+    Assert.assertEquals(new Coordinate(1, 0), index.coordinateOf(giant.step(origin, 1)));
+    Assert.assertEquals(1000, giant.ray(origin, 1).length);
+  }
+
+  @Test(timeout = 10000)
+  public void testGiantBoardsOnlyLookAtTheirDiscs() {
+    IModel giant = new HexReversiModel.HexBuilder().setLayers(1000).build();
+    giant.startGame();
+    for (int i = 0; i < 20; i++) {
+      Set<Coordinate> moves = giant.getLegalMoves(giant.getTurn());
+      Assert.assertFalse(moves.isEmpty());
+      for (Coordinate move : moves) {
+        Assert.assertTrue(giant.getRuleKeeper().isValid(giant, move, giant.getTurn()));
+      }
+      giant.playDisc(moves.iterator().next());
+    }
+    Assert.assertFalse(giant.isGameOver());
+    IModel copy = new HexReversiModel(giant);
+    Assert.assertEquals(giant.getLegalMoves(giant.getTurn()), copy.getLegalMoves(copy.getTurn()));
+  }
+
+  /**
+   * Asserts that the neighbor table lists the same neighbors as the given model, in order.
+   *
+   * @param model  the started model to compare to.
+   * @param tables the tables of a board of the same shape and size.
+   */
+  private void assertNeighborsMatch(IModel model, BoardTables tables) {
+    CoordinateIndex index = tables.getIndex();
+    for (int i = 0; i < index.size(); i++) {
+      List<Coordinate> neighbors = new ArrayList<>();
+      for (int neighbor : tables.neighbors(i)) {
+        neighbors.add(index.coordinateOf(neighbor));
+      }
+      Assert.assertEquals(model.getNeighbors(index.coordinateOf(i)), neighbors);
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import controller.IController;
+import model.board.ConcurrentReversiModel;
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.LegalityCheck;
+import model.board.MoveRecord;
+import model.board.ReadOnlyModel;
+import model.board.SquareReversiModel;
+import model.cell.DiscColor;
+import model.cell.ICell;
+
+/**
+ * Test class for the model that many threads can use at once, which must behave exactly like
+ * the model it wraps.
+ */
+public class ConcurrentReversiModelTests extends AbstractReversiModelTests {
+  private final IModel model =
+          new ConcurrentReversiModel(new SquareReversiModel.SquareBuilder().setLayers(4).build());
+
+  @Override
+  protected ReadOnlyModel getModel() {
+    this.model.startGame();
+    return this.model;
+  }
+
+  @Override
+  protected IModel getActionableModel() {
+    return this.model;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullModelIllegalArgumentException() {
+    new ConcurrentReversiModel(null);
+  }
+
+  @Test
+  public void testCellsWriteThroughToTheModel() {
+    IModel model = this.getActionableModel();
+    ICell cell = model.getCellAt(new Coordinate(4, 4));
+    Assert.assertEquals(DiscColor.NONE, cell.getColor());
+    cell.changeColor(DiscColor.BLACK);
+    Assert.assertEquals(DiscColor.BLACK, model.getCellAt(new Coordinate(4, 4)).getColor());
+  }
+
+  @Test
+  public void testPlayingWhileIteratingLegalMoves() {
+    IModel model = this.getActionableModel();
+    Set<Coordinate> moves = model.getLegalMoves(DiscColor.BLACK);
+    int before = moves.size();
+    List<Coordinate> seen = new ArrayList<>();
+    for (Coordinate move : moves) {
+      if (seen.isEmpty()) {
+        model.playDisc(move); // the iteration goes on over the moves it started with.
+      }
+      seen.add(move);
+    }
+    Assert.assertEquals(before, seen.size());
+    Assert.assertFalse(moves.contains(seen.get(0)));
+  }
+
+  @Test
+  public void testListenersCanPlayWhenTold() {
+    IModel model =
+            new ConcurrentReversiModel(new HexReversiModel.HexBuilder().setLayers(3).build());
+    List<DiscColor> moved = new ArrayList<>();
+    model.addModelListener(new IController() {
+      @Override
+      public void run() {
+        // a listener that plays on the model it is told about must not deadlock.
+        moved.add(model.getTurn());
+        model.playDisc(model.getLegalMoves(model.getTurn()).iterator().next());
+      }
+
+      @Override
+      public void notifyMovePerformed(String move) {
+        // not used by the model.
+      }
+
+      @Override
+      public int toggleHint(boolean hintOn) {
+        return 0;
+      }
+    });
+    model.startGame();
+    Assert.assertEquals(List.of(DiscColor.BLACK), moved);
+    Assert.assertEquals(DiscColor.WHITE, model.getTurn());
+    // the hex board starts with 6 discs, and the listener played one more.
+    Assert.assertEquals(7, model.getPlayerScore(DiscColor.BLACK)
+            + model.getPlayerScore(DiscColor.WHITE));
+  }
+
+  @Test(timeout = 30000)
+  public void testReadersNeverDisturbTheGame() throws InterruptedException {
+    IModel model = this.getActionableModel();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread writer = new Thread(() -> {
+      for (int game = 0; game < 20; game++) {
+        List<MoveRecord> records = new ArrayList<>();
+        while (!model.isGameOver()) {
+          Set<Coordinate> moves = model.getLegalMoves(model.getTurn());
+          records.add(moves.isEmpty() ? model.pass() : model.playDisc(moves.iterator().next()));
+        }
+        for (int i = records.size() - 1; i >= 0; i--) {
+          model.undo(records.get(i));
+        }
+      }
+    });
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      readers.add(new Thread(() -> {
+        try {
+          while (writer.isAlive()) {
+            int discs = 0;
+            for (ICell cell : model.getCopyOfAllCoords().values()) {
+              discs += cell.getColor() == DiscColor.NONE ? 0 : 1;
+            }
+            // a copy is taken from a single position, which always has at least the first discs.
+            Assert.assertTrue(discs >= 4);
+            for (Coordinate move : model.getLegalMoves(DiscColor.BLACK)) {
+              Assert.assertTrue(model.contains(move));
+            }
+            model.isGameOver();
+            model.getStableDiscs(DiscColor.WHITE).size();
+            ((LegalityCheck) model).flipCounts(DiscColor.BLACK);
+            model.getPositionHash();
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      }));
+    }
+    writer.start();
+    for (Thread reader : readers) {
+      reader.start();
+    }
+    writer.join();
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    // reads did not change the game, which every move was taken back from.
+    Assert.assertFalse(model.isGameOver());
+    Assert.assertEquals(4, model.getPlayerScore(DiscColor.BLACK)
+            + model.getPlayerScore(DiscColor.WHITE));
+  }
+
+  @Test
+  public void testGameStateFollowsTheWrappedModelMoveByMove() {
+    IModel bare = new SquareReversiModel.SquareBuilder().setLayers(4).build();
+    IModel wrapped = new ConcurrentReversiModel(
+            new SquareReversiModel.SquareBuilder().setLayers(4).build());
+    bare.startGame();
+    wrapped.startGame();
+    Random random = new Random(5);
+    // the game is followed through its legal moves, so neither model is asked if it is over.
+    while (!bare.getLegalMoves(DiscColor.BLACK).isEmpty()
+            || !bare.getLegalMoves(DiscColor.WHITE).isEmpty()) {
+      Assert.assertEquals(bare.getGameState(), wrapped.getGameState());
+      List<Coordinate> moves = new ArrayList<>(bare.getLegalMoves(bare.getTurn()));
+      Assert.assertEquals(moves, new ArrayList<>(wrapped.getLegalMoves(wrapped.getTurn())));
+      if (moves.isEmpty()) {
+        bare.pass();
+        wrapped.pass();
+      } else {
+        Coordinate move = moves.get(random.nextInt(moves.size()));
+        bare.playDisc(move);
+        wrapped.playDisc(move);
+      }
+    }
+    Assert.assertEquals(bare.getGameState(), wrapped.getGameState());
+    Assert.assertEquals(bare.isGameOver(), wrapped.isGameOver());
+    Assert.assertEquals(bare.getGameState(), wrapped.getGameState());
+    Assert.assertEquals(bare.getWinner(), wrapped.getWinner());
+    Assert.assertEquals(bare.getGameState(), wrapped.getGameState());
+  }
+
+  @Test
+  public void testSnapshotsMatchTheWrappedModelMoveByMove() {
+    IModel bare = new HexReversiModel.HexBuilder().setBitboard(true).setLayers(4).build();
+    IModel wrapped = new ConcurrentReversiModel(
+            new HexReversiModel.HexBuilder().setBitboard(true).setLayers(4).build());
+    bare.startGame();
+    wrapped.startGame();
+    Random random = new Random(11);
+    while (!bare.isGameOver()) {
+      Assert.assertFalse(wrapped.isGameOver());
+      for (DiscColor player : bare.getPlayerColors()) {
+        Assert.assertEquals(bare.getLegalMoves(player), wrapped.getLegalMoves(player));
+        Assert.assertEquals(bare.getStableDiscs(player), wrapped.getStableDiscs(player));
+        Assert.assertEquals(bare.getFrontierDiscs(player), wrapped.getFrontierDiscs(player));
+        Assert.assertArrayEquals(((LegalityCheck) bare).flipCounts(player),
+                ((LegalityCheck) wrapped).flipCounts(player));
+      }
+      List<Coordinate> moves = new ArrayList<>(bare.getLegalMoves(bare.getTurn()));
+      if (moves.isEmpty()) {
+        bare.pass();
+        wrapped.pass();
+      } else {
+        Coordinate move = moves.get(random.nextInt(moves.size()));
+        bare.playDisc(move);
+        wrapped.playDisc(move);
+      }
+    }
+    Assert.assertTrue(wrapped.isGameOver());
+    Assert.assertEquals(bare.getGameState(), wrapped.getGameState());
+    Assert.assertEquals(bare.getWinner(), wrapped.getWinner());
+  }
+
+  @Test
+  public void testDiscSetsFollowTheGame() {
+    IModel model = this.getActionableModel();
+    Set<Coordinate> frontier = model.getFrontierDiscs(DiscColor.BLACK);
+    Set<Coordinate> moves = model.getLegalMoves(DiscColor.BLACK);
+    Assert.assertEquals(2, frontier.size());
+    Coordinate move = moves.iterator().next();
+    Assert.assertTrue(moves.contains(move));
+    model.playDisc(move);
+    Assert.assertTrue(frontier.contains(move));
+    Assert.assertFalse(moves.contains(move));
+    Assert.assertEquals(new ArrayList<>(frontier).size(), frontier.size());
+  }
+}
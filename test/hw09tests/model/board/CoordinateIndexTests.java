@@ -0,0 +1,140 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import model.board.Coordinate;
+import model.board.CoordinateIndex;
+import model.board.HexCoordinateIndex;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.SquareCoordinateIndex;
+import model.board.SquareReversiModel;
+import model.board.TorusCoordinateIndex;
+
+/**
+ * Test class for the square, hex and torus coordinate indices.
+ */
+public class CoordinateIndexTests {
+
+  @Test
+  public void testSizesMatchTheBoards() {
+    for (int layers = 2; layers <= 6; layers++) {
+      IModel hex = new HexReversiModel.HexBuilder().setLayers(layers).build();
+      IModel square = new SquareReversiModel.SquareBuilder().setLayers(layers).build();
+      hex.startGame();
+      square.startGame();
+      Assert.assertEquals(hex.getCopyOfAllCoords().size(), new HexCoordinateIndex(layers).size());
+      Assert.assertEquals(square.getCopyOfAllCoords().size(),
+              new SquareCoordinateIndex(layers).size());
+    }
+  }
+
+  @Test
+  public void testIndicesAreContiguousAndRoundTrip() {
+    this.assertRoundTrips(new HexCoordinateIndex(4));
+    this.assertRoundTrips(new SquareCoordinateIndex(4));
+  }
+
+  @Test
+  public void testIndicesAreRowMajor() {
+    CoordinateIndex hex = new HexCoordinateIndex(3);
+    Assert.assertEquals(0, hex.indexOf(new Coordinate(-3, 0)));
+    Assert.assertEquals(3, hex.indexOf(new Coordinate(-3, 3)));
+    Assert.assertEquals(4, hex.indexOf(new Coordinate(-2, -1)));
+    Assert.assertEquals(hex.size() - 1, hex.indexOf(new Coordinate(3, 0)));
+
+    CoordinateIndex square = new SquareCoordinateIndex(2);
+    Assert.assertEquals(0, square.indexOf(new Coordinate(-2, -2)));
+    Assert.assertEquals(2, square.indexOf(new Coordinate(-2, 1)));
+    Assert.assertEquals(4, square.indexOf(new Coordinate(-1, -2)));
+    Assert.assertEquals(15, square.indexOf(new Coordinate(2, 2)));
+  }
+
+  @Test
+  public void testInvalidCoordinatesHaveNoIndex() {
+    CoordinateIndex hex = new HexCoordinateIndex(3);
+    Assert.assertEquals(-1, hex.indexOf(null));
+    Assert.assertEquals(-1, hex.indexOf(new Coordinate(3, 1)));
+    Assert.assertEquals(-1, hex.indexOf(new Coordinate(-4, 0)));
+    Assert.assertFalse(hex.contains(new Coordinate(-2, -2)));
+
+    CoordinateIndex square = new SquareCoordinateIndex(3);
+    Assert.assertEquals(-1, square.indexOf(new Coordinate(0, 1)));
+    Assert.assertEquals(-1, square.indexOf(new Coordinate(1, 0)));
+    Assert.assertEquals(-1, square.indexOf(new Coordinate(4, 1)));
+    Assert.assertTrue(square.contains(new Coordinate(-3, 3)));
+  }
+
+  @Test
+  public void testSquareCornersAreTheFourEnds() {
+    CoordinateIndex square = new SquareCoordinateIndex(3);
+    int corners = 0;
+    for (int i = 0; i < square.size(); i++) {
+      corners += square.isCorner(i) ? 1 : 0;
+    }
+    Assert.assertEquals(4, corners);
+    Assert.assertTrue(square.isCorner(square.indexOf(new Coordinate(3, -3))));
+    Assert.assertFalse(square.isCorner(square.indexOf(new Coordinate(3, 1))));
+  }
+
+  @Test
+  public void testStartingDiscsAreOnTheBoardAndDistinct() {
+    for (CoordinateIndex index : new CoordinateIndex[] {new HexCoordinateIndex(2),
+        new SquareCoordinateIndex(2), new TorusCoordinateIndex(2)}) {
+      Coordinate[][] discs = index.getStartingDiscs();
+      Assert.assertEquals(2, discs.length);
+      Set<Coordinate> seen = new HashSet<>();
+      for (Coordinate[] player : discs) {
+        for (Coordinate c : player) {
+          Assert.assertTrue(index.contains(c));
+          Assert.assertTrue(seen.add(c));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTorusStepsWrapAround() {
+    CoordinateIndex torus = new TorusCoordinateIndex(3);
+    int corner = torus.indexOf(new Coordinate(3, 3));
+    Assert.assertEquals(new Coordinate(-3, -3), torus.coordinateOf(torus.step(corner, 1, 1)));
+    Assert.assertFalse(torus.isCorner(corner));
+  }
+
+  @Test
+  public void testSquareStepsOverZeroRowAndColumn() {
+    CoordinateIndex square = new SquareCoordinateIndex(3);
+    int origin = square.indexOf(new Coordinate(1, 1));
+    Assert.assertEquals(new Coordinate(-1, -1), square.coordinateOf(square.step(origin, -1, -1)));
+    Assert.assertEquals(new Coordinate(2, 2), square.coordinateOf(square.step(origin, 1, 1)));
+    Assert.assertEquals(-1, square.step(square.indexOf(new Coordinate(3, 3)), 0, 1));
+    Assert.assertEquals(-1, square.step(square.indexOf(new Coordinate(3, -3)), 0, -1));
+  }
+
+  @Test
+  public void testHexStepsStayOnTheHexagon() {
+    CoordinateIndex hex = new HexCoordinateIndex(3);
+    int origin = hex.indexOf(new Coordinate(0, 0));
+    Assert.assertEquals(new Coordinate(1, -1), hex.coordinateOf(hex.step(origin, 1, -1)));
+    Assert.assertEquals(-1, hex.step(hex.indexOf(new Coordinate(-3, 3)), -1, 1));
+    Assert.assertEquals(-1, hex.step(hex.indexOf(new Coordinate(3, 0)), 0, 1));
+  }
+
+  /**
+   * Asserts that every index of the given coordinate index maps to a coordinate with that index.
+   *
+   * @param index the coordinate index to check.
+   */
+  private void assertRoundTrips(CoordinateIndex index) {
+    for (int i = 0; i < index.size(); i++) {
+      Coordinate coord = index.coordinateOf(i);
+      Assert.assertEquals(i, index.indexOf(coord));
+      Assert.assertEquals(coord.getRow(), index.rowOf(i));
+      Assert.assertEquals(coord.getCol(), index.colOf(i));
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.MoveRecord;
+import model.board.Status;
+import model.cell.DiscColor;
+
+/**
+ * Test class for three-player hex games, where the turn goes around every player.
+ */
+public class MultiplayerHexReversiModelTests {
+  private static final List<DiscColor> THREE_PLAYERS =
+          List.of(DiscColor.BLACK, DiscColor.WHITE, DiscColor.MAGENTA);
+
+  private final IModel model = new HexReversiModel.HexBuilder().setLayers(3)
+          .setMultiplayer(true).setPlayerColors(THREE_PLAYERS).build();
+
+  @Before
+  public void init() {
+    this.model.startGame();
+  }
+
+  /*
+    CONSTRUCTING THE GAME TESTS
+  */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThreePlayersIllegalArgumentExceptionByDefault() {
+    new HexReversiModel.HexBuilder().setPlayerColors(THREE_PLAYERS).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicatePlayerColorsIllegalArgumentException() {
+    new HexReversiModel.HexBuilder().setMultiplayer(true)
+            .setPlayerColors(List.of(DiscColor.BLACK, DiscColor.WHITE, DiscColor.BLACK)).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOnePlayerIllegalArgumentException() {
+    new HexReversiModel.HexBuilder().setMultiplayer(true)
+            .setPlayerColors(List.of(DiscColor.BLACK)).build();
+  }
+
+  @Test
+  public void testTwoPlayersStillPlayAsBefore() {
+    IModel two = new HexReversiModel.HexBuilder().setLayers(3).setMultiplayer(true).build();
+    IModel hex = new HexReversiModel.HexBuilder().setLayers(3).build();
+    two.startGame();
+    hex.startGame();
+    Assert.assertEquals(hex.getPositionHash(), two.getPositionHash());
+  }
+
+  @Test
+  public void testEveryPlayerStartsWithTwoOppositeDiscs() {
+    for (DiscColor player : THREE_PLAYERS) {
+      Assert.assertEquals(2, this.model.getPlayerScore(player));
+    }
+    Assert.assertEquals(DiscColor.BLACK, this.model.getCellAt(new Coordinate(1, 0)).getColor());
+    Assert.assertEquals(DiscColor.BLACK, this.model.getCellAt(new Coordinate(-1, 0)).getColor());
+    Assert.assertEquals(DiscColor.WHITE, this.model.getCellAt(new Coordinate(1, -1)).getColor());
+    Assert.assertEquals(DiscColor.WHITE, this.model.getCellAt(new Coordinate(-1, 1)).getColor());
+    Assert.assertEquals(DiscColor.MAGENTA, this.model.getCellAt(new Coordinate(0, -1)).getColor());
+    Assert.assertEquals(DiscColor.MAGENTA, this.model.getCellAt(new Coordinate(0, 1)).getColor());
+  }
+
+  /*
+    PLAYING THE GAME TESTS
+  */
+
+  @Test
+  public void testTurnGoesAroundEveryPlayer() {
+    Assert.assertEquals(DiscColor.WHITE, this.model.getOtherPlayerColor());
+    this.model.pass();
+    Assert.assertEquals(DiscColor.WHITE, this.model.getTurn());
+    Assert.assertEquals(List.of(DiscColor.WHITE, DiscColor.MAGENTA, DiscColor.BLACK),
+            this.model.getPlayerColors());
+    this.model.playDisc(this.model.getLegalMoves(this.model.getTurn()).iterator().next());
+    Assert.assertEquals(DiscColor.MAGENTA, this.model.getTurn());
+    Assert.assertEquals(DiscColor.BLACK, this.model.getOtherPlayerColor());
+  }
+
+  @Test
+  public void testGameEndsOnlyOnceEveryPlayerPassed() {
+    this.model.pass();
+    this.model.pass();
+    Assert.assertEquals(Status.PLAYING, this.model.getGameState());
+    Assert.assertFalse(this.model.isGameOver());
+    this.model.pass();
+    Assert.assertTrue(this.model.isGameOver());
+  }
+
+  @Test
+  public void testPlayingAfterPassesStartsTheCountOver() {
+    this.model.pass();
+    this.model.pass();
+    this.model.playDisc(this.model.getLegalMoves(this.model.getTurn()).iterator().next());
+    this.model.pass();
+    this.model.pass();
+    Assert.assertFalse(this.model.isGameOver());
+  }
+
+  @Test
+  public void testUndoGivesTheTurnAndPassesBack() {
+    this.model.pass();
+    MoveRecord second = this.model.pass();
+    this.model.undo(second);
+    Assert.assertEquals(DiscColor.WHITE, this.model.getTurn());
+    this.model.pass();
+    Assert.assertFalse(this.model.isGameOver());
+    this.model.pass();
+    Assert.assertTrue(this.model.isGameOver());
+  }
+
+  @Test
+  public void testCopyKeepsTurnAndPasses() {
+    this.model.pass();
+    this.model.pass();
+    IModel copy = this.model.getActionableCopyOfBoard(this.model);
+    Assert.assertEquals(DiscColor.MAGENTA, copy.getTurn());
+    copy.pass();
+    Assert.assertTrue(copy.isGameOver());
+    Assert.assertFalse(this.model.isGameOver());
+  }
+
+  @Test
+  public void testWinnerHasTheHighestScore() {
+    this.model.getCellAt(new Coordinate(3, 0)).changeColor(DiscColor.MAGENTA);
+    this.model.pass();
+    this.model.pass();
+    this.model.pass();
+    Assert.assertEquals(Optional.of(DiscColor.MAGENTA), this.model.getWinner());
+  }
+
+  @Test
+  public void testTieBetweenTheLeaders() {
+    this.model.pass();
+    this.model.pass();
+    this.model.pass();
+    Assert.assertEquals(Optional.empty(), this.model.getWinner());
+    Assert.assertEquals(Status.TIED, this.model.getGameState());
+  }
+
+  @Test
+  public void testSandwichesLinesOfAnyOneOpponent() {
+    // white is sandwiched towards the top right, and magenta to the right.
+    this.model.getCellAt(new Coordinate(-2, 2)).changeColor(DiscColor.BLACK);
+    this.model.getCellAt(new Coordinate(0, 2)).changeColor(DiscColor.BLACK);
+    Assert.assertEquals(List.of(new Coordinate(0, 1), new Coordinate(-1, 1)),
+            this.model.getSandwichableNeighbors(new Coordinate(0, 0), DiscColor.BLACK));
+  }
+
+  @Test
+  public void testLinesOfTwoOpponentsAreNotSandwiched() {
+    this.model.getCellAt(new Coordinate(0, 2)).changeColor(DiscColor.WHITE);
+    this.model.getCellAt(new Coordinate(0, 3)).changeColor(DiscColor.BLACK);
+    Assert.assertFalse(this.model.getSandwichableNeighbors(new Coordinate(0, 0), DiscColor.BLACK)
+            .contains(new Coordinate(0, 1)));
+  }
+
+  @Test
+  public void testRandomGamesPlayExactlyLikeTheBitsetModel() {
+    Random random = new Random(11);
+    for (int game = 0; game < 8; game++) {
+      int layers = 1 + game % 4;
+      IModel bitset = new HexReversiModel.HexBuilder().setBitboard(true).setLayers(layers)
+              .setMultiplayer(true).setPlayerColors(THREE_PLAYERS).build();
+      IModel hex = new HexReversiModel.HexBuilder().setLayers(layers)
+              .setMultiplayer(true).setPlayerColors(THREE_PLAYERS).build();
+      bitset.startGame();
+      hex.startGame();
+      while (!hex.isGameOver()) {
+        Assert.assertFalse(bitset.isGameOver());
+        List<Coordinate> moves = new ArrayList<>(hex.getLegalMoves(hex.getTurn()));
+        Assert.assertEquals(moves, new ArrayList<>(bitset.getLegalMoves(bitset.getTurn())));
+        if (moves.isEmpty() || random.nextInt(20) == 0) {
+          hex.pass();
+          bitset.pass();
+        } else {
+          Coordinate move = moves.get(random.nextInt(moves.size()));
+          hex.playDisc(move);
+          bitset.playDisc(move);
+        }
+        Assert.assertEquals(hex.getTurn(), bitset.getTurn());
+        Assert.assertEquals(hex.getPositionHash(), bitset.getPositionHash());
+        for (DiscColor color : DiscColor.values()) {
+          Assert.assertEquals(hex.getPlayerScore(color), bitset.getPlayerScore(color));
+        }
+      }
+      Assert.assertTrue(bitset.isGameOver());
+      Assert.assertEquals(hex.getWinner(), bitset.getWinner());
+    }
+  }
+}
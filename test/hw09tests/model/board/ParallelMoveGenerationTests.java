@@ -0,0 +1,138 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import model.board.ConcurrentReversiModel;
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.LegalityCheck;
+import model.board.SquareReversiModel;
+import model.board.TorusReversiModel;
+import model.cell.DiscColor;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
+import strategy.CaptureMostCells;
+
+/**
+ * Test class for the move generation of boards large enough to be split over several threads.
+ */
+public class ParallelMoveGenerationTests {
+
+  /**
+   * Returns large boards of every storage, with the given rule keeper, filled at random so that
+   * both players have many legal moves.
+   */
+  private List<IModel> largeBoards(RuleKeeper ruleKeeper, long seed) {
+    List<IModel> models = new ArrayList<>();
+    models.add(new SquareReversiModel.SquareBuilder().setLayers(50)
+        .setRuleKeeper(ruleKeeper).build());
+    models.add(new HexReversiModel.HexBuilder().setLayers(50)
+        .setRuleKeeper(ruleKeeper).build());
+    models.add(new HexReversiModel.HexBuilder().setBitboard(true).setLayers(50)
+        .setRuleKeeper(ruleKeeper).build());
+    models.add(new TorusReversiModel.TorusBuilder().setLayers(50)
+        .setRuleKeeper(ruleKeeper).build());
+    Random random = new Random(seed);
+    for (IModel model : models) {
+      model.startGame();
+      for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+        if (model.getCellAt(c).getColor() != DiscColor.NONE) {
+          continue;
+        }
+        int roll = random.nextInt(10);
+        if (roll < 3) {
+          model.getCellAt(c).changeColor(DiscColor.BLACK);
+        } else if (roll < 6) {
+          model.getCellAt(c).changeColor(DiscColor.WHITE);
+        }
+      }
+    }
+    return models;
+  }
+
+  /**
+   * Works out the legal moves of the given player one cell at a time, in board order.
+   */
+  private BitSet cellByCell(IModel model, DiscColor player) {
+    BitSet moves = new BitSet();
+    int[] cell = {0};
+    model.forEachCell((c, color) -> {
+      if (((LegalityCheck) model).isLegalMove(c, player)) {
+        moves.set(cell[0]);
+      }
+      cell[0]++;
+    });
+    return moves;
+  }
+
+  @Test
+  public void testLargeBoardsFindTheMovesOfACellByCellScan() {
+    for (RuleVariant variant : List.of(RuleVariant.REVERSI, RuleVariant.OTHELLO)) {
+      RuleKeeper ruleKeeper = new ReversiRuleKeeper(variant);
+      for (IModel model : this.largeBoards(ruleKeeper, 25)) {
+        Assert.assertTrue(model.getCopyOfAllCoords().size() > 4096);
+        for (DiscColor player : model.getPlayerColors()) {
+          BitSet expected = this.cellByCell(model, player);
+          Assert.assertTrue(expected.cardinality() > 512);
+          Assert.assertEquals(expected, ruleKeeper.legalMoves(model, player).toBitSet());
+          // a copy has no cached moves, so it works them out from scratch.
+          IModel copy = model.getActionableCopyOfBoard(model);
+          Assert.assertEquals(expected, ((LegalityCheck) copy).legalMoves(player).toBitSet());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLargeBoardsCountTheFlipsOfEachMove() {
+    RuleKeeper ruleKeeper = new ReversiRuleKeeper();
+    for (IModel model : this.largeBoards(ruleKeeper, 26)) {
+      for (DiscColor player : model.getPlayerColors()) {
+        List<Coordinate> moves = ruleKeeper.legalMoves(model, player).toCoordinates();
+        int[] counts = ruleKeeper.flipCounts(model, player);
+        Assert.assertEquals(moves.size(), counts.length);
+        for (int i = 0; i < counts.length; i++) {
+          Assert.assertEquals(ruleKeeper.flipCount(model, moves.get(i), player), counts[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLargeBoardsGiveTheSameMovesEveryTime() {
+    RuleKeeper ruleKeeper = new ReversiRuleKeeper();
+    for (IModel model : this.largeBoards(ruleKeeper, 27)) {
+      DiscColor player = model.getTurn();
+      List<Coordinate> first = ruleKeeper.legalMoves(model, player).toCoordinates();
+      int[] counts = ruleKeeper.flipCounts(model, player);
+      for (int i = 0; i < 5; i++) {
+        IModel copy = model.getActionableCopyOfBoard(model);
+        Assert.assertEquals(first, ruleKeeper.legalMoves(copy, player).toCoordinates());
+        Assert.assertArrayEquals(counts, ruleKeeper.flipCounts(copy, player));
+      }
+    }
+  }
+
+  @Test
+  public void testStrategiesSeeTheMovesOfALargeBoard() {
+    RuleKeeper ruleKeeper = new ReversiRuleKeeper();
+    IModel model = this.largeBoards(ruleKeeper, 28).get(0);
+    ConcurrentReversiModel concurrent = new ConcurrentReversiModel(model);
+    for (DiscColor player : model.getPlayerColors()) {
+      List<Coordinate> expected = ruleKeeper.legalMoves(model, player).toCoordinates();
+      Assert.assertEquals(expected,
+          new CaptureMostCells(player, model).getAllPossiblePlayerMoves(player));
+      Assert.assertEquals(expected, concurrent.legalMoves(player).toCoordinates());
+      Assert.assertArrayEquals(ruleKeeper.flipCounts(model, player),
+          concurrent.flipCounts(player));
+    }
+  }
+}
@@ -7,14 +7,18 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import model.board.Coordinate;
 import model.board.IModel;
+import model.board.LegalityCheck;
 import model.board.ReadOnlyModel;
 import model.board.SquareReversiModel;
 import model.board.Status;
 import model.cell.DiscColor;
 import model.cell.ICell;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
 
 /**
  * Test class for the Square ReversiModel class, which extends the AbstractReversiModelTests class.
@@ -47,6 +51,11 @@ public class SquareReversiModelTests extends AbstractReversiModelTests {
     new SquareReversiModel.SquareBuilder().setRuleKeeper(null).build();
   }
 
+  @Test(expected = IllegalStateException.class)
+  public void testBuildMultiplayerIllegalStateException() {
+    new SquareReversiModel.SquareBuilder().setMultiplayer(true).build();
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testConstructorNullTypeCellIllegalArgumentException() {
     new SquareReversiModel.SquareBuilder().setTypeCell(null).build();
@@ -765,4 +774,63 @@ public class SquareReversiModelTests extends AbstractReversiModelTests {
     // next turn would be black, but has no moves, so next turn is white
     Assert.assertEquals(this.model.getTurn(), DiscColor.WHITE);
   }
+
+  @Test
+  public void testGetLegalMovesAsksAnotherRuleKeeperEveryTime() {
+    // a subclass of the rule keeper may change the rules, so the model cannot keep the moves.
+    RuleKeeper strict = new ReversiRuleKeeper() {
+      @Override
+      public boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+        return super.isValid(model, coord, player) && !model.isCorner(coord);
+      }
+    };
+    IModel strictModel = new SquareReversiModel.SquareBuilder().setRuleKeeper(strict).build();
+    strictModel.startGame();
+    Set<Coordinate> black = strictModel.getLegalMoves(DiscColor.BLACK);
+    Assert.assertEquals(10, black.size());
+    Assert.assertTrue(black.contains(new Coordinate(-2, -1)));
+    strictModel.getCellAt(new Coordinate(-4, -4)).changeColor(DiscColor.BLACK);
+    // 8 new neighbors, but the strict rules leave out the corner.
+    Assert.assertEquals(17, black.size());
+    Assert.assertFalse(black.contains(new Coordinate(-5, -5)));
+    Assert.assertTrue(black.contains(new Coordinate(-5, -4)));
+  }
+
+  @Test
+  public void testIsGameOverAsksTheRuleKeeperOncePerPosition() {
+    int[] asked = {0};
+    RuleKeeper counting = new ReversiRuleKeeper() {
+      @Override
+      public boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+        asked[0]++;
+        return super.isValid(model, coord, player);
+      }
+    };
+    IModel countingModel = new SquareReversiModel.SquareBuilder()
+        .setRuleKeeper(counting).build();
+    countingModel.startGame();
+    Assert.assertFalse(countingModel.isGameOver());
+    int once = asked[0];
+    Assert.assertTrue(once > 0);
+    Assert.assertFalse(countingModel.isGameOver());
+    Assert.assertFalse(countingModel.isGameOver());
+    Assert.assertEquals(once, asked[0]);
+
+    // changing the position expires the cached answer.
+    countingModel.getCellAt(new Coordinate(-4, -4)).changeColor(DiscColor.BLACK);
+    Assert.assertFalse(countingModel.isGameOver());
+    Assert.assertTrue(asked[0] > once);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIsLegalMoveOccupiedCellGameNotStartedIllegalStateException() {
+    IModel unstarted = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    ((LegalityCheck) unstarted).isLegalMove(new Coordinate(-1, -1), DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIsLegalMoveEmptyCellGameNotStartedIllegalStateException() {
+    IModel unstarted = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    ((LegalityCheck) unstarted).isLegalMove(new Coordinate(-2, 1), DiscColor.BLACK);
+  }
 }
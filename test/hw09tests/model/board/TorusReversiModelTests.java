@@ -0,0 +1,99 @@
+package hw09tests.model.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import model.board.Coordinate;
+import model.board.IModel;
+import model.board.ReadOnlyModel;
+import model.board.TorusReversiModel;
+import model.cell.DiscColor;
+
+/**
+ * Test class for the torus ReversiModel class, which must play like any other board and whose
+ * lines wrap around its edges.
+ */
+public class TorusReversiModelTests extends AbstractReversiModelTests {
+  private final IModel model = new TorusReversiModel.TorusBuilder().setLayers(3).build();
+
+  @Override
+  protected ReadOnlyModel getModel() {
+    this.model.startGame();
+    return this.model;
+  }
+
+  @Override
+  protected IModel getActionableModel() {
+    return this.model;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorOneLayerIllegalArgumentException() {
+    new TorusReversiModel.TorusBuilder().setLayers(1).build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBuildBitboardIllegalStateException() {
+    new TorusReversiModel.TorusBuilder().setBitboard(true).build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBuildMultiplayerIllegalStateException() {
+    new TorusReversiModel.TorusBuilder().setMultiplayer(true).build();
+  }
+
+  @Test
+  public void testEveryCellHasEightNeighborsAndNoCellIsACorner() {
+    for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+      Assert.assertEquals(8, this.model.getNeighbors(c).size());
+      Assert.assertFalse(this.model.isCorner(c));
+    }
+  }
+
+  @Test
+  public void testNeighborsWrapAroundTheEdges() {
+    List<Coordinate> neighbors = this.model.getNeighbors(new Coordinate(-3, -3));
+    // the top left cell is next to the bottom right one, across both seams.
+    Assert.assertEquals(new Coordinate(3, 3), neighbors.get(0));
+    Assert.assertTrue(neighbors.contains(new Coordinate(-3, 3)));
+    Assert.assertTrue(neighbors.contains(new Coordinate(3, -3)));
+  }
+
+  @Test
+  public void testSandwichAcrossTheSeam() {
+    this.model.getCellAt(new Coordinate(-3, 3)).changeColor(DiscColor.WHITE);
+    this.model.getCellAt(new Coordinate(-3, 2)).changeColor(DiscColor.BLACK);
+    // going left from the first column comes back on the last one.
+    Assert.assertEquals(List.of(new Coordinate(-3, 3)),
+            this.model.getSandwichableNeighbors(new Coordinate(-3, -3), DiscColor.BLACK));
+    Assert.assertTrue(this.model.getLegalMoves(DiscColor.BLACK).contains(new Coordinate(-3, -3)));
+  }
+
+  @Test
+  public void testLinesEndWhenTheyComeBackAround() {
+    for (int col : new int[] {-2, -1, 1, 2, 3}) {
+      this.model.getCellAt(new Coordinate(-3, col)).changeColor(DiscColor.WHITE);
+    }
+    // the whole row is white but for the origin, so the line back to it sandwiches nothing.
+    Assert.assertTrue(this.model.getSandwichableNeighbors(new Coordinate(-3, -3), DiscColor.BLACK)
+            .stream().noneMatch(c -> c.getRow() == -3));
+  }
+
+  @Test(timeout = 10000)
+  public void testGamesEnd() {
+    while (!this.model.isGameOver()) {
+      Set<Coordinate> moves = this.model.getLegalMoves(this.model.getTurn());
+      if (moves.isEmpty()) {
+        this.model.pass();
+      } else {
+        this.model.playDisc(moves.iterator().next());
+      }
+    }
+    Assert.assertEquals(36, this.model.getPlayerScore(DiscColor.BLACK)
+            + this.model.getPlayerScore(DiscColor.WHITE)
+            + this.model.getPlayerScore(DiscColor.NONE));
+  }
+}
@@ -90,6 +90,28 @@ public class AvoidCornerNeighborsSquareTests extends AbstractSquareStrategyTests
     this.strategy.getStrategyPossibleMoves(this.strategy.getAllPossiblePlayerMoves(this.player),
             this.player);
     Assert.assertTrue(this.a.toString().contains(
+            "get neighbors at: x=-2, y=-2\n" +
+            "is corner?: x=-3, y=-3\n" +
+            "get cell at: x=-3, y=-3\n" +
+            "is corner?: x=-2, y=-2\n" +
+            "get neighbors at: x=-2, y=-1\n" +
+            "is corner?: x=-3, y=-2\n" +
+            "is corner?: x=-3, y=-1\n" +
+            "is corner?: x=-3, y=1\n" +
+            "is corner?: x=-2, y=-2\n" +
+            "is corner?: x=-2, y=1\n" +
+            "is corner?: x=-1, y=-2\n" +
+            "is corner?: x=-1, y=-1\n" +
+            "is corner?: x=-1, y=1\n" +
+            "get neighbors at: x=-2, y=1\n" +
+            "is corner?: x=-3, y=-1\n" +
+            "is corner?: x=-3, y=1\n" +
+            "is corner?: x=-3, y=2\n" +
+            "is corner?: x=-2, y=-1\n" +
+            "is corner?: x=-2, y=2\n" +
+            "is corner?: x=-1, y=-1\n" +
+            "is corner?: x=-1, y=1\n" +
+            "is corner?: x=-1, y=2\n" +
             "get neighbors at: x=-1, y=-2\n" +
             "is corner?: x=-2, y=-3\n" +
             "is corner?: x=-2, y=-2\n" +
@@ -99,6 +121,15 @@ public class AvoidCornerNeighborsSquareTests extends AbstractSquareStrategyTests
             "is corner?: x=1, y=-3\n" +
             "is corner?: x=1, y=-2\n" +
             "is corner?: x=1, y=-1\n" +
+            "get neighbors at: x=-1, y=2\n" +
+            "is corner?: x=-2, y=1\n" +
+            "is corner?: x=-2, y=2\n" +
+            "is corner?: x=-2, y=3\n" +
+            "is corner?: x=-1, y=1\n" +
+            "is corner?: x=-1, y=3\n" +
+            "is corner?: x=1, y=1\n" +
+            "is corner?: x=1, y=2\n" +
+            "is corner?: x=1, y=3\n" +
             "get neighbors at: x=1, y=-2\n" +
             "is corner?: x=-1, y=-3\n" +
             "is corner?: x=-1, y=-2\n" +
@@ -108,33 +139,15 @@ public class AvoidCornerNeighborsSquareTests extends AbstractSquareStrategyTests
             "is corner?: x=2, y=-3\n" +
             "is corner?: x=2, y=-2\n" +
             "is corner?: x=2, y=-1\n" +
-            "get neighbors at: x=2, y=1\n" +
-            "is corner?: x=1, y=-1\n" +
-            "is corner?: x=1, y=1\n" +
-            "is corner?: x=1, y=2\n" +
-            "is corner?: x=2, y=-1\n" +
-            "is corner?: x=2, y=2\n" +
-            "is corner?: x=3, y=-1\n" +
-            "is corner?: x=3, y=1\n" +
-            "is corner?: x=3, y=2\n" +
-            "get neighbors at: x=-2, y=-1\n" +
-            "is corner?: x=-3, y=-2\n" +
-            "is corner?: x=-3, y=-1\n" +
-            "is corner?: x=-3, y=1\n" +
-            "is corner?: x=-2, y=-2\n" +
-            "is corner?: x=-2, y=1\n" +
-            "is corner?: x=-1, y=-2\n" +
-            "is corner?: x=-1, y=-1\n" +
-            "is corner?: x=-1, y=1\n" +
-            "get neighbors at: x=-2, y=1\n" +
-            "is corner?: x=-3, y=-1\n" +
-            "is corner?: x=-3, y=1\n" +
-            "is corner?: x=-3, y=2\n" +
-            "is corner?: x=-2, y=-1\n" +
-            "is corner?: x=-2, y=2\n" +
-            "is corner?: x=-1, y=-1\n" +
+            "get neighbors at: x=1, y=2\n" +
             "is corner?: x=-1, y=1\n" +
             "is corner?: x=-1, y=2\n" +
+            "is corner?: x=-1, y=3\n" +
+            "is corner?: x=1, y=1\n" +
+            "is corner?: x=1, y=3\n" +
+            "is corner?: x=2, y=1\n" +
+            "is corner?: x=2, y=2\n" +
+            "is corner?: x=2, y=3\n" +
             "get neighbors at: x=2, y=-1\n" +
             "is corner?: x=1, y=-2\n" +
             "is corner?: x=1, y=-1\n" +
@@ -144,6 +157,15 @@ public class AvoidCornerNeighborsSquareTests extends AbstractSquareStrategyTests
             "is corner?: x=3, y=-2\n" +
             "is corner?: x=3, y=-1\n" +
             "is corner?: x=3, y=1\n" +
+            "get neighbors at: x=2, y=1\n" +
+            "is corner?: x=1, y=-1\n" +
+            "is corner?: x=1, y=1\n" +
+            "is corner?: x=1, y=2\n" +
+            "is corner?: x=2, y=-1\n" +
+            "is corner?: x=2, y=2\n" +
+            "is corner?: x=3, y=-1\n" +
+            "is corner?: x=3, y=1\n" +
+            "is corner?: x=3, y=2\n" +
             "get neighbors at: x=2, y=2\n" +
             "is corner?: x=1, y=1\n" +
             "is corner?: x=1, y=2\n" +
@@ -154,28 +176,6 @@ public class AvoidCornerNeighborsSquareTests extends AbstractSquareStrategyTests
             "is corner?: x=3, y=2\n" +
             "is corner?: x=3, y=3\n" +
             "get cell at: x=3, y=3\n" +
-            "is corner?: x=2, y=2\n" +
-            "get neighbors at: x=1, y=2\n" +
-            "is corner?: x=-1, y=1\n" +
-            "is corner?: x=-1, y=2\n" +
-            "is corner?: x=-1, y=3\n" +
-            "is corner?: x=1, y=1\n" +
-            "is corner?: x=1, y=3\n" +
-            "is corner?: x=2, y=1\n" +
-            "is corner?: x=2, y=2\n" +
-            "is corner?: x=2, y=3\n" +
-            "get neighbors at: x=-2, y=-2\n" +
-            "is corner?: x=-3, y=-3\n" +
-            "get cell at: x=-3, y=-3\n" +
-            "is corner?: x=-2, y=-2\n" +
-            "get neighbors at: x=-1, y=2\n" +
-            "is corner?: x=-2, y=1\n" +
-            "is corner?: x=-2, y=2\n" +
-            "is corner?: x=-2, y=3\n" +
-            "is corner?: x=-1, y=1\n" +
-            "is corner?: x=-1, y=3\n" +
-            "is corner?: x=1, y=1\n" +
-            "is corner?: x=1, y=2\n" +
-            "is corner?: x=1, y=3"));
+            "is corner?: x=2, y=2"));
   }
 }
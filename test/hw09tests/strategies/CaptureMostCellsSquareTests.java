@@ -136,17 +136,18 @@ public class CaptureMostCellsSquareTests extends AbstractSquareStrategyTests {
     this.strategy.getStrategyPossibleMoves(this.strategy
             .getAllPossiblePlayerMoves(this.player), this.player);
     Assert.assertTrue(this.a.toString().contains(
-            "get like neighbors of X at: x=-1, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-1, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=1, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=2, y=1\n" +
+            "get like neighbors of X at: x=2, y=2\n" +
+                    "get rule keeper\n" +
+                    "get sandwichable neighbors of X at: x=-2, y=-2\n" +
                     "get sandwichable neighbors of X at: x=-2, y=-1\n" +
                     "get sandwichable neighbors of X at: x=-2, y=1\n" +
-                    "get sandwichable neighbors of X at: x=2, y=-1\n" +
-                    "get sandwichable neighbors of X at: x=2, y=2\n" +
+                    "get sandwichable neighbors of X at: x=-1, y=-2\n" +
+                    "get sandwichable neighbors of X at: x=-1, y=2\n" +
+                    "get sandwichable neighbors of X at: x=1, y=-2\n" +
                     "get sandwichable neighbors of X at: x=1, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-2, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=-1, y=2"));
+                    "get sandwichable neighbors of X at: x=2, y=-1\n" +
+                    "get sandwichable neighbors of X at: x=2, y=1\n" +
+                    "get sandwichable neighbors of X at: x=2, y=2"));
   }
 
   @Test
@@ -154,276 +155,171 @@ public class CaptureMostCellsSquareTests extends AbstractSquareStrategyTests {
     Optional<Coordinate> move = this.strategy.move();
     Assert.assertEquals(this.a.toString(),
             "get player colors\n" +
-                    "get all coords\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-1, y=-2\n" +
-                    "get like neighbors of X at: x=-1, y=-2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-2, y=2\n" +
-                    "get like neighbors of X at: x=-2, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-2, y=2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-3, y=2\n" +
-                    "get like neighbors of X at: x=-3, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-3, y=2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=-2\n" +
-                    "get like neighbors of X at: x=1, y=-2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=3, y=3\n" +
-                    "get like neighbors of X at: x=3, y=3\n" +
-                    "get sandwichable neighbors of X at: x=3, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=2, y=-2\n" +
-                    "get like neighbors of X at: x=2, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=2, y=-2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=3, y=1\n" +
-                    "get like neighbors of X at: x=3, y=1\n" +
-                    "get sandwichable neighbors of X at: x=3, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=3\n" +
-                    "get like neighbors of X at: x=1, y=3\n" +
-                    "get sandwichable neighbors of X at: x=1, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=3, y=-2\n" +
-                    "get like neighbors of X at: x=3, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=3, y=-2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=2, y=1\n" +
-                    "get like neighbors of X at: x=2, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=2, y=3\n" +
-                    "get like neighbors of X at: x=2, y=3\n" +
-                    "get sandwichable neighbors of X at: x=2, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-1, y=3\n" +
-                    "get like neighbors of X at: x=-1, y=3\n" +
-                    "get sandwichable neighbors of X at: x=-1, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
                     "get player colors\n" +
+                    "for each cell\n" +
+                    "get cell at: x=-3, y=-3\n" +
+                    "get like neighbors of X at: x=-3, y=-3\n" +
+                    "get sandwichable neighbors of X at: x=-3, y=-3\n" +
+                    "get cell at: x=-3, y=-2\n" +
+                    "get like neighbors of X at: x=-3, y=-2\n" +
+                    "get sandwichable neighbors of X at: x=-3, y=-2\n" +
                     "get cell at: x=-3, y=-1\n" +
                     "get like neighbors of X at: x=-3, y=-1\n" +
                     "get sandwichable neighbors of X at: x=-3, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=-3, y=1\n" +
+                    "get like neighbors of X at: x=-3, y=1\n" +
+                    "get sandwichable neighbors of X at: x=-3, y=1\n" +
+                    "get cell at: x=-3, y=2\n" +
+                    "get like neighbors of X at: x=-3, y=2\n" +
+                    "get sandwichable neighbors of X at: x=-3, y=2\n" +
+                    "get cell at: x=-3, y=3\n" +
+                    "get like neighbors of X at: x=-3, y=3\n" +
+                    "get sandwichable neighbors of X at: x=-3, y=3\n" +
                     "get cell at: x=-2, y=-3\n" +
                     "get like neighbors of X at: x=-2, y=-3\n" +
                     "get sandwichable neighbors of X at: x=-2, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-1, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=-2, y=-2\n" +
+                    "get like neighbors of X at: x=-2, y=-2\n" +
                     "get cell at: x=-2, y=-1\n" +
                     "get like neighbors of X at: x=-2, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-3, y=-3\n" +
-                    "get like neighbors of X at: x=-3, y=-3\n" +
-                    "get sandwichable neighbors of X at: x=-3, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-3, y=3\n" +
-                    "get like neighbors of X at: x=-3, y=3\n" +
-                    "get sandwichable neighbors of X at: x=-3, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
                     "get cell at: x=-2, y=1\n" +
                     "get like neighbors of X at: x=-2, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-1, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=-2, y=2\n" +
+                    "get like neighbors of X at: x=-2, y=2\n" +
+                    "get sandwichable neighbors of X at: x=-2, y=2\n" +
                     "get cell at: x=-2, y=3\n" +
                     "get like neighbors of X at: x=-2, y=3\n" +
                     "get sandwichable neighbors of X at: x=-2, y=3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-3, y=1\n" +
-                    "get like neighbors of X at: x=-3, y=1\n" +
-                    "get sandwichable neighbors of X at: x=-3, y=1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
                     "get cell at: x=-1, y=-3\n" +
                     "get like neighbors of X at: x=-1, y=-3\n" +
                     "get sandwichable neighbors of X at: x=-1, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=-1, y=-2\n" +
+                    "get like neighbors of X at: x=-1, y=-2\n" +
+                    "get cell at: x=-1, y=-1\n" +
+                    "get cell at: x=-1, y=1\n" +
+                    "get cell at: x=-1, y=2\n" +
+                    "get like neighbors of X at: x=-1, y=2\n" +
+                    "get cell at: x=-1, y=3\n" +
+                    "get like neighbors of X at: x=-1, y=3\n" +
+                    "get sandwichable neighbors of X at: x=-1, y=3\n" +
+                    "get cell at: x=1, y=-3\n" +
+                    "get like neighbors of X at: x=1, y=-3\n" +
+                    "get sandwichable neighbors of X at: x=1, y=-3\n" +
+                    "get cell at: x=1, y=-2\n" +
+                    "get like neighbors of X at: x=1, y=-2\n" +
                     "get cell at: x=1, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=1, y=1\n" +
+                    "get cell at: x=1, y=2\n" +
+                    "get like neighbors of X at: x=1, y=2\n" +
+                    "get cell at: x=1, y=3\n" +
+                    "get like neighbors of X at: x=1, y=3\n" +
+                    "get sandwichable neighbors of X at: x=1, y=3\n" +
                     "get cell at: x=2, y=-3\n" +
                     "get like neighbors of X at: x=2, y=-3\n" +
                     "get sandwichable neighbors of X at: x=2, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=2, y=-2\n" +
+                    "get like neighbors of X at: x=2, y=-2\n" +
+                    "get sandwichable neighbors of X at: x=2, y=-2\n" +
                     "get cell at: x=2, y=-1\n" +
                     "get like neighbors of X at: x=2, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=-3\n" +
-                    "get like neighbors of X at: x=1, y=-3\n" +
-                    "get sandwichable neighbors of X at: x=1, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=3, y=2\n" +
-                    "get like neighbors of X at: x=3, y=2\n" +
-                    "get sandwichable neighbors of X at: x=3, y=2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=3, y=-1\n" +
-                    "get like neighbors of X at: x=3, y=-1\n" +
-                    "get sandwichable neighbors of X at: x=3, y=-1\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=2, y=1\n" +
+                    "get like neighbors of X at: x=2, y=1\n" +
                     "get cell at: x=2, y=2\n" +
                     "get like neighbors of X at: x=2, y=2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=2\n" +
-                    "get like neighbors of X at: x=1, y=2\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
+                    "get cell at: x=2, y=3\n" +
+                    "get like neighbors of X at: x=2, y=3\n" +
+                    "get sandwichable neighbors of X at: x=2, y=3\n" +
                     "get cell at: x=3, y=-3\n" +
                     "get like neighbors of X at: x=3, y=-3\n" +
                     "get sandwichable neighbors of X at: x=3, y=-3\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
+                    "get cell at: x=3, y=-2\n" +
+                    "get like neighbors of X at: x=3, y=-2\n" +
+                    "get sandwichable neighbors of X at: x=3, y=-2\n" +
+                    "get cell at: x=3, y=-1\n" +
+                    "get like neighbors of X at: x=3, y=-1\n" +
+                    "get sandwichable neighbors of X at: x=3, y=-1\n" +
+                    "get cell at: x=3, y=1\n" +
+                    "get like neighbors of X at: x=3, y=1\n" +
+                    "get sandwichable neighbors of X at: x=3, y=1\n" +
+                    "get cell at: x=3, y=2\n" +
+                    "get like neighbors of X at: x=3, y=2\n" +
+                    "get sandwichable neighbors of X at: x=3, y=2\n" +
+                    "get cell at: x=3, y=3\n" +
+                    "get like neighbors of X at: x=3, y=3\n" +
+                    "get sandwichable neighbors of X at: x=3, y=3\n" +
                     "get player colors\n" +
-                    "get cell at: x=-3, y=-2\n" +
-                    "get like neighbors of X at: x=-3, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=-3, y=-2\n" +
+                    "contains: x=-2, y=-2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=-2, y=-2\n" +
                     "get player colors\n" +
                     "get cell at: x=-2, y=-2\n" +
                     "get like neighbors of X at: x=-2, y=-2\n" +
+                    "contains: x=-2, y=-1\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=-2, y=-1\n" +
                     "get player colors\n" +
-                    "get cell at: x=-1, y=2\n" +
-                    "get like neighbors of X at: x=-1, y=2\n" +
+                    "get cell at: x=-2, y=-1\n" +
+                    "get like neighbors of X at: x=-2, y=-1\n" +
+                    "contains: x=-2, y=1\n" +
+                    "get rule keeper\n" +
+                    "contains: x=-2, y=1\n" +
                     "get player colors\n" +
-                    "get all coords\n" +
+                    "get cell at: x=-2, y=1\n" +
+                    "get like neighbors of X at: x=-2, y=1\n" +
+                    "contains: x=-1, y=-2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=-1, y=-2\n" +
                     "get player colors\n" +
                     "get cell at: x=-1, y=-2\n" +
                     "get like neighbors of X at: x=-1, y=-2\n" +
-                    "get all coords\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=-2\n" +
-                    "get like neighbors of X at: x=1, y=-2\n" +
-                    "get all coords\n" +
+                    "contains: x=-1, y=2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=-1, y=2\n" +
                     "get player colors\n" +
-                    "get cell at: x=2, y=1\n" +
-                    "get like neighbors of X at: x=2, y=1\n" +
-                    "get all coords\n" +
+                    "get cell at: x=-1, y=2\n" +
+                    "get like neighbors of X at: x=-1, y=2\n" +
+                    "contains: x=1, y=-2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=1, y=-2\n" +
                     "get player colors\n" +
-                    "get cell at: x=-2, y=-1\n" +
-                    "get like neighbors of X at: x=-2, y=-1\n" +
-                    "get all coords\n" +
+                    "get cell at: x=1, y=-2\n" +
+                    "get like neighbors of X at: x=1, y=-2\n" +
+                    "contains: x=1, y=2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=1, y=2\n" +
                     "get player colors\n" +
-                    "get cell at: x=-2, y=1\n" +
-                    "get like neighbors of X at: x=-2, y=1\n" +
-                    "get all coords\n" +
+                    "get cell at: x=1, y=2\n" +
+                    "get like neighbors of X at: x=1, y=2\n" +
+                    "contains: x=2, y=-1\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=2, y=-1\n" +
                     "get player colors\n" +
                     "get cell at: x=2, y=-1\n" +
                     "get like neighbors of X at: x=2, y=-1\n" +
-                    "get all coords\n" +
+                    "contains: x=2, y=1\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=2, y=1\n" +
                     "get player colors\n" +
-                    "get cell at: x=2, y=2\n" +
-                    "get like neighbors of X at: x=2, y=2\n" +
-                    "get all coords\n" +
-                    "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=1, y=2\n" +
-                    "get like neighbors of X at: x=1, y=2\n" +
-                    "get all coords\n" +
+                    "get cell at: x=2, y=1\n" +
+                    "get like neighbors of X at: x=2, y=1\n" +
+                    "contains: x=2, y=2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
+                    "contains: x=2, y=2\n" +
                     "get player colors\n" +
-                    "get cell at: x=-2, y=-2\n" +
-                    "get like neighbors of X at: x=-2, y=-2\n" +
-                    "get all coords\n" +
+                    "get cell at: x=2, y=2\n" +
+                    "get like neighbors of X at: x=2, y=2\n" +
                     "get rule keeper\n" +
-                    "get all coords\n" +
-                    "get player colors\n" +
-                    "get cell at: x=-1, y=2\n" +
-                    "get like neighbors of X at: x=-1, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-1, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=1, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=2, y=1\n" +
+                    "get sandwichable neighbors of X at: x=-2, y=-2\n" +
                     "get sandwichable neighbors of X at: x=-2, y=-1\n" +
                     "get sandwichable neighbors of X at: x=-2, y=1\n" +
-                    "get sandwichable neighbors of X at: x=2, y=-1\n" +
-                    "get sandwichable neighbors of X at: x=2, y=2\n" +
+                    "get sandwichable neighbors of X at: x=-1, y=-2\n" +
+                    "get sandwichable neighbors of X at: x=-1, y=2\n" +
+                    "get sandwichable neighbors of X at: x=1, y=-2\n" +
                     "get sandwichable neighbors of X at: x=1, y=2\n" +
-                    "get sandwichable neighbors of X at: x=-2, y=-2\n" +
-                    "get sandwichable neighbors of X at: x=-1, y=2\n");
+                    "get sandwichable neighbors of X at: x=2, y=-1\n" +
+                    "get sandwichable neighbors of X at: x=2, y=1\n" +
+                    "get sandwichable neighbors of X at: x=2, y=2\n");
     Assert.assertEquals(move, Optional.of(new Coordinate(-2, 1)));
   }
 }
@@ -37,17 +37,17 @@ public class PrioritizeCornersSquareTests extends AbstractSquareStrategyTests {
             .getStrategyPossibleMoves(this.strategy.getAllPossiblePlayerMoves(this.player),
                     this.player);
     Assert.assertTrue(this.a.toString().contains(
-            "get like neighbors of X at: x=-1, y=2\n" +
-                    "is corner?: x=-1, y=-2\n" +
-                    "is corner?: x=1, y=-2\n" +
-                    "is corner?: x=2, y=1\n" +
+            "get like neighbors of X at: x=2, y=2\n" +
+                    "is corner?: x=-2, y=-2\n" +
                     "is corner?: x=-2, y=-1\n" +
                     "is corner?: x=-2, y=1\n" +
-                    "is corner?: x=2, y=-1\n" +
-                    "is corner?: x=2, y=2\n" +
+                    "is corner?: x=-1, y=-2\n" +
+                    "is corner?: x=-1, y=2\n" +
+                    "is corner?: x=1, y=-2\n" +
                     "is corner?: x=1, y=2\n" +
-                    "is corner?: x=-2, y=-2\n" +
-                    "is corner?: x=-1, y=2"));
+                    "is corner?: x=2, y=-1\n" +
+                    "is corner?: x=2, y=1\n" +
+                    "is corner?: x=2, y=2"));
     Assert.assertTrue(possibleMoves.isEmpty());
   }
 
@@ -93,8 +93,8 @@ public class PrioritizeCornersSquareTests extends AbstractSquareStrategyTests {
     }
     List<Coordinate> allMoves = this.strategy.getAllPossiblePlayerMoves(this.player);
     List<Coordinate> stratMoves = this.strategy.getStrategyPossibleMoves(allMoves, this.player);
-    Assert.assertEquals(List.of(new Coordinate(3, 3),
-            new Coordinate(3, -3)), stratMoves);
+    Assert.assertEquals(List.of(new Coordinate(3, -3),
+            new Coordinate(3, 3)), stratMoves);
   }
 
   @Test
@@ -102,9 +102,9 @@ public class PrioritizeCornersSquareTests extends AbstractSquareStrategyTests {
     List<Coordinate> allMoves = this.strategy.getAllPossiblePlayerMoves(this.player);
     allMoves.removeAll(allMoves.subList(0, allMoves.size() - 3));
     this.strategy.getStrategyPossibleMoves(allMoves, this.player);
-    Assert.assertTrue(this.a.toString().contains("get like neighbors of X at: x=-1, y=2\n" +
-            "is corner?: x=1, y=2\n" +
-            "is corner?: x=-2, y=-2\n" +
-            "is corner?: x=-1, y=2"));
+    Assert.assertTrue(this.a.toString().contains("get like neighbors of X at: x=2, y=2\n" +
+            "is corner?: x=2, y=-1\n" +
+            "is corner?: x=2, y=1\n" +
+            "is corner?: x=2, y=2"));
   }
 }
@@ -0,0 +1,235 @@
+package oldtests.ruleskeeper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.SquareReversiModel;
+import model.board.TorusReversiModel;
+import model.cell.DiscColor;
+import ruleskeeper.CachingRuleKeeper;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
+
+/**
+ * Test class for the CachingRuleKeeper.
+ */
+public class CachingRuleKeeperTests {
+
+  private IModel startedSquare(RuleKeeper ruleKeeper) {
+    IModel model = new SquareReversiModel.SquareBuilder().setRuleKeeper(ruleKeeper).build();
+    model.startGame();
+    return model;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDelegateIllegalArgumentException() {
+    new CachingRuleKeeper(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroCapacityIllegalArgumentException() {
+    new CachingRuleKeeper(new ReversiRuleKeeper(), 0);
+  }
+
+  @Test
+  public void testSecondQuestionIsAHit() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    Coordinate move = model.getLegalMoves(model.getTurn()).iterator().next();
+    Assert.assertTrue(cache.isValid(model, move, model.getTurn()));
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+    Assert.assertTrue(cache.isValid(model, move, model.getTurn()));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+    Assert.assertEquals(0.5, cache.getHitRate(), 1e-9);
+    Assert.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testDifferentPlayersAndCellsAreDifferentQuestions() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    Coordinate move = model.getLegalMoves(model.getTurn()).iterator().next();
+    for (DiscColor player : model.getPlayerColors()) {
+      cache.isValid(model, move, player);
+      cache.flipCount(model, move, player);
+    }
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(4, cache.size());
+  }
+
+  @Test
+  public void testMovingChangesTheQuestion() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    DiscColor player = model.getTurn();
+    cache.legalMoves(model, player);
+    model.playDisc(model.getLegalMoves(player).iterator().next());
+    Assert.assertEquals(new HashSet<>(new ReversiRuleKeeper().legalMoves(model, player)
+        .toCoordinates()), new HashSet<>(cache.legalMoves(model, player).toCoordinates()));
+    Assert.assertEquals(0, cache.getHits());
+  }
+
+  @Test
+  public void testCapacityBoundsTheCache() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper(), 20);
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+      cache.isValid(model, c, DiscColor.BLACK);
+    }
+    Assert.assertTrue(cache.size() <= 20);
+    Assert.assertEquals(model.getCopyOfAllCoords().size() - cache.size(), cache.getEvictions());
+  }
+
+  @Test
+  public void testSmallCapacityStillCachesEveryQuestion() {
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    for (int capacity = 1; capacity < 20; capacity++) {
+      CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper(), capacity);
+      for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+        cache.isValid(model, c, DiscColor.BLACK);
+        // asking right away again always hits, whichever segment the question falls in.
+        cache.isValid(model, c, DiscColor.BLACK);
+      }
+      Assert.assertEquals(model.getCopyOfAllCoords().size(), cache.getHits());
+      Assert.assertTrue(cache.size() <= capacity);
+    }
+  }
+
+  @Test
+  public void testFlipMaskCannotBeChangedThroughTheCache() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    Coordinate move = model.getLegalMoves(model.getTurn()).iterator().next();
+    BitSet first = cache.flipMask(model, move, model.getTurn());
+    BitSet expected = (BitSet) first.clone();
+    first.clear();
+    Assert.assertEquals(expected, cache.flipMask(model, move, model.getTurn()));
+    Assert.assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void testGameNotYetStartedIsNotCached() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = new SquareReversiModel.SquareBuilder().build();
+    try {
+      cache.legalMoves(model, DiscColor.BLACK);
+      Assert.fail("Expected an exception before the game starts.");
+    } catch (IllegalStateException e) {
+      // expected.
+    }
+    Assert.assertEquals(0, cache.getMisses());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClearResetsTheStatistics() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(new ReversiRuleKeeper());
+    cache.legalMoves(model, model.getTurn());
+    cache.legalMoves(model, model.getTurn());
+    cache.clear();
+    Assert.assertEquals(0, cache.size());
+    Assert.assertEquals(0, cache.getHits());
+    Assert.assertEquals(0, cache.getMisses());
+  }
+
+  @Test
+  public void testModelsKeepTheVariantOfTheCachedRuleKeeper() {
+    RuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper(RuleVariant.OTHELLO));
+    Assert.assertEquals(RuleVariant.OTHELLO, ReversiRuleKeeper.variantOf(cache));
+    IModel model = this.startedSquare(cache);
+    Assert.assertEquals(4, model.getLegalMoves(model.getTurn()).size());
+  }
+
+  @Test
+  public void testModelsWorkOutTheMovesOfACachedDefaultRuleKeeperThemselves() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel model = this.startedSquare(cache);
+    IModel bare = this.startedSquare(new ReversiRuleKeeper());
+    for (int turn = 0; turn < 2; turn++) {
+      Assert.assertEquals(bare.getLegalMoves(bare.getTurn()), model.getLegalMoves(model.getTurn()));
+      Assert.assertFalse(model.isGameOver());
+      Coordinate move = bare.getLegalMoves(bare.getTurn()).iterator().next();
+      bare.playDisc(move);
+      model.playDisc(move);
+    }
+    // only playing a disc went through the cache, which never caches it.
+    Assert.assertEquals(0, cache.getMisses());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testSquareAndTorusBoardsWithTheSameDiscsDoNotShareAnswers() {
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper());
+    IModel square = new SquareReversiModel.SquareBuilder().setLayers(3).build();
+    IModel torus = new TorusReversiModel.TorusBuilder().setLayers(3).build();
+    for (IModel model : List.of(square, torus)) {
+      model.getCellAt(new Coordinate(-3, 3)).changeColor(DiscColor.WHITE);
+      model.getCellAt(new Coordinate(-3, 2)).changeColor(DiscColor.BLACK);
+      model.startGame();
+    }
+    Assert.assertEquals(square.getPositionHash(), torus.getPositionHash());
+    // only on the torus does the line left of the first column come back on the last one.
+    Coordinate seam = new Coordinate(-3, -3);
+    Assert.assertFalse(cache.isValid(square, seam, DiscColor.BLACK));
+    Assert.assertTrue(cache.isValid(torus, seam, DiscColor.BLACK));
+    Assert.assertEquals(0, cache.flipCount(square, new Coordinate(-3, -3), DiscColor.BLACK));
+    Assert.assertEquals(1, cache.flipCount(torus, new Coordinate(-3, -3), DiscColor.BLACK));
+    Assert.assertEquals(square.getLegalMoves(DiscColor.BLACK),
+        new HashSet<>(cache.legalMoves(square, DiscColor.BLACK).toCoordinates()));
+    Assert.assertEquals(torus.getLegalMoves(DiscColor.BLACK),
+        new HashSet<>(cache.legalMoves(torus, DiscColor.BLACK).toCoordinates()));
+    Assert.assertEquals(0, cache.getHits());
+  }
+
+  @Test
+  public void testCachedAnswersMatchThroughARandomGame() {
+    Random random = new Random(24);
+    RuleKeeper rules = new ReversiRuleKeeper();
+    CachingRuleKeeper cache = new CachingRuleKeeper(new ReversiRuleKeeper(), 256);
+    List<IModel> models = new ArrayList<>();
+    models.add(this.startedSquare(cache));
+    IModel hex = new HexReversiModel.HexBuilder().setBitboard(true).setRuleKeeper(cache).build();
+    hex.startGame();
+    models.add(hex);
+    for (IModel model : models) {
+      while (!model.isGameOver()) {
+        for (int repeat = 0; repeat < 2; repeat++) {
+          for (DiscColor player : model.getPlayerColors()) {
+            Assert.assertEquals(rules.legalMoves(model, player).toBitSet(),
+                cache.legalMoves(model, player).toBitSet());
+            Assert.assertArrayEquals(rules.flipCounts(model, player),
+                cache.flipCounts(model, player));
+            for (Coordinate c : rules.legalMoves(model, player).toCoordinates()) {
+              Assert.assertTrue(cache.isValid(model, c, player));
+              Assert.assertEquals(rules.flipMask(model, c, player),
+                  cache.flipMask(model, c, player));
+              Assert.assertEquals(rules.flipCount(model, c, player),
+                  cache.flipCount(model, c, player));
+            }
+          }
+        }
+        List<Coordinate> moves = new ArrayList<>(model.getLegalMoves(model.getTurn()));
+        if (moves.isEmpty()) {
+          model.pass();
+        } else {
+          model.playDisc(moves.get(random.nextInt(moves.size())));
+        }
+      }
+    }
+    Assert.assertTrue(cache.getHits() > 0);
+    Assert.assertTrue(cache.size() <= 256);
+  }
+}
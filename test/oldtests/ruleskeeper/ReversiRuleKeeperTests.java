@@ -4,12 +4,19 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
 
 import model.board.Coordinate;
 import model.board.IModel;
 import model.board.HexReversiModel;
+import model.board.MoveSet;
+import model.board.ReadOnlyModel;
+import model.board.ReadOnlyReversiModel;
 import model.cell.DiscColor;
+import oldtests.strategy.MockReadOnlyModel;
 import ruleskeeper.ReversiRuleKeeper;
 import ruleskeeper.RuleKeeper;
 
@@ -243,4 +250,201 @@ public class ReversiRuleKeeperTests {
     Assert.assertTrue(cellsToChange.contains(new Coordinate(-1, 1)));
   }
 
+  @Test
+  public void testIsValidOnModelsThatCheckThemselvesMatchesTheNeighborRule() {
+    Random random = new Random(3);
+    ReadOnlyModel readOnly = new ReadOnlyReversiModel(this.model);
+    // the mock model only answers neighbor queries, so it goes through the neighbor rule.
+    ReadOnlyModel mock = new MockReadOnlyModel(new StringBuilder(), this.model);
+    while (!this.model.isGameOver()) {
+      for (Coordinate c : this.model.getCopyOfAllCoords().keySet()) {
+        for (DiscColor player : List.of(DiscColor.BLACK, DiscColor.WHITE)) {
+          boolean expected = this.ruleKeeper.isValid(mock, c, player);
+          Assert.assertEquals(expected, this.ruleKeeper.isValid(this.model, c, player));
+          Assert.assertEquals(expected, this.ruleKeeper.isValid(readOnly, c, player));
+        }
+      }
+      List<Coordinate> moves = new ArrayList<>(this.model.getLegalMoves(this.model.getTurn()));
+      this.model.playDisc(moves.get(random.nextInt(moves.size())));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIsValidOccupiedCellBeforeTheGameStartsIllegalStateException() {
+    IModel unstarted = new HexReversiModel.HexBuilder().build();
+    this.ruleKeeper.isValid(unstarted, new Coordinate(1, 0), DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIsValidEmptyCellBeforeTheGameStartsIllegalStateException() {
+    IModel unstarted = new HexReversiModel.HexBuilder().build();
+    this.ruleKeeper.isValid(unstarted, new Coordinate(2, -1), DiscColor.WHITE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIsValidNONEPlayerBeforeTheGameStartsIllegalArgumentException() {
+    IModel unstarted = new HexReversiModel.HexBuilder().build();
+    this.ruleKeeper.isValid(unstarted, new Coordinate(1, 0), DiscColor.NONE);
+  }
+
+  /*
+    MoveSet legalMoves(ReadOnlyModel model, DiscColor player) TESTS
+   */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLegalMovesNullModelIllegalArgumentException() {
+    this.ruleKeeper.legalMoves(null, DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLegalMovesNONEPlayerColorIllegalArgumentException() {
+    this.ruleKeeper.legalMoves(this.model, DiscColor.NONE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLegalMovesPlayerNotInGameOnMockIllegalArgumentException() {
+    this.ruleKeeper.legalMoves(
+        new MockReadOnlyModel(new StringBuilder(), this.model), DiscColor.MAGENTA);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLegalMovesBeforeTheGameStartsIllegalStateException() {
+    this.ruleKeeper.legalMoves(new HexReversiModel.HexBuilder().build(), DiscColor.BLACK);
+  }
+
+  @Test
+  public void testLegalMovesMatchesIsValidOnEveryCell() {
+    Random random = new Random(5);
+    ReadOnlyModel readOnly = new ReadOnlyReversiModel(this.model);
+    ReadOnlyModel mock = new MockReadOnlyModel(new StringBuilder(), this.model);
+    while (!this.model.isGameOver()) {
+      for (DiscColor player : List.of(DiscColor.BLACK, DiscColor.WHITE)) {
+        List<Coordinate> expected = new ArrayList<>();
+        this.model.forEachCell((c, color) -> {
+          if (this.ruleKeeper.isValid(mock, c, player)) {
+            expected.add(c);
+          }
+        });
+        MoveSet fast = this.ruleKeeper.legalMoves(this.model, player);
+        Assert.assertEquals(expected, fast.toCoordinates());
+        Assert.assertEquals(expected.size(), fast.size());
+        Assert.assertEquals(expected, this.ruleKeeper.legalMoves(readOnly, player).toCoordinates());
+        MoveSet slow = this.ruleKeeper.legalMoves(mock, player);
+        Assert.assertEquals(expected, slow.toCoordinates());
+        Assert.assertEquals(fast.toBitSet(), slow.toBitSet());
+      }
+      List<Coordinate> moves = new ArrayList<>(this.model.getLegalMoves(this.model.getTurn()));
+      this.model.playDisc(moves.get(random.nextInt(moves.size())));
+    }
+  }
+
+  @Test
+  public void testLegalMovesChecksTheCellsOfTheMockOnce() {
+    StringBuilder log = new StringBuilder();
+    this.ruleKeeper.legalMoves(new MockReadOnlyModel(log, this.model), DiscColor.BLACK);
+    // the player is checked once up front, and no cell is checked to be on the board.
+    Assert.assertTrue(log.toString().startsWith("get player colors\nfor each cell\n"));
+    Assert.assertFalse(log.toString().contains("contains"));
+    Assert.assertEquals(log.indexOf("get player colors"), log.lastIndexOf("get player colors"));
+  }
+
+  @Test
+  public void testLegalMovesOfASubclassFollowsItsIsValid() {
+    RuleKeeper noCorners = new ReversiRuleKeeper() {
+      @Override
+      public boolean isValid(ReadOnlyModel model, Coordinate coord, DiscColor player) {
+        return super.isValid(model, coord, player) && !model.isCorner(coord);
+      }
+    };
+    // a white disc next to the corner at x=5, y=-5 makes that corner a legal move.
+    this.model.getCellAt(new Coordinate(4, -4)).changeColor(DiscColor.WHITE);
+    Coordinate corner = new Coordinate(5, -5);
+    Assert.assertTrue(this.model.isCorner(corner));
+    List<Coordinate> all = this.ruleKeeper.legalMoves(this.model, DiscColor.WHITE).toCoordinates();
+    Assert.assertTrue(all.contains(corner));
+    all.remove(corner);
+    Assert.assertEquals(all, noCorners.legalMoves(this.model, DiscColor.WHITE).toCoordinates());
+  }
+
+  @Test
+  public void testMoveSetIndicesAreInBoardOrder() {
+    MoveSet moves = this.ruleKeeper.legalMoves(this.model, DiscColor.BLACK);
+    int[] cells = moves.toArray();
+    Assert.assertEquals(moves.size(), cells.length);
+    List<Coordinate> order = new ArrayList<>();
+    this.model.forEachCell((c, color) -> order.add(c));
+    List<Coordinate> coords = moves.toCoordinates();
+    for (int i = 0; i < cells.length; i++) {
+      Assert.assertTrue(moves.contains(cells[i]));
+      Assert.assertEquals(order.get(cells[i]), coords.get(i));
+    }
+    Assert.assertFalse(moves.contains(-1));
+    Assert.assertFalse(moves.isEmpty());
+  }
+
+  /*
+    BitSet flipMask(ReadOnlyModel model, Coordinate coord, DiscColor player) and
+    int flipCount(ReadOnlyModel model, Coordinate coord, DiscColor player) TESTS
+   */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlipMaskNullModelIllegalArgumentException() {
+    this.ruleKeeper.flipMask(null, new Coordinate(0, 0), DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlipCountNullModelIllegalArgumentException() {
+    this.ruleKeeper.flipCount(null, new Coordinate(0, 0), DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlipCountInvalidCoordinateIllegalArgumentException() {
+    this.ruleKeeper.flipCount(this.model, new Coordinate(-10, -10), DiscColor.BLACK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFlipCountsNullModelIllegalArgumentException() {
+    this.ruleKeeper.flipCounts(null, DiscColor.BLACK);
+  }
+
+  @Test
+  public void testFlipCountsOfAMockMatchTheModel() {
+    ReadOnlyModel mock = new MockReadOnlyModel(new StringBuilder(), this.model);
+    for (DiscColor player : List.of(DiscColor.BLACK, DiscColor.WHITE)) {
+      Assert.assertArrayEquals(this.ruleKeeper.flipCounts(this.model, player),
+          this.ruleKeeper.flipCounts(mock, player));
+    }
+  }
+
+  @Test
+  public void testFlipsOfAMoveMatchItsSandwichableNeighbors() {
+    this.model.getCellAt(new Coordinate(1, 0)).changeColor(DiscColor.WHITE);
+    this.model.getCellAt(new Coordinate(0, 1)).changeColor(DiscColor.BLACK);
+    Coordinate move = new Coordinate(0, 2);
+    List<Coordinate> expected = this.model.getSandwichableNeighbors(move, DiscColor.WHITE);
+    Assert.assertEquals(expected.size(), this.ruleKeeper.flipCount(this.model, move,
+        DiscColor.WHITE));
+    Assert.assertEquals(expected.size(), this.ruleKeeper.flipMask(this.model, move,
+        DiscColor.WHITE).cardinality());
+  }
+
+  @Test
+  public void testFlipsOnModelsThatCheckThemselvesMatchTheMock() {
+    Random random = new Random(7);
+    ReadOnlyModel readOnly = new ReadOnlyReversiModel(this.model);
+    ReadOnlyModel mock = new MockReadOnlyModel(new StringBuilder(), this.model);
+    while (!this.model.isGameOver()) {
+      for (Coordinate c : this.model.getLegalMoves(this.model.getTurn())) {
+        DiscColor player = this.model.getTurn();
+        BitSet expected = this.ruleKeeper.flipMask(mock, c, player);
+        Assert.assertEquals(expected, this.ruleKeeper.flipMask(this.model, c, player));
+        Assert.assertEquals(expected, this.ruleKeeper.flipMask(readOnly, c, player));
+        Assert.assertEquals(expected.cardinality(), this.ruleKeeper.flipCount(mock, c, player));
+        Assert.assertEquals(expected.cardinality(),
+            this.ruleKeeper.flipCount(this.model, c, player));
+      }
+      List<Coordinate> moves = new ArrayList<>(this.model.getLegalMoves(this.model.getTurn()));
+      this.model.playDisc(moves.get(random.nextInt(moves.size())));
+    }
+  }
 }
@@ -0,0 +1,209 @@
+package oldtests.ruleskeeper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import model.board.Coordinate;
+import model.board.HexReversiModel;
+import model.board.IModel;
+import model.board.ReadOnlyModel;
+import model.board.SquareReversiModel;
+import model.board.TorusReversiModel;
+import model.cell.DiscColor;
+import oldtests.strategy.MockReadOnlyModel;
+import ruleskeeper.ReversiRuleKeeper;
+import ruleskeeper.RuleKeeper;
+import ruleskeeper.RuleVariant;
+
+/**
+ * Test class for the variants of the rules of the ReversiRuleKeeper.
+ */
+public class RuleVariantTests {
+
+  /**
+   * Returns every kind of board there is, keeping the rules of the given variant.
+   */
+  private List<IModel> models(RuleVariant variant) {
+    List<IModel> models = new ArrayList<>();
+    models.add(new HexReversiModel.HexBuilder()
+        .setRuleKeeper(new ReversiRuleKeeper(variant)).build());
+    models.add(new HexReversiModel.HexBuilder().setBitboard(true)
+        .setRuleKeeper(new ReversiRuleKeeper(variant)).build());
+    models.add(new SquareReversiModel.SquareBuilder()
+        .setRuleKeeper(new ReversiRuleKeeper(variant)).build());
+    models.add(new SquareReversiModel.SquareBuilder().setBitboard(true).setLayers(3)
+        .setRuleKeeper(new ReversiRuleKeeper(variant)).build());
+    models.add(new TorusReversiModel.TorusBuilder().setLayers(3)
+        .setRuleKeeper(new ReversiRuleKeeper(variant)).build());
+    for (IModel model : models) {
+      model.startGame();
+    }
+    return models;
+  }
+
+  /**
+   * Plays the given model to the end with random legal moves, passing whenever the player to
+   * move has nowhere to go.
+   */
+  private void playOut(IModel model, Random random) {
+    while (!model.isGameOver()) {
+      List<Coordinate> moves = new ArrayList<>(model.getLegalMoves(model.getTurn()));
+      if (moves.isEmpty()) {
+        model.pass();
+      } else {
+        model.playDisc(moves.get(random.nextInt(moves.size())));
+      }
+    }
+  }
+
+  @Test
+  public void testDefaultRuleKeeperKeepsTheRulesOfThisGame() {
+    Assert.assertEquals(RuleVariant.REVERSI, new ReversiRuleKeeper().getVariant());
+    Assert.assertEquals(RuleVariant.REVERSI, new RuleVariant.VariantBuilder().build());
+    Assert.assertTrue(RuleVariant.REVERSI.allowsAdjacentMoves());
+    Assert.assertFalse(RuleVariant.REVERSI.fewestDiscsWin());
+    Assert.assertTrue(RuleVariant.REVERSI.autoPass());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullVariantIllegalArgumentException() {
+    new ReversiRuleKeeper(null);
+  }
+
+  @Test
+  public void testVariantsOfTheSameRulesAreEqual() {
+    RuleVariant othello = new RuleVariant.VariantBuilder().setCaptureOnly(true).build();
+    Assert.assertEquals(RuleVariant.OTHELLO, othello);
+    Assert.assertEquals(RuleVariant.OTHELLO.hashCode(), othello.hashCode());
+    Assert.assertNotEquals(RuleVariant.OTHELLO, RuleVariant.ANTI_REVERSI);
+    Assert.assertNotEquals(RuleVariant.REVERSI, RuleVariant.NO_AUTO_PASS);
+  }
+
+  @Test
+  public void testModelsCheckMovesByTheVariantOfTheirRuleKeeper() {
+    for (IModel model : this.models(RuleVariant.ANTI_REVERSI)) {
+      Assert.assertEquals(RuleVariant.ANTI_REVERSI, ReversiRuleKeeper.variantOf(
+          model.getRuleKeeper()));
+      IModel copy = model.getActionableCopyOfBoard(model);
+      Assert.assertEquals(RuleVariant.ANTI_REVERSI, ReversiRuleKeeper.variantOf(
+          copy.getRuleKeeper()));
+    }
+  }
+
+  @Test
+  public void testOthelloStartsWithFourMovesOnASquareBoard() {
+    IModel model = new SquareReversiModel.SquareBuilder()
+        .setRuleKeeper(new ReversiRuleKeeper(RuleVariant.OTHELLO)).build();
+    model.startGame();
+    Set<Coordinate> moves = model.getLegalMoves(model.getTurn());
+    Assert.assertEquals(4, moves.size());
+    for (Coordinate move : moves) {
+      Assert.assertTrue(model.getSandwichableNeighbors(move, model.getTurn()).size() > 0);
+    }
+  }
+
+  @Test
+  public void testOthelloMovesAreTheReversiMovesThatCapture() {
+    Random random = new Random(11);
+    RuleKeeper reversi = new ReversiRuleKeeper();
+    RuleKeeper othello = new ReversiRuleKeeper(RuleVariant.OTHELLO);
+    for (IModel model : this.models(RuleVariant.OTHELLO)) {
+      // the mock model goes through the neighbor queries instead of the model's own engine.
+      ReadOnlyModel mock = new MockReadOnlyModel(new StringBuilder(), model);
+      while (!model.isGameOver()) {
+        for (DiscColor player : model.getPlayerColors()) {
+          Set<Coordinate> expected = new HashSet<>();
+          for (Coordinate c : reversi.legalMoves(model, player).toCoordinates()) {
+            if (model.getSandwichableNeighbors(c, player).size() > 0) {
+              expected.add(c);
+            }
+          }
+          Assert.assertEquals(expected, model.getLegalMoves(player));
+          Assert.assertEquals(expected,
+              new HashSet<>(othello.legalMoves(model, player).toCoordinates()));
+          Assert.assertEquals(expected,
+              new HashSet<>(othello.legalMoves(mock, player).toCoordinates()));
+        }
+        List<Coordinate> moves = new ArrayList<>(model.getLegalMoves(model.getTurn()));
+        if (moves.isEmpty()) {
+          model.pass();
+        } else {
+          model.playDisc(moves.get(random.nextInt(moves.size())));
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testOthelloRejectsAMoveThatOnlyTouchesADisc() {
+    IModel model = new SquareReversiModel.SquareBuilder()
+        .setRuleKeeper(new ReversiRuleKeeper(RuleVariant.OTHELLO)).build();
+    model.startGame();
+    for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+      if (model.getCellAt(c).getColor() == DiscColor.NONE
+          && !model.getLikeNeighbors(c, model.getTurn()).isEmpty()
+          && model.getSandwichableNeighbors(c, model.getTurn()).isEmpty()) {
+        model.playDisc(c);
+      }
+    }
+  }
+
+  @Test
+  public void testAntiReversiWinnerHasTheFewestDiscs() {
+    Random random = new Random(13);
+    for (IModel model : this.models(RuleVariant.ANTI_REVERSI)) {
+      this.playOut(model, random);
+      int black = model.getPlayerScore(DiscColor.BLACK);
+      int white = model.getPlayerScore(DiscColor.WHITE);
+      Optional<DiscColor> winner = model.getWinner();
+      if (black == white) {
+        Assert.assertEquals(Optional.empty(), winner);
+      } else {
+        Assert.assertEquals(Optional.of(black < white ? DiscColor.BLACK : DiscColor.WHITE),
+            winner);
+      }
+    }
+  }
+
+  @Test
+  public void testNoAutoPassLeavesTheTurnWithAPlayerWithNoMoves() {
+    for (IModel model : this.models(RuleVariant.NO_AUTO_PASS)) {
+      DiscColor first = model.getTurn();
+      DiscColor second = model.getPlayerColors().get(1);
+      // with no discs of their own, the second player has nowhere to go.
+      for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+        if (model.getCellAt(c).getColor() == second) {
+          model.getCellAt(c).changeColor(first);
+        }
+      }
+      model.playDisc(model.getLegalMoves(first).iterator().next());
+      Assert.assertEquals(second, model.getTurn());
+      Assert.assertTrue(model.getLegalMoves(second).isEmpty());
+      Assert.assertFalse(model.isGameOver());
+      model.pass();
+      Assert.assertEquals(first, model.getTurn());
+    }
+  }
+
+  @Test
+  public void testAutoPassSkipsAPlayerWithNoMoves() {
+    for (IModel model : this.models(RuleVariant.REVERSI)) {
+      DiscColor first = model.getTurn();
+      DiscColor second = model.getPlayerColors().get(1);
+      for (Coordinate c : model.getCopyOfAllCoords().keySet()) {
+        if (model.getCellAt(c).getColor() == second) {
+          model.getCellAt(c).changeColor(first);
+        }
+      }
+      model.playDisc(model.getLegalMoves(first).iterator().next());
+      Assert.assertEquals(first, model.getTurn());
+    }
+  }
+}
@@ -89,7 +89,7 @@ public class AvoidCornerNeighborsHexTests extends AbstractHexStrategyTests {
     this.actionableModel.playDisc(new Coordinate(-1, 2));
     List<Coordinate> allMoves = this.strategy.getAllPossiblePlayerMoves(this.player);
     List<Coordinate> stratMoves = this.strategy.getStrategyPossibleMoves(allMoves, this.player);
-    Assert.assertEquals(List.of(new Coordinate(1, -2), new Coordinate(-2, 1)),
+    Assert.assertEquals(List.of(new Coordinate(-2, 1), new Coordinate(1, -2)),
         stratMoves);
   }
 
@@ -176,7 +176,15 @@ public class AvoidCornerNeighborsHexTests extends AbstractHexStrategyTests {
     Assert.assertTrue(this.a.toString().contains("get cell at: x=2, y=-3\n" +
         "get like neighbors of X at: x=2, y=-3\n" +
         "get sandwichable neighbors of X at: x=2, y=-3"));
-    Assert.assertTrue(this.a.toString().contains("is corner?: x=-3, y=2\n" +
+    Assert.assertTrue(this.a.toString().contains("get neighbors at: x=-2, y=1\n" +
+            "is corner?: x=-3, y=1\n" +
+            "is corner?: x=-1, y=1\n" +
+            "is corner?: x=-2, y=0\n" +
+            "is corner?: x=-2, y=2\n" +
+            "is corner?: x=-1, y=0\n" +
+            "is corner?: x=-3, y=2\n" +
+            "get neighbors at: x=-2, y=2\n" +
+            "is corner?: x=-3, y=2\n" +
             "is corner?: x=-1, y=2\n" +
             "is corner?: x=-2, y=1\n" +
             "is corner?: x=-2, y=3\n" +
@@ -184,12 +192,33 @@ public class AvoidCornerNeighborsHexTests extends AbstractHexStrategyTests {
             "is corner?: x=-3, y=3\n" +
             "get cell at: x=-3, y=3\n" +
             "is corner?: x=-2, y=2\n" +
+            "get neighbors at: x=-1, y=-1\n" +
+            "is corner?: x=-2, y=-1\n" +
+            "is corner?: x=0, y=-1\n" +
+            "is corner?: x=-1, y=-2\n" +
+            "is corner?: x=-1, y=0\n" +
+            "is corner?: x=0, y=-2\n" +
+            "is corner?: x=-2, y=0\n" +
+            "get neighbors at: x=-1, y=2\n" +
+            "is corner?: x=-2, y=2\n" +
+            "is corner?: x=0, y=2\n" +
+            "is corner?: x=-1, y=1\n" +
+            "is corner?: x=-1, y=3\n" +
+            "is corner?: x=0, y=1\n" +
+            "is corner?: x=-2, y=3\n" +
             "get neighbors at: x=0, y=-2\n" +
             "is corner?: x=-1, y=-2\n" +
             "is corner?: x=1, y=-2\n" +
             "is corner?: x=0, y=-3\n" +
             "get cell at: x=0, y=-3\n" +
             "is corner?: x=0, y=-2\n" +
+            "get neighbors at: x=0, y=0\n" +
+            "is corner?: x=-1, y=0\n" +
+            "is corner?: x=1, y=0\n" +
+            "is corner?: x=0, y=-1\n" +
+            "is corner?: x=0, y=1\n" +
+            "is corner?: x=1, y=-1\n" +
+            "is corner?: x=-1, y=1\n" +
             "get neighbors at: x=1, y=-2\n" +
             "is corner?: x=0, y=-2\n" +
             "is corner?: x=2, y=-2\n" +
@@ -204,20 +233,6 @@ public class AvoidCornerNeighborsHexTests extends AbstractHexStrategyTests {
             "is corner?: x=1, y=2\n" +
             "is corner?: x=2, y=0\n" +
             "is corner?: x=0, y=2\n" +
-            "get neighbors at: x=-2, y=1\n" +
-            "is corner?: x=-3, y=1\n" +
-            "is corner?: x=-1, y=1\n" +
-            "is corner?: x=-2, y=0\n" +
-            "is corner?: x=-2, y=2\n" +
-            "is corner?: x=-1, y=0\n" +
-            "is corner?: x=-3, y=2\n" +
-            "get neighbors at: x=-1, y=-1\n" +
-            "is corner?: x=-2, y=-1\n" +
-            "is corner?: x=0, y=-1\n" +
-            "is corner?: x=-1, y=-2\n" +
-            "is corner?: x=-1, y=0\n" +
-            "is corner?: x=0, y=-2\n" +
-            "is corner?: x=-2, y=0\n" +
             "get neighbors at: x=2, y=-1\n" +
             "is corner?: x=1, y=-1\n" +
             "is corner?: x=3, y=-1\n" +
@@ -229,20 +244,6 @@ public class AvoidCornerNeighborsHexTests extends AbstractHexStrategyTests {
             "is corner?: x=1, y=0\n" +
             "is corner?: x=3, y=0\n" +
             "get cell at: x=3, y=0\n" +
-            "is corner?: x=2, y=0\n" +
-            "get neighbors at: x=0, y=0\n" +
-            "is corner?: x=-1, y=0\n" +
-            "is corner?: x=1, y=0\n" +
-            "is corner?: x=0, y=-1\n" +
-            "is corner?: x=0, y=1\n" +
-            "is corner?: x=1, y=-1\n" +
-            "is corner?: x=-1, y=1\n" +
-            "get neighbors at: x=-1, y=2\n" +
-            "is corner?: x=-2, y=2\n" +
-            "is corner?: x=0, y=2\n" +
-            "is corner?: x=-1, y=1\n" +
-            "is corner?: x=-1, y=3\n" +
-            "is corner?: x=0, y=1\n" +
-            "is corner?: x=-2, y=3"));
+            "is corner?: x=2, y=0"));
   }
 }
@@ -85,7 +85,7 @@ public class CaptureMostCellsHexTests extends AbstractHexStrategyTests {
     Assert.assertEquals(this.actionableModel
         .getSandwichableNeighbors(runnerUpCoord, this.player).size(), 1);
     Assert.assertTrue(allPossibleMoves.indexOf(winnerCoord)
-        > allPossibleMoves.indexOf(runnerUpCoord)); //given list was sorted by sandwich
+        < allPossibleMoves.indexOf(runnerUpCoord)); //given list is in row-major order
   }
 
   @Test
@@ -151,16 +151,16 @@ public class CaptureMostCellsHexTests extends AbstractHexStrategyTests {
         .getAllPossiblePlayerMoves(this.player), this.player);
 
     Assert.assertTrue(this.a.toString().contains(
-        "get sandwichable neighbors of X at: x=-2, y=2\n" +
+        "get sandwichable neighbors of X at: x=-2, y=1\n" +
+            "get sandwichable neighbors of X at: x=-2, y=2\n" +
+            "get sandwichable neighbors of X at: x=-1, y=-1\n" +
+            "get sandwichable neighbors of X at: x=-1, y=2\n" +
             "get sandwichable neighbors of X at: x=0, y=-2\n" +
+            "get sandwichable neighbors of X at: x=0, y=0\n" +
             "get sandwichable neighbors of X at: x=1, y=-2\n" +
             "get sandwichable neighbors of X at: x=1, y=1\n" +
-            "get sandwichable neighbors of X at: x=-2, y=1\n" +
-            "get sandwichable neighbors of X at: x=-1, y=-1\n" +
             "get sandwichable neighbors of X at: x=2, y=-1\n" +
-            "get sandwichable neighbors of X at: x=2, y=0\n" +
-            "get sandwichable neighbors of X at: x=0, y=0\n" +
-            "get sandwichable neighbors of X at: x=-1, y=2\n"));
+            "get sandwichable neighbors of X at: x=2, y=0\n"));
   }
 
   @Test
@@ -168,278 +168,170 @@ public class CaptureMostCellsHexTests extends AbstractHexStrategyTests {
     Optional<Coordinate> move = this.strategy.move();
     Assert.assertEquals(this.a.toString(),
         "get player colors\n" +
-            "get all coords\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=-2\n" +
-            "get like neighbors of X at: x=-1, y=-2\n" +
-            "get sandwichable neighbors of X at: x=-1, y=-2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-2, y=2\n" +
-            "get like neighbors of X at: x=-2, y=2\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=0\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=0, y=-2\n" +
-            "get like neighbors of X at: x=0, y=-2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
             "get player colors\n" +
+            "for each cell\n" +
+            "get cell at: x=-3, y=0\n" +
+            "get like neighbors of X at: x=-3, y=0\n" +
+            "get sandwichable neighbors of X at: x=-3, y=0\n" +
+            "get cell at: x=-3, y=1\n" +
+            "get like neighbors of X at: x=-3, y=1\n" +
+            "get sandwichable neighbors of X at: x=-3, y=1\n" +
             "get cell at: x=-3, y=2\n" +
             "get like neighbors of X at: x=-3, y=2\n" +
             "get sandwichable neighbors of X at: x=-3, y=2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=1, y=-2\n" +
-            "get like neighbors of X at: x=1, y=-2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=2, y=-2\n" +
-            "get like neighbors of X at: x=2, y=-2\n" +
-            "get sandwichable neighbors of X at: x=2, y=-2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=3, y=-2\n" +
-            "get like neighbors of X at: x=3, y=-2\n" +
-            "get sandwichable neighbors of X at: x=3, y=-2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=2, y=1\n" +
-            "get like neighbors of X at: x=2, y=1\n" +
-            "get sandwichable neighbors of X at: x=2, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=1, y=1\n" +
-            "get like neighbors of X at: x=1, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=3\n" +
-            "get like neighbors of X at: x=-1, y=3\n" +
-            "get sandwichable neighbors of X at: x=-1, y=3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=0, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=0, y=3\n" +
-            "get like neighbors of X at: x=0, y=3\n" +
-            "get sandwichable neighbors of X at: x=0, y=3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-2, y=-1\n" +
-            "get like neighbors of X at: x=-2, y=-1\n" +
-            "get sandwichable neighbors of X at: x=-2, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
             "get cell at: x=-3, y=3\n" +
             "get like neighbors of X at: x=-3, y=3\n" +
             "get sandwichable neighbors of X at: x=-3, y=3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=-2, y=-1\n" +
+            "get like neighbors of X at: x=-2, y=-1\n" +
+            "get sandwichable neighbors of X at: x=-2, y=-1\n" +
+            "get cell at: x=-2, y=0\n" +
+            "get like neighbors of X at: x=-2, y=0\n" +
+            "get sandwichable neighbors of X at: x=-2, y=0\n" +
             "get cell at: x=-2, y=1\n" +
             "get like neighbors of X at: x=-2, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=-2, y=2\n" +
+            "get like neighbors of X at: x=-2, y=2\n" +
+            "get cell at: x=-2, y=3\n" +
+            "get like neighbors of X at: x=-2, y=3\n" +
+            "get sandwichable neighbors of X at: x=-2, y=3\n" +
+            "get cell at: x=-1, y=-2\n" +
+            "get like neighbors of X at: x=-1, y=-2\n" +
+            "get sandwichable neighbors of X at: x=-1, y=-2\n" +
             "get cell at: x=-1, y=-1\n" +
             "get like neighbors of X at: x=-1, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=-1, y=0\n" +
+            "get cell at: x=-1, y=1\n" +
+            "get cell at: x=-1, y=2\n" +
+            "get like neighbors of X at: x=-1, y=2\n" +
+            "get cell at: x=-1, y=3\n" +
+            "get like neighbors of X at: x=-1, y=3\n" +
+            "get sandwichable neighbors of X at: x=-1, y=3\n" +
             "get cell at: x=0, y=-3\n" +
             "get like neighbors of X at: x=0, y=-3\n" +
             "get sandwichable neighbors of X at: x=0, y=-3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-2, y=3\n" +
-            "get like neighbors of X at: x=-2, y=3\n" +
-            "get sandwichable neighbors of X at: x=-2, y=3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-3, y=1\n" +
-            "get like neighbors of X at: x=-3, y=1\n" +
-            "get sandwichable neighbors of X at: x=-3, y=1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=0, y=-2\n" +
+            "get like neighbors of X at: x=0, y=-2\n" +
             "get cell at: x=0, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=0, y=0\n" +
+            "get like neighbors of X at: x=0, y=0\n" +
+            "get cell at: x=0, y=1\n" +
+            "get cell at: x=0, y=2\n" +
+            "get like neighbors of X at: x=0, y=2\n" +
+            "get sandwichable neighbors of X at: x=0, y=2\n" +
+            "get cell at: x=0, y=3\n" +
+            "get like neighbors of X at: x=0, y=3\n" +
+            "get sandwichable neighbors of X at: x=0, y=3\n" +
+            "get cell at: x=1, y=-3\n" +
+            "get like neighbors of X at: x=1, y=-3\n" +
+            "get sandwichable neighbors of X at: x=1, y=-3\n" +
+            "get cell at: x=1, y=-2\n" +
+            "get like neighbors of X at: x=1, y=-2\n" +
             "get cell at: x=1, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=1, y=0\n" +
+            "get cell at: x=1, y=1\n" +
+            "get like neighbors of X at: x=1, y=1\n" +
+            "get cell at: x=1, y=2\n" +
+            "get like neighbors of X at: x=1, y=2\n" +
+            "get sandwichable neighbors of X at: x=1, y=2\n" +
             "get cell at: x=2, y=-3\n" +
             "get like neighbors of X at: x=2, y=-3\n" +
             "get sandwichable neighbors of X at: x=2, y=-3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=3, y=0\n" +
-            "get like neighbors of X at: x=3, y=0\n" +
-            "get sandwichable neighbors of X at: x=3, y=0\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=2, y=-2\n" +
+            "get like neighbors of X at: x=2, y=-2\n" +
+            "get sandwichable neighbors of X at: x=2, y=-2\n" +
             "get cell at: x=2, y=-1\n" +
             "get like neighbors of X at: x=2, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=1, y=-3\n" +
-            "get like neighbors of X at: x=1, y=-3\n" +
-            "get sandwichable neighbors of X at: x=1, y=-3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
             "get cell at: x=2, y=0\n" +
             "get like neighbors of X at: x=2, y=0\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=3, y=-1\n" +
-            "get like neighbors of X at: x=3, y=-1\n" +
-            "get sandwichable neighbors of X at: x=3, y=-1\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=1, y=0\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=1, y=2\n" +
-            "get like neighbors of X at: x=1, y=2\n" +
-            "get sandwichable neighbors of X at: x=1, y=2\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
+            "get cell at: x=2, y=1\n" +
+            "get like neighbors of X at: x=2, y=1\n" +
+            "get sandwichable neighbors of X at: x=2, y=1\n" +
             "get cell at: x=3, y=-3\n" +
             "get like neighbors of X at: x=3, y=-3\n" +
             "get sandwichable neighbors of X at: x=3, y=-3\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
+            "get cell at: x=3, y=-2\n" +
+            "get like neighbors of X at: x=3, y=-2\n" +
+            "get sandwichable neighbors of X at: x=3, y=-2\n" +
+            "get cell at: x=3, y=-1\n" +
+            "get like neighbors of X at: x=3, y=-1\n" +
+            "get sandwichable neighbors of X at: x=3, y=-1\n" +
+            "get cell at: x=3, y=0\n" +
+            "get like neighbors of X at: x=3, y=0\n" +
+            "get sandwichable neighbors of X at: x=3, y=0\n" +
             "get player colors\n" +
-            "get cell at: x=0, y=0\n" +
-            "get like neighbors of X at: x=0, y=0\n" +
+            "contains: x=-2, y=1\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=-2, y=1\n" +
             "get player colors\n" +
-            "get cell at: x=-3, y=0\n" +
-            "get like neighbors of X at: x=-3, y=0\n" +
-            "get sandwichable neighbors of X at: x=-3, y=0\n" +
+            "get cell at: x=-2, y=1\n" +
+            "get like neighbors of X at: x=-2, y=1\n" +
+            "contains: x=-2, y=2\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=-2, y=2\n" +
             "get player colors\n" +
-            "get cell at: x=0, y=2\n" +
-            "get like neighbors of X at: x=0, y=2\n" +
-            "get sandwichable neighbors of X at: x=0, y=2\n" +
+            "get cell at: x=-2, y=2\n" +
+            "get like neighbors of X at: x=-2, y=2\n" +
+            "contains: x=-1, y=-1\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=-1, y=-1\n" +
             "get player colors\n" +
-            "get cell at: x=-2, y=0\n" +
-            "get like neighbors of X at: x=-2, y=0\n" +
-            "get sandwichable neighbors of X at: x=-2, y=0\n" +
+            "get cell at: x=-1, y=-1\n" +
+            "get like neighbors of X at: x=-1, y=-1\n" +
+            "contains: x=-1, y=2\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=-1, y=2\n" +
             "get player colors\n" +
             "get cell at: x=-1, y=2\n" +
             "get like neighbors of X at: x=-1, y=2\n" +
-            "get player colors\n" +
-            "get all coords\n" +
+            "contains: x=0, y=-2\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-2, y=2\n" +
-            "get like neighbors of X at: x=-2, y=2\n" +
-            "get all coords\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=0, y=-2\n" +
             "get player colors\n" +
             "get cell at: x=0, y=-2\n" +
             "get like neighbors of X at: x=0, y=-2\n" +
-            "get all coords\n" +
+            "contains: x=0, y=0\n" +
+            "get rule keeper\n" +
+            "contains: x=0, y=0\n" +
+            "get player colors\n" +
+            "get cell at: x=0, y=0\n" +
+            "get like neighbors of X at: x=0, y=0\n" +
+            "contains: x=1, y=-2\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=1, y=-2\n" +
             "get player colors\n" +
             "get cell at: x=1, y=-2\n" +
             "get like neighbors of X at: x=1, y=-2\n" +
-            "get all coords\n" +
+            "contains: x=1, y=1\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=1, y=1\n" +
             "get player colors\n" +
             "get cell at: x=1, y=1\n" +
             "get like neighbors of X at: x=1, y=1\n" +
-            "get all coords\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-2, y=1\n" +
-            "get like neighbors of X at: x=-2, y=1\n" +
-            "get all coords\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=-1\n" +
-            "get like neighbors of X at: x=-1, y=-1\n" +
-            "get all coords\n" +
+            "contains: x=2, y=-1\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=2, y=-1\n" +
             "get player colors\n" +
             "get cell at: x=2, y=-1\n" +
             "get like neighbors of X at: x=2, y=-1\n" +
-            "get all coords\n" +
+            "contains: x=2, y=0\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
+            "contains: x=2, y=0\n" +
             "get player colors\n" +
             "get cell at: x=2, y=0\n" +
             "get like neighbors of X at: x=2, y=0\n" +
-            "get all coords\n" +
             "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=0, y=0\n" +
-            "get like neighbors of X at: x=0, y=0\n" +
-            "get all coords\n" +
-            "get rule keeper\n" +
-            "get all coords\n" +
-            "get player colors\n" +
-            "get cell at: x=-1, y=2\n" +
-            "get like neighbors of X at: x=-1, y=2\n" +
+            "get sandwichable neighbors of X at: x=-2, y=1\n" +
             "get sandwichable neighbors of X at: x=-2, y=2\n" +
+            "get sandwichable neighbors of X at: x=-1, y=-1\n" +
+            "get sandwichable neighbors of X at: x=-1, y=2\n" +
             "get sandwichable neighbors of X at: x=0, y=-2\n" +
+            "get sandwichable neighbors of X at: x=0, y=0\n" +
             "get sandwichable neighbors of X at: x=1, y=-2\n" +
             "get sandwichable neighbors of X at: x=1, y=1\n" +
-            "get sandwichable neighbors of X at: x=-2, y=1\n" +
-            "get sandwichable neighbors of X at: x=-1, y=-1\n" +
             "get sandwichable neighbors of X at: x=2, y=-1\n" +
-            "get sandwichable neighbors of X at: x=2, y=0\n" +
-            "get sandwichable neighbors of X at: x=0, y=0\n" +
-            "get sandwichable neighbors of X at: x=-1, y=2\n");
+            "get sandwichable neighbors of X at: x=2, y=0\n");
     Assert.assertEquals(move, Optional.of(new Coordinate(-1, -1)));
   }
 }
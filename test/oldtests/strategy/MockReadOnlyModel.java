@@ -5,7 +5,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import model.board.CellVisitor;
 import model.board.Coordinate;
 import model.board.IModel;
 import model.board.ReadOnlyModel;
@@ -147,6 +149,43 @@ public class MockReadOnlyModel implements ReadOnlyModel {
     return this.actionableModel.getCopyOfAllCoords();
   }
 
+  @Override
+  public void forEachCell(CellVisitor visitor) {
+    Utils.writeIO(this.a, "for each cell");
+    this.actionableModel.forEachCell(visitor);
+  }
+
+  @Override
+  public boolean contains(Coordinate coord) {
+    Utils.writeIO(this.a, "contains: x=" + coord.getRow()
+            + ", y=" + coord.getCol());
+    return this.actionableModel.contains(coord);
+  }
+
+  @Override
+  public long getPositionHash() {
+    Utils.writeIO(this.a, "get position hash");
+    return this.actionableModel.getPositionHash();
+  }
+
+  @Override
+  public Set<Coordinate> getLegalMoves(DiscColor player) {
+    Utils.writeIO(this.a, "get legal moves of " + player);
+    return this.actionableModel.getLegalMoves(player);
+  }
+
+  @Override
+  public Set<Coordinate> getStableDiscs(DiscColor player) {
+    Utils.writeIO(this.a, "get stable discs of " + player);
+    return this.actionableModel.getStableDiscs(player);
+  }
+
+  @Override
+  public Set<Coordinate> getFrontierDiscs(DiscColor player) {
+    Utils.writeIO(this.a, "get frontier discs of " + player);
+    return this.actionableModel.getFrontierDiscs(player);
+  }
+
   @Override
   public List<Coordinate> getNeighbors(Coordinate c) {
     Utils.writeIO(this.a, "get neighbors at: x="
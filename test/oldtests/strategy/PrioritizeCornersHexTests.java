@@ -37,16 +37,16 @@ public class PrioritizeCornersHexTests extends AbstractHexStrategyTests {
         .getStrategyPossibleMoves(this.strategy.getAllPossiblePlayerMoves(this.player),
             this.player);
     Assert.assertTrue(this.a.toString().contains(
-        "is corner?: x=-2, y=2\n" +
+        "is corner?: x=-2, y=1\n" +
+            "is corner?: x=-2, y=2\n" +
+            "is corner?: x=-1, y=-1\n" +
+            "is corner?: x=-1, y=2\n" +
             "is corner?: x=0, y=-2\n" +
+            "is corner?: x=0, y=0\n" +
             "is corner?: x=1, y=-2\n" +
             "is corner?: x=1, y=1\n" +
-            "is corner?: x=-2, y=1\n" +
-            "is corner?: x=-1, y=-1\n" +
             "is corner?: x=2, y=-1\n" +
-            "is corner?: x=2, y=0\n" +
-            "is corner?: x=0, y=0\n" +
-            "is corner?: x=-1, y=2"));
+            "is corner?: x=2, y=0"));
     Assert.assertTrue(possibleMoves.isEmpty());
   }
 
@@ -141,8 +141,8 @@ public class PrioritizeCornersHexTests extends AbstractHexStrategyTests {
     List<Coordinate> allMoves = this.strategy.getAllPossiblePlayerMoves(this.player);
     allMoves.removeAll(allMoves.subList(0, allMoves.size() - 3));
     this.strategy.getStrategyPossibleMoves(allMoves, this.player);
-    Assert.assertTrue(this.a.toString().contains("is corner?: x=2, y=0\n" +
-        "is corner?: x=0, y=0\n" +
-        "is corner?: x=-1, y=2"));
+    Assert.assertTrue(this.a.toString().contains("is corner?: x=1, y=1\n" +
+        "is corner?: x=2, y=-1\n" +
+        "is corner?: x=2, y=0"));
   }
 }